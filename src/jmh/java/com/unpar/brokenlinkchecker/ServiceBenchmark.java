@@ -0,0 +1,73 @@
+package com.unpar.brokenlinkchecker;
+
+import com.unpar.brokenlinkchecker.util.HttpStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fungsi kecil yang dipanggil untuk setiap tautan di {@link Service} / LinkChecker:
+ * {@code safeHost} (kunci host untuk penjadwalan & cache), {@code isBrokenStatus}, dan
+ * {@link HttpStatus#getReasonPhrase}.
+ *
+ * Masukan diambil bergiliran dari array kecil agar JIT tidak bisa melipat hasilnya menjadi
+ * konstanta; satu operasi = satu panggilan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final String[] URLS = {
+            "https://www.example.ac.id/berita/2025/03/14/seminar-nasional.html",
+            "https://WWW.Example.AC.ID/",
+            "http://docs.example.ac.id:8080/panduan/v2/bab-1/akademik.html#jadwal",
+            "https://scholar.google.com/citations?user=abc123&hl=id",
+            "https://example.ac.id/unduh/berkas%20akademik.pdf",
+            "mailto:humas@example.ac.id",
+            "https://example.ac.id/cari?q=a b", // URISyntaxException → ""
+            "https://[2001:db8::1]/status",
+    };
+
+    private static final String[] STATUSES = {
+            "200 OK", "200 OK", "200 OK", "301 Moved Permanently", "404 Not Found",
+            "500 Internal Server Error", "FAILED (ConnectException)", "FAILED (timeout)",
+    };
+
+    private static final int[] CODES = {200, 200, 200, 301, 302, 404, 500, 503, 429, 999};
+
+    private int i;
+
+    @Setup
+    public void setUp() {
+        i = 0;
+    }
+
+    @Benchmark
+    public String safeHost() {
+        return Service.safeHost(URLS[i++ & (URLS.length - 1)]);
+    }
+
+    @Benchmark
+    public boolean isBrokenStatus() {
+        return Service.isBrokenStatus(STATUSES[i++ & (STATUSES.length - 1)]);
+    }
+
+    @Benchmark
+    public String reasonPhrase() {
+        int n = i++;
+        return HttpStatus.getReasonPhrase(CODES[n % CODES.length]);
+    }
+}
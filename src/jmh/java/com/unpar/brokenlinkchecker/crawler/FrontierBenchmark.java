@@ -0,0 +1,85 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Push/poll frontier dengan pola loop crawling: ambil satu halaman, laporkan setiap tautan
+ * same-host lewat {@link Frontier#onLinkDiscovered}, masukkan tautan barunya sekaligus lewat
+ * {@link Frontier#addAll} pada kedalaman berikutnya; diulang sampai {@link #PAGES} URL masuk,
+ * lalu frontier dikosongkan.
+ *
+ * Satu operasi = satu crawl tiruan ({@link #PAGES} push + {@link #PAGES} poll).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrontierBenchmark {
+
+    static final int PAGES = 100_000;
+    // Tautan baru per halaman
+    private static final int LINKS_PER_PAGE = 32;
+
+    public enum Impl {
+        BFS,
+        DFS,
+        BEST;
+
+        Frontier create() {
+            return switch (this) {
+                case BFS -> new BfsFrontier();
+                case DFS -> new DfsFrontier();
+                case BEST -> new PriorityFrontier(PriorityFrontier.Strategy.BROKEN_SECTION);
+            };
+        }
+    }
+
+    @Param
+    public Impl impl;
+
+    private List<List<String>> batches;
+
+    @Setup
+    public void setUp() {
+        String[] urls = VisitedSetBenchmark.urls(PAGES, "berita");
+        batches = new ArrayList<>();
+        for (int from = 0; from < PAGES; from += LINKS_PER_PAGE) {
+            batches.add(List.of(urls).subList(from, Math.min(PAGES, from + LINKS_PER_PAGE)));
+        }
+    }
+
+    @Benchmark
+    public int pushPoll() {
+        try (Frontier frontier = impl.create()) {
+            frontier.addAll(List.of("https://www.example.ac.id/"), 0);
+            int polled = 0;
+            int next = 0;
+            Frontier.Entry e;
+            while ((e = frontier.poll()) != null) {
+                polled++;
+                if (next < batches.size()) {
+                    List<String> batch = batches.get(next++);
+                    for (String url : batch) frontier.onLinkDiscovered(url);
+                    frontier.addAll(batch, e.depth() + 1);
+                }
+            }
+            return polled;
+        }
+    }
+}
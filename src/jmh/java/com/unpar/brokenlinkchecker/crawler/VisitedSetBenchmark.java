@@ -0,0 +1,95 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Visited set pada skala besar:
+ * - {@code insertAll}: mengisi set kosong dengan {@code size} URL unik (satu operasi = seluruh
+ *   pengisian; {@code gc.alloc.rate.norm} ≈ memori yang dialokasikan untuk {@code size} URL)
+ * - {@code lookup}: {@link VisitedSet#add} pada set yang sudah berisi {@code size} URL, separuh
+ *   URL sudah ada (jalur umum: tautan same-host yang ditemukan ulang) dan separuh baru ditolak
+ *   lewat {@link VisitedSet#contains}
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class VisitedSetBenchmark {
+
+    public enum Impl {
+        HASH,
+        FINGERPRINT,
+        FINGERPRINT_OFFHEAP_BLOOM;
+
+        VisitedSet create(int expectedSize) {
+            return switch (this) {
+                case HASH -> new HashVisitedSet();
+                case FINGERPRINT -> new FingerprintVisitedSet(expectedSize, false, false);
+                case FINGERPRINT_OFFHEAP_BLOOM -> new FingerprintVisitedSet(expectedSize, true, true);
+            };
+        }
+    }
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param
+    public Impl impl;
+
+    private String[] present;
+    private String[] absent;
+    private VisitedSet filled;
+    private int i;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        present = urls(size, "berita");
+        absent = urls(size, "arsip");
+        filled = impl.create(size);
+        for (String url : present) filled.add(url);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public VisitedSet insertAll() {
+        VisitedSet set = impl.create(size);
+        for (String url : present) set.add(url);
+        return set;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean lookup() {
+        int n = i++;
+        if (i == size) i = 0;
+        return (n & 1) == 0 ? filled.add(present[n]) : filled.contains(absent[n]);
+    }
+
+    /**
+     * URL unik dengan bentuk seperti hasil crawl satu situs (prefix panjang yang sama,
+     * sufiks berbeda), bukan string acak pendek.
+     */
+    static String[] urls(int count, String section) {
+        String[] urls = new String[count];
+        for (int k = 0; k < count; k++) {
+            urls[k] = "https://www.example.ac.id/" + section + "/" + (2015 + k % 10) + "/" + (k % 12 + 1)
+                    + "/halaman-" + k + ".html" + (k % 5 == 0 ? "?lang=id&ref=" + (k % 97) : "");
+        }
+        return urls;
+    }
+}
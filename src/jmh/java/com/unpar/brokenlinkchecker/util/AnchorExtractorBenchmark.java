@@ -0,0 +1,81 @@
+package com.unpar.brokenlinkchecker.util;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ekstraksi anchor dari satu halaman rekaman ({@code src/jmh/resources/fixtures}):
+ * - {@code streaming}: {@link AnchorExtractor}, jalur default Service
+ * - {@code jsoup}: parse DOM lalu {@code a[href]} + {@code absUrl}/{@code text()}, seperti
+ *   Service saat ekstraksi streaming dimatikan
+ *
+ * Satu operasi = satu halaman; bandingkan juga {@code gc.alloc.rate.norm} (byte per halaman).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnchorExtractorBenchmark {
+
+    /**
+     * portal: halaman depan portal berita (±60 KB, ±350 anchor, script/style/komentar);
+     * docs: halaman dokumentasi dengan {@code <base href>} dan URL relatif;
+     * landing: halaman kecil (±4 KB).
+     */
+    @Param({"portal", "docs", "landing"})
+    public String fixture;
+
+    private String html;
+    private String documentUrl;
+    private final AnchorExtractor extractor = new AnchorExtractor();
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = AnchorExtractorBenchmark.class.getResourceAsStream("/fixtures/" + fixture + ".html")) {
+            if (in == null) throw new IOException("Fixture tidak ditemukan: " + fixture);
+            html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        documentUrl = "https://www.example.ac.id/" + fixture + "/index.html";
+    }
+
+    @Benchmark
+    public int streaming(Blackhole bh) throws IOException, InterruptedException {
+        return extractor.extract(new StringReader(html), documentUrl, (href, text) -> {
+            bh.consume(href);
+            bh.consume(text);
+        });
+    }
+
+    @Benchmark
+    public int jsoup(Blackhole bh) {
+        Document doc = Jsoup.parse(html, documentUrl);
+        int count = 0;
+        for (Element a : doc.select("a[href]")) {
+            bh.consume(a.absUrl("href"));
+            bh.consume(a.text());
+            count++;
+        }
+        return count;
+    }
+}
@@ -29,6 +29,11 @@ public class Application extends javafx.application.Application {
     }
 
     public static void main(String[] args) {
+        // "--headless ..." menjalankan crawler tanpa GUI (lihat HeadlessRunner)
+        if (args.length > 0 && args[0].equals("--headless")) {
+            HeadlessRunner.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         launch();
     }
 }
@@ -0,0 +1,203 @@
+package com.unpar.brokenlinkchecker;
+
+import com.unpar.brokenlinkchecker.crawler.LinkChecker;
+import com.unpar.brokenlinkchecker.crawler.RequestBudget;
+import com.unpar.brokenlinkchecker.model.CrawlResult;
+import com.unpar.brokenlinkchecker.model.ExecutionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Crawling banyak situs sekaligus dalam satu proses (mis. batch job malam hari).
+ *
+ * Setiap situs punya {@link Service} sendiri dan berjalan di virtual thread, tetapi semuanya
+ * memakai satu {@link LinkChecker} (cache status & penjadwalan per host bersama) dengan satu
+ * {@link RequestBudget}: jumlah request global dibatasi, satu situs tidak boleh memakai lebih
+ * dari jatahnya, dan slot dibagi bergiliran antar-situs. Situs kecil karenanya selesai cepat
+ * walaupun berjalan bersamaan dengan situs besar.
+ *
+ * Hasil dilaporkan per situs lewat {@code onSiteComplete}, dan sekali lagi seluruhnya lewat
+ * {@code onComplete} (urutan seed).
+ */
+public class BatchCrawler {
+
+    /**
+     * Hasil satu situs.
+     *
+     * @param elapsed lama crawling situs ini (tanpa waktu menunggu giliran mulai)
+     */
+    public record SiteReport(String seedUrl, CrawlResult result, Duration elapsed) {
+    }
+
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 64;
+    public static final int DEFAULT_MAX_REQUESTS_PER_SITE = 8;
+
+    private final Supplier<Service> serviceFactory;
+
+    // ===================== Konfigurasi =====================
+    // Request bersamaan (fetch halaman + cek tautan) untuk semua situs
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    // Request bersamaan untuk satu situs
+    private int maxRequestsPerSite = DEFAULT_MAX_REQUESTS_PER_SITE;
+    // Situs yang dicrawl bersamaan; sisanya menunggu giliran mulai
+    private int maxConcurrentSites = 32;
+
+    // ===================== Callback =====================
+    private Consumer<SiteReport> onSiteComplete;
+    private Consumer<List<SiteReport>> onComplete;
+    private Consumer<String> onError;
+
+    // ===================== State =====================
+    private volatile boolean stopRequested = false;
+    private final Set<Service> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param serviceFactory membuat Service yang sudah dikonfigurasi, satu per situs; batas
+     *                       konkurensi, timeout, dan retry pengecekan diambil dari Service pertama
+     */
+    public BatchCrawler(Supplier<Service> serviceFactory) {
+        this.serviceFactory = Objects.requireNonNull(serviceFactory);
+    }
+
+    // ===================== Setter konfigurasi =====================
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests harus >= 1");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public void setMaxRequestsPerSite(int maxRequestsPerSite) {
+        if (maxRequestsPerSite < 1) {
+            throw new IllegalArgumentException("maxRequestsPerSite harus >= 1");
+        }
+        this.maxRequestsPerSite = maxRequestsPerSite;
+    }
+
+    public void setMaxConcurrentSites(int maxConcurrentSites) {
+        if (maxConcurrentSites < 1) {
+            throw new IllegalArgumentException("maxConcurrentSites harus >= 1");
+        }
+        this.maxConcurrentSites = maxConcurrentSites;
+    }
+
+    // ===================== Setter callback =====================
+    /**
+     * Dipanggil dari thread situs setiap kali satu situs selesai.
+     */
+    public void setOnSiteComplete(Consumer<SiteReport> cb) {
+        this.onSiteComplete = cb;
+    }
+
+    public void setOnComplete(Consumer<List<SiteReport>> cb) {
+        this.onComplete = cb;
+    }
+
+    /**
+     * Pesan error diawali seed URL situsnya.
+     */
+    public void setOnError(Consumer<String> cb) {
+        this.onError = cb;
+    }
+
+    // ===================== API kontrol =====================
+    /**
+     * @return thread batch; bisa di-join untuk menunggu semua situs selesai
+     */
+    public Thread start(List<String> seedUrls, String algorithm) {
+        List<String> seeds = new ArrayList<>(new LinkedHashSet<>(seedUrls));
+        stopRequested = false;
+        Thread batch = new Thread(() -> run(seeds, algorithm), "Batch-Crawler");
+        batch.start();
+        return batch;
+    }
+
+    /**
+     * Menghentikan semua situs yang sedang berjalan; situs yang belum mulai dilaporkan
+     * kosong. Semua laporan berstatus {@link ExecutionStatus#STOPPED}.
+     */
+    public void stop() {
+        stopRequested = true;
+        for (Service s : running) s.stop();
+    }
+
+    // =========================================================
+    // ======================= Eksekusi ========================
+    // =========================================================
+    private void run(List<String> seeds, String algorithm) {
+        LinkChecker linkChecker = serviceFactory.get().createLinkChecker();
+        linkChecker.setRequestBudget(new RequestBudget(maxConcurrentRequests, maxRequestsPerSite));
+
+        List<AtomicReference<SiteReport>> reports = new ArrayList<>();
+        Semaphore siteSlots = new Semaphore(maxConcurrentSites);
+        try (ExecutorService sites = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String seed : seeds) {
+                AtomicReference<SiteReport> report = new AtomicReference<>();
+                reports.add(report);
+                try {
+                    siteSlots.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stop();
+                    break;
+                }
+                sites.execute(() -> {
+                    try {
+                        report.set(crawlSite(seed, algorithm, linkChecker));
+                    } finally {
+                        siteSlots.release();
+                    }
+                    if (onSiteComplete != null) onSiteComplete.accept(report.get());
+                });
+            }
+        }
+
+        List<SiteReport> all = new ArrayList<>(seeds.size());
+        for (int i = 0; i < seeds.size(); i++) {
+            SiteReport r = i < reports.size() ? reports.get(i).get() : null;
+            all.add(r != null ? r : stoppedReport(seeds.get(i)));
+        }
+        if (onComplete != null) onComplete.accept(all);
+    }
+
+    private SiteReport crawlSite(String seedUrl, String algorithm, LinkChecker linkChecker) {
+        if (stopRequested) return stoppedReport(seedUrl);
+
+        Service service = serviceFactory.get();
+        service.setSharedLinkChecker(linkChecker);
+        AtomicReference<CrawlResult> completed = new AtomicReference<>();
+        service.setOnComplete(completed::set);
+        service.setOnError(msg -> {
+            if (onError != null) onError.accept(seedUrl + ": " + msg);
+        });
+
+        running.add(service);
+        if (stopRequested) service.stop(); // stop() yang datang sebelum Service terdaftar
+        long start = System.nanoTime();
+        try {
+            service.runCrawling(seedUrl, algorithm);
+        } finally {
+            running.remove(service);
+        }
+
+        CrawlResult result = completed.get();
+        if (result == null) result = new CrawlResult(List.of(), 0, 0, 0, ExecutionStatus.STOPPED);
+        return new SiteReport(seedUrl, result, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static SiteReport stoppedReport(String seedUrl) {
+        return new SiteReport(seedUrl, new CrawlResult(List.of(), 0, 0, 0, ExecutionStatus.STOPPED), Duration.ZERO);
+    }
+}
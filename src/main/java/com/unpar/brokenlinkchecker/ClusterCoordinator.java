@@ -0,0 +1,391 @@
+package com.unpar.brokenlinkchecker;
+
+import com.unpar.brokenlinkchecker.model.CrawlResult;
+import com.unpar.brokenlinkchecker.model.ExecutionStatus;
+import com.unpar.brokenlinkchecker.model.LinkResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Koordinator crawling terdistribusi: menjalankan beberapa proses worker di mesin yang sama
+ * (terhubung lewat socket loopback), membagi situs ke worker menurut hash host seed, meneruskan
+ * pengecekan tautan antar-worker, lalu menggabungkan hasil semua situs menjadi satu
+ * {@link CrawlResult}.
+ *
+ * Setiap host dimiliki tepat satu worker, sehingga jeda & batas konkurensi per host
+ * ({@link com.unpar.brokenlinkchecker.crawler.HostScheduler}) tetap berlaku walaupun banyak
+ * proses berjalan bersamaan. Throughput naik seiring jumlah worker selama situs yang dicrawl
+ * cukup banyak untuk dibagi; satu situs tetap dikerjakan satu worker.
+ *
+ * Worker dijalankan dengan JVM & classpath/module path yang sama dengan proses ini, lewat
+ * {@code HeadlessRunner --cluster-worker}. Opsi Service untuk worker diberikan sebagai argumen
+ * baris perintah HeadlessRunner (mis. {@code --max-checks 64}).
+ */
+public class ClusterCoordinator {
+
+    /**
+     * Hasil satu situs beserta worker yang mengerjakannya.
+     */
+    public record SiteResult(String seedUrl, int worker, CrawlResult result) {
+    }
+
+    private static final long CONNECT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long WORKER_EXIT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(5);
+
+    private final int workerCount;
+    private final List<String> workerArguments;
+
+    // ===================== Callback =====================
+    private Consumer<SiteResult> onSiteComplete;
+    private Consumer<CrawlResult> onComplete;
+    private Consumer<String> onError;
+
+    // ===================== State =====================
+    private volatile boolean stopRequested = false;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition siteFinished = lock.newCondition();
+    private final Map<String, Integer> assignments = new HashMap<>();
+    private final Map<String, SiteResult> finished = new HashMap<>();
+    private volatile Connection[] connections = new Connection[0];
+
+    /**
+     * @param workerCount     jumlah proses worker
+     * @param workerArguments opsi HeadlessRunner untuk setiap worker (konfigurasi Service)
+     */
+    public ClusterCoordinator(int workerCount, List<String> workerArguments) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount harus >= 1");
+        }
+        this.workerCount = workerCount;
+        this.workerArguments = List.copyOf(workerArguments);
+    }
+
+    // ===================== Setter callback =====================
+    /**
+     * Dipanggil (dari thread jaringan) setiap kali satu situs selesai.
+     */
+    public void setOnSiteComplete(Consumer<SiteResult> cb) {
+        this.onSiteComplete = cb;
+    }
+
+    /**
+     * Hasil gabungan semua situs, dalam urutan seed.
+     */
+    public void setOnComplete(Consumer<CrawlResult> cb) {
+        this.onComplete = cb;
+    }
+
+    public void setOnError(Consumer<String> cb) {
+        this.onError = cb;
+    }
+
+    // ===================== API kontrol =====================
+    /**
+     * @return thread koordinator; bisa di-join untuk menunggu semua situs selesai
+     */
+    public Thread start(List<String> seedUrls, String algorithm) {
+        List<String> seeds = new ArrayList<>(new LinkedHashSet<>(seedUrls));
+        Objects.requireNonNull(algorithm);
+        stopRequested = false;
+        Thread coordinator = new Thread(() -> {
+            try {
+                run(seeds, algorithm);
+            } catch (Exception ex) {
+                emitError("Kesalahan koordinator: " + ex.getClass().getSimpleName() + " - " + ex.getMessage());
+                emitComplete(merge(seeds));
+            }
+        }, "Cluster-Coordinator");
+        coordinator.start();
+        return coordinator;
+    }
+
+    /**
+     * Menghentikan semua worker; hasil parsial tiap situs tetap dikumpulkan dan dikirim
+     * lewat {@code onComplete} dengan status {@link ExecutionStatus#STOPPED}.
+     */
+    public void stop() {
+        stopRequested = true;
+        for (Connection c : connections) {
+            if (c != null) c.send(ClusterProtocol.STOP, -1, ClusterProtocol.empty());
+        }
+    }
+
+    // =========================================================
+    // ======================= Eksekusi ========================
+    // =========================================================
+    private void run(List<String> seeds, String algorithm) throws IOException, InterruptedException {
+        List<Process> processes = new ArrayList<>();
+        try {
+            try (ServerSocket server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress())) {
+                for (int i = 0; i < workerCount; i++) {
+                    processes.add(new ProcessBuilder(workerCommand(i, server.getLocalPort()))
+                            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                            .redirectError(ProcessBuilder.Redirect.INHERIT)
+                            .start());
+                }
+                connections = acceptWorkers(server);
+            }
+            for (Connection c : connections) {
+                Thread.ofVirtual().name("Cluster-Worker-" + c.index).start(() -> readLoop(c));
+            }
+
+            lock.lock();
+            try {
+                for (String seed : seeds) {
+                    int worker = ClusterProtocol.partitionOf(Service.safeHost(seed), workerCount);
+                    assignments.put(seed, worker);
+                    connections[worker].send(ClusterProtocol.CRAWL, -1, ClusterProtocol.strings(seed, algorithm));
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (stopRequested) stop();
+
+            lock.lock();
+            try {
+                while (finished.size() < seeds.size()) siteFinished.await();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            shutdownWorkers(processes);
+        }
+
+        emitComplete(merge(seeds));
+    }
+
+    private void shutdownWorkers(List<Process> processes) throws InterruptedException {
+        for (Connection c : connections) {
+            c.send(ClusterProtocol.SHUTDOWN, -1, ClusterProtocol.empty());
+        }
+        for (Process p : processes) {
+            if (!p.waitFor(WORKER_EXIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) p.destroyForcibly();
+        }
+        for (Connection c : connections) c.close();
+    }
+
+    /**
+     * Menunggu semua worker terhubung dan memperkenalkan diri (HELLO berisi indeksnya).
+     */
+    private Connection[] acceptWorkers(ServerSocket server) throws IOException {
+        Connection[] accepted = new Connection[workerCount];
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+        for (int n = 0; n < workerCount; n++) {
+            server.setSoTimeout((int) Math.max(1, deadline - System.currentTimeMillis()));
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (SocketTimeoutException e) {
+                for (Connection c : accepted) {
+                    if (c != null) c.close();
+                }
+                throw new IOException("Worker tidak terhubung dalam " + CONNECT_TIMEOUT_MS / 1000 + " detik");
+            }
+            Connection c = new Connection(socket);
+            ClusterProtocol.Frame hello = ClusterProtocol.readFrame(c.in);
+            if (hello == null || hello.type() != ClusterProtocol.HELLO
+                    || hello.peer() < 0 || hello.peer() >= workerCount || accepted[hello.peer()] != null) {
+                c.close();
+                throw new IOException("Salam worker tidak valid");
+            }
+            c.index = hello.peer();
+            accepted[c.index] = c;
+        }
+        return accepted;
+    }
+
+    /**
+     * Membaca pesan satu worker: meneruskan batch pengecekan ke worker tujuan dan
+     * mencatat situs yang selesai.
+     */
+    private void readLoop(Connection c) {
+        try {
+            ClusterProtocol.Frame frame;
+            while ((frame = ClusterProtocol.readFrame(c.in)) != null) {
+                switch (frame.type()) {
+                    case ClusterProtocol.CHECK_REQUEST, ClusterProtocol.CHECK_RESPONSE -> forward(c, frame);
+                    case ClusterProtocol.SITE_DONE -> siteDone(ClusterProtocol.readSiteResult(frame, c.index));
+                    case ClusterProtocol.ERROR -> emitError(ClusterProtocol.readString(frame.payloadStream()));
+                    default -> throw new IOException("Pesan cluster tidak dikenal: " + frame.type());
+                }
+            }
+        } catch (IOException e) {
+            // ditangani di bawah sebagai worker terputus
+        }
+        workerLost(c);
+    }
+
+    private void forward(Connection from, ClusterProtocol.Frame frame) throws IOException {
+        int target = frame.peer();
+        if (target < 0 || target >= workerCount) throw new IOException("Worker tujuan tidak valid: " + target);
+        if (connections[target].send(frame.type(), from.index, frame.payload())) return;
+
+        // Worker tujuan sudah mati: permintaannya dijawab "dibatalkan" agar pengirim tidak menunggu
+        if (frame.type() == ClusterProtocol.CHECK_REQUEST) {
+            List<ClusterProtocol.Item> cancelled = new ArrayList<>();
+            for (ClusterProtocol.Item item : ClusterProtocol.readItems(frame)) {
+                cancelled.add(new ClusterProtocol.Item(item.id(), ""));
+            }
+            from.send(ClusterProtocol.CHECK_RESPONSE, target, ClusterProtocol.items(cancelled));
+        }
+    }
+
+    private void siteDone(SiteResult site) {
+        lock.lock();
+        try {
+            if (!assignments.containsKey(site.seedUrl()) || finished.containsKey(site.seedUrl())) return;
+            finished.put(site.seedUrl(), site);
+            siteFinished.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (onSiteComplete != null) onSiteComplete.accept(site);
+    }
+
+    /**
+     * Koneksi worker putus. Saat shutdown ini normal; sebelumnya berarti worker mati:
+     * situsnya dianggap terhenti dan worker lain dihentikan, agar pengecekan yang menunggu
+     * worker itu tidak menggantung.
+     */
+    private void workerLost(Connection c) {
+        c.close();
+        List<String> lost = new ArrayList<>();
+        lock.lock();
+        try {
+            assignments.forEach((seed, worker) -> {
+                if (worker == c.index && !finished.containsKey(seed)) lost.add(seed);
+            });
+            for (String seed : lost) {
+                finished.put(seed, new SiteResult(seed, c.index,
+                        new CrawlResult(List.of(), 0, 0, 0, ExecutionStatus.STOPPED)));
+            }
+            siteFinished.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (!lost.isEmpty()) {
+            emitError("Worker " + c.index + " terputus; " + lost.size() + " situs tidak selesai");
+            stop();
+        }
+    }
+
+    /**
+     * Menggabungkan hasil semua situs: tautan berurutan per seed, counter dijumlahkan.
+     */
+    private CrawlResult merge(List<String> seeds) {
+        List<LinkResult> links = new ArrayList<>();
+        int pages = 0;
+        int total = 0;
+        int broken = 0;
+        boolean stopped = false;
+        lock.lock();
+        try {
+            for (String seed : seeds) {
+                SiteResult site = finished.get(seed);
+                if (site == null) {
+                    stopped = true;
+                    continue;
+                }
+                CrawlResult r = site.result();
+                links.addAll(r.getAllLinks());
+                pages += r.getPageCount();
+                total += r.getTotalLinks();
+                broken += r.getBrokenLinksCount();
+                stopped |= r.isStopped();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new CrawlResult(links, pages, total, broken, stopped ? ExecutionStatus.STOPPED : ExecutionStatus.COMPLETED);
+    }
+
+    /**
+     * Perintah untuk menjalankan satu worker dengan JVM, classpath, dan module path yang sama.
+     */
+    private List<String> workerCommand(int index, int port) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+
+        Module module = ClusterCoordinator.class.getModule();
+        String modulePath = System.getProperty("jdk.module.path");
+        if (module.isNamed() && modulePath != null) {
+            cmd.addAll(List.of("-p", modulePath, "-m", module.getName() + "/" + HeadlessRunner.class.getName()));
+        } else {
+            cmd.addAll(List.of("-cp", System.getProperty("java.class.path"), HeadlessRunner.class.getName()));
+        }
+        cmd.addAll(List.of("--cluster-worker", InetAddress.getLoopbackAddress().getHostAddress() + ":" + port,
+                "--worker-index", String.valueOf(index), "--workers", String.valueOf(workerCount)));
+        cmd.addAll(workerArguments);
+        return cmd;
+    }
+
+    // ===================== Emitters =====================
+    private void emitComplete(CrawlResult cr) {
+        if (onComplete != null) onComplete.accept(cr);
+    }
+
+    private void emitError(String msg) {
+        if (onError != null) onError.accept(msg);
+    }
+
+    /**
+     * Koneksi ke satu worker. Penulisan dari banyak thread (relay, stop) diserialkan.
+     */
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        private final DataOutputStream out;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        int index = -1;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+        }
+
+        /**
+         * @return false bila koneksi sudah putus
+         */
+        boolean send(byte type, int peer, byte[] payload) {
+            writeLock.lock();
+            try {
+                ClusterProtocol.writeFrame(out, type, peer, payload);
+                return true;
+            } catch (IOException e) {
+                return false;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // sudah ditutup
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.unpar.brokenlinkchecker;
+
+import com.unpar.brokenlinkchecker.crawler.CrawlCheckpoint;
+import com.unpar.brokenlinkchecker.model.CrawlResult;
+import com.unpar.brokenlinkchecker.model.ExecutionStatus;
+import com.unpar.brokenlinkchecker.model.LinkResult;
+import com.unpar.brokenlinkchecker.util.UrlFingerprint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Format pesan antara {@link ClusterCoordinator} dan {@link ClusterWorker} (socket loopback).
+ *
+ * Satu frame: {@code [tipe:byte][peer:int][panjang:int][payload]}. Koordinator meneruskan
+ * {@link #CHECK_REQUEST}/{@link #CHECK_RESPONSE} antar-worker hanya dengan mengganti
+ * {@code peer} (tujuan → asal), payload-nya tidak di-decode ulang.
+ *
+ * Pembagian kerja: setiap host dimiliki tepat satu worker ({@link #partitionOf}). Halaman situs
+ * dicrawl oleh pemilik host seed; tautan ke host milik worker lain dikirim (berkelompok) ke
+ * pemiliknya untuk dicek, sehingga kesopanan per host tetap diatur di satu proses.
+ */
+final class ClusterProtocol {
+
+    // ---------- Worker → koordinator ----------
+    /** peer = indeks worker. */
+    static final byte HELLO = 1;
+    /** Satu situs selesai; payload {@link #siteResult}. */
+    static final byte SITE_DONE = 2;
+    /** payload: pesan error. */
+    static final byte ERROR = 3;
+
+    // ---------- Koordinator → worker ----------
+    /** payload: seed URL, algoritma. */
+    static final byte CRAWL = 10;
+    static final byte STOP = 11;
+    static final byte SHUTDOWN = 12;
+
+    // ---------- Antar-worker (lewat koordinator) ----------
+    /** payload: daftar (id, URL); peer = tujuan saat dikirim, asal saat diterima. */
+    static final byte CHECK_REQUEST = 20;
+    /** payload: daftar (id, status); status kosong = dibatalkan. */
+    static final byte CHECK_RESPONSE = 21;
+
+    private static final int MAX_FRAME_SIZE = 256 * 1024 * 1024;
+
+    private ClusterProtocol() {
+    }
+
+    record Frame(byte type, int peer, byte[] payload) {
+        DataInputStream payloadStream() {
+            return new DataInputStream(new ByteArrayInputStream(payload));
+        }
+    }
+
+    /**
+     * Pasangan (id, teks) dalam satu batch: URL pada request, status pada response.
+     */
+    record Item(long id, String text) {
+    }
+
+    /**
+     * Worker pemilik sebuah host. Hash di-mix agar host yang mirip tersebar merata.
+     */
+    static int partitionOf(String host, int workerCount) {
+        long h = UrlFingerprint.fmix64(host.hashCode() * 0x9E3779B97F4A7C15L);
+        return (int) Math.floorMod(h, (long) workerCount);
+    }
+
+    // ===================== Frame =====================
+    /**
+     * Pemanggil bertanggung jawab atas sinkronisasi bila {@code out} dipakai banyak thread.
+     */
+    static void writeFrame(DataOutputStream out, byte type, int peer, byte[] payload) throws IOException {
+        out.writeByte(type);
+        out.writeInt(peer);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.flush();
+    }
+
+    /**
+     * @return frame berikutnya, atau null bila koneksi ditutup di batas frame
+     */
+    static Frame readFrame(DataInputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) return null;
+        int peer = in.readInt();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Ukuran frame tidak valid: " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new Frame((byte) type, peer, payload);
+    }
+
+    // ===================== Payload =====================
+    static byte[] strings(String... values) {
+        return encode(out -> {
+            for (String v : values) CrawlCheckpoint.writeString(out, v);
+        });
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return CrawlCheckpoint.readString(in);
+    }
+
+    static byte[] items(List<Item> items) {
+        return encode(out -> {
+            out.writeInt(items.size());
+            for (Item item : items) {
+                out.writeLong(item.id());
+                CrawlCheckpoint.writeString(out, item.text());
+            }
+        });
+    }
+
+    static List<Item> readItems(Frame frame) throws IOException {
+        DataInputStream in = frame.payloadStream();
+        int n = in.readInt();
+        List<Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new Item(in.readLong(), CrawlCheckpoint.readString(in)));
+        }
+        return items;
+    }
+
+    static byte[] siteResult(String seedUrl, CrawlResult result) {
+        return encode(out -> {
+            CrawlCheckpoint.writeString(out, seedUrl);
+            out.writeBoolean(result.isStopped());
+            out.writeInt(result.getPageCount());
+            out.writeInt(result.getTotalLinks());
+            out.writeInt(result.getBrokenLinksCount());
+            List<LinkResult> links = result.getAllLinks();
+            out.writeInt(links.size());
+            for (LinkResult lr : links) {
+                CrawlCheckpoint.writeString(out, lr.getBrokenUrl());
+                CrawlCheckpoint.writeString(out, lr.getStatus());
+                CrawlCheckpoint.writeString(out, lr.getSourcePage());
+                CrawlCheckpoint.writeString(out, lr.getAnchorText() == null ? "" : lr.getAnchorText());
+            }
+        });
+    }
+
+    static ClusterCoordinator.SiteResult readSiteResult(Frame frame, int worker) throws IOException {
+        DataInputStream in = frame.payloadStream();
+        String seedUrl = CrawlCheckpoint.readString(in);
+        boolean stopped = in.readBoolean();
+        int pages = in.readInt();
+        int total = in.readInt();
+        int broken = in.readInt();
+        int n = in.readInt();
+        List<LinkResult> links = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            links.add(new LinkResult(CrawlCheckpoint.readString(in), CrawlCheckpoint.readString(in),
+                    CrawlCheckpoint.readString(in), CrawlCheckpoint.readString(in)));
+        }
+        CrawlResult result = new CrawlResult(links, pages, total, broken,
+                stopped ? ExecutionStatus.STOPPED : ExecutionStatus.COMPLETED);
+        return new ClusterCoordinator.SiteResult(seedUrl, worker, result);
+    }
+
+    private interface Encoder {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Encoder encoder) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encoder.write(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // tidak terjadi pada ByteArrayOutputStream
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] empty() {
+        return new byte[0];
+    }
+}
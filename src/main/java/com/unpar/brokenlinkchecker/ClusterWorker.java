@@ -0,0 +1,321 @@
+package com.unpar.brokenlinkchecker;
+
+import com.unpar.brokenlinkchecker.crawler.LinkChecker;
+import com.unpar.brokenlinkchecker.crawler.RequestBudget;
+import com.unpar.brokenlinkchecker.model.CrawlResult;
+import com.unpar.brokenlinkchecker.model.ExecutionStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Proses worker mode terdistribusi (dijalankan oleh {@link ClusterCoordinator} lewat
+ * {@code HeadlessRunner --cluster-worker}).
+ *
+ * Worker mengerjakan situs yang host seed-nya miliknya, satu {@link Service} per situs,
+ * semuanya memakai satu {@link LinkChecker} bersama. Tautan ke host milik worker lain
+ * dikumpulkan lalu dikirim berkelompok ke pemiliknya lewat koordinator (paling lama
+ * {@link #FLUSH_INTERVAL_NANOS}, atau begitu {@link #MAX_BATCH} tautan terkumpul);
+ * sebaliknya, tautan dari worker lain ke host miliknya dicek dengan {@link LinkChecker}
+ * yang sama, sehingga cache status dan jeda per host berlaku untuk seluruh cluster.
+ */
+final class ClusterWorker {
+
+    private static final int MAX_BATCH = 256;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int index;
+    private final int workerCount;
+    private final Supplier<Service> serviceFactory;
+    private final LinkChecker linkChecker;
+
+    private final Socket socket = new Socket();
+    private DataOutputStream out;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Pengecekan yang menunggu jawaban worker lain, per id request
+    private final ConcurrentHashMap<Long, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextRequestId = new AtomicLong();
+    private final Outbox requests;
+    private final Outbox responses;
+    // Pengecekan atas permintaan worker lain
+    private final ExecutorService remoteChecks = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Service> services = new CopyOnWriteArrayList<>();
+    private volatile boolean stopped = false;
+    private volatile boolean closed = false;
+
+    private ClusterWorker(int index, int workerCount, Supplier<Service> serviceFactory, RequestBudget budget) {
+        this.index = index;
+        this.workerCount = workerCount;
+        this.serviceFactory = serviceFactory;
+        this.requests = new Outbox(ClusterProtocol.CHECK_REQUEST);
+        this.responses = new Outbox(ClusterProtocol.CHECK_RESPONSE);
+        this.linkChecker = serviceFactory.get().createLinkChecker();
+        this.linkChecker.setRequestBudget(budget);
+        this.linkChecker.setRemoteRoute(new LinkChecker.RemoteRoute() {
+            @Override
+            public boolean isLocal(String host) {
+                return host.isEmpty() || ClusterProtocol.partitionOf(host, workerCount) == index;
+            }
+
+            @Override
+            public String check(String url, String host) throws InterruptedException {
+                return checkRemote(url, host);
+            }
+        });
+    }
+
+    /**
+     * Terhubung ke koordinator lalu melayani perintahnya sampai SHUTDOWN / koneksi putus.
+     *
+     * @param coordinator alamat {@code host:port} koordinator
+     * @param serviceFactory membuat Service yang sudah dikonfigurasi (satu per situs)
+     * @param budget         jatah request antar-situs milik worker ini (seperti {@link BatchCrawler})
+     * @return exit code proses
+     */
+    static int run(String coordinator, int index, int workerCount, Supplier<Service> serviceFactory,
+                   RequestBudget budget) {
+        int colon = coordinator.lastIndexOf(':');
+        if (colon < 0) {
+            System.err.println("Alamat koordinator tidak valid: " + coordinator);
+            return 2;
+        }
+        ClusterWorker worker = new ClusterWorker(index, workerCount, serviceFactory, budget);
+        try {
+            worker.serve(coordinator.substring(0, colon), Integer.parseInt(coordinator.substring(colon + 1)));
+            return 0;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Worker " + index + ": " + e.getMessage());
+            return 2;
+        } finally {
+            worker.close();
+        }
+    }
+
+    private void serve(String host, int port) throws IOException {
+        socket.connect(new InetSocketAddress(host, port));
+        socket.setTcpNoDelay(true);
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+        send(ClusterProtocol.HELLO, index, ClusterProtocol.empty());
+
+        Thread.ofVirtual().name("Cluster-Requests").start(requests::flushLoop);
+        Thread.ofVirtual().name("Cluster-Responses").start(responses::flushLoop);
+
+        ClusterProtocol.Frame frame;
+        while ((frame = ClusterProtocol.readFrame(in)) != null) {
+            switch (frame.type()) {
+                case ClusterProtocol.CRAWL -> {
+                    DataInputStream payload = frame.payloadStream();
+                    startSite(ClusterProtocol.readString(payload), ClusterProtocol.readString(payload));
+                }
+                case ClusterProtocol.CHECK_REQUEST -> serveChecks(frame.peer(), ClusterProtocol.readItems(frame));
+                case ClusterProtocol.CHECK_RESPONSE -> {
+                    for (ClusterProtocol.Item item : ClusterProtocol.readItems(frame)) {
+                        CompletableFuture<String> f = pending.remove(item.id());
+                        if (f != null) f.complete(item.text().isEmpty() ? null : item.text());
+                    }
+                }
+                case ClusterProtocol.STOP -> stopAll();
+                case ClusterProtocol.SHUTDOWN -> {
+                    return;
+                }
+                default -> throw new IOException("Pesan cluster tidak dikenal: " + frame.type());
+            }
+        }
+    }
+
+    // =========================================================
+    // ======================== Situs ==========================
+    // =========================================================
+    /**
+     * Menjalankan satu situs. Hasil selalu dilaporkan ke koordinator, juga bila crawling
+     * gagal dimulai (hasil kosong berstatus STOPPED), agar koordinator tidak menunggu.
+     */
+    private void startSite(String seedUrl, String algorithm) {
+        Service service = serviceFactory.get();
+        service.setSharedLinkChecker(linkChecker);
+        AtomicReference<CrawlResult> completed = new AtomicReference<>();
+        service.setOnComplete(completed::set);
+        service.setOnError(msg -> send(ClusterProtocol.ERROR, index, ClusterProtocol.strings(seedUrl + ": " + msg)));
+        services.add(service);
+        if (stopped) service.stop();
+
+        Thread.ofVirtual().name("Cluster-Site").start(() -> {
+            service.runCrawling(seedUrl, algorithm);
+            services.remove(service);
+            CrawlResult result = completed.get();
+            if (result == null) result = new CrawlResult(List.of(), 0, 0, 0, ExecutionStatus.STOPPED);
+            send(ClusterProtocol.SITE_DONE, index, ClusterProtocol.siteResult(seedUrl, result));
+        });
+    }
+
+    private void stopAll() {
+        stopped = true;
+        for (Service s : services) s.stop();
+    }
+
+    // =========================================================
+    // ================== Pengecekan lintas worker =============
+    // =========================================================
+    /**
+     * Mengirim satu tautan ke worker pemilik host-nya lalu menunggu jawabannya.
+     *
+     * @return status, atau null bila dibatalkan
+     */
+    private String checkRemote(String url, String host) throws InterruptedException {
+        if (stopped || closed) return null;
+        long id = nextRequestId.incrementAndGet();
+        CompletableFuture<String> result = new CompletableFuture<>();
+        pending.put(id, result);
+        requests.add(ClusterProtocol.partitionOf(host, workerCount), new ClusterProtocol.Item(id, url));
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            return null;
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    private void serveChecks(int origin, List<ClusterProtocol.Item> items) {
+        for (ClusterProtocol.Item item : items) {
+            try {
+                remoteChecks.execute(() -> {
+                    String status = stopped ? null : linkChecker.check(item.text(), Service.safeHost(item.text()));
+                    responses.add(origin, new ClusterProtocol.Item(item.id(), status == null ? "" : status));
+                });
+            } catch (RejectedExecutionException e) {
+                responses.add(origin, new ClusterProtocol.Item(item.id(), ""));
+            }
+        }
+    }
+
+    private void send(byte type, int peer, byte[] payload) {
+        writeLock.lock();
+        try {
+            if (!closed) ClusterProtocol.writeFrame(out, type, peer, payload);
+        } catch (IOException e) {
+            // Koneksi putus: loop baca di serve() ikut berhenti
+            closeSocket();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void close() {
+        closed = true;
+        stopAll();
+        remoteChecks.shutdownNow();
+        // Pengecekan yang masih menunggu worker lain dibatalkan
+        pending.values().forEach(f -> f.complete(null));
+        requests.wake();
+        responses.wake();
+        closeSocket();
+    }
+
+    private void closeSocket() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // sudah ditutup
+        }
+    }
+
+    /**
+     * Antrian keluar per worker tujuan, dikirim berkelompok oleh satu virtual thread.
+     */
+    private final class Outbox {
+        private final byte type;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition ready = lock.newCondition();
+        private final List<List<ClusterProtocol.Item>> perPeer = new ArrayList<>();
+        private int size = 0;
+
+        Outbox(byte type) {
+            this.type = type;
+            for (int i = 0; i < workerCount; i++) perPeer.add(new ArrayList<>());
+        }
+
+        void add(int peer, ClusterProtocol.Item item) {
+            lock.lock();
+            try {
+                perPeer.get(peer).add(item);
+                if (++size == 1 || perPeer.get(peer).size() >= MAX_BATCH) ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void wake() {
+            lock.lock();
+            try {
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void flushLoop() {
+            try {
+                while (!closed) {
+                    List<List<ClusterProtocol.Item>> batches = new ArrayList<>();
+                    lock.lock();
+                    try {
+                        while (size == 0 && !closed) ready.await();
+                        // Beri waktu batch terisi, kecuali sudah ada yang penuh
+                        long deadline = System.nanoTime() + FLUSH_INTERVAL_NANOS;
+                        long remaining;
+                        while (!closed && !anyFull() && (remaining = deadline - System.nanoTime()) > 0) {
+                            ready.awaitNanos(remaining);
+                        }
+                        for (int i = 0; i < workerCount; i++) {
+                            batches.add(perPeer.get(i));
+                            perPeer.set(i, new ArrayList<>());
+                        }
+                        size = 0;
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    for (int peer = 0; peer < workerCount; peer++) {
+                        List<ClusterProtocol.Item> batch = batches.get(peer);
+                        for (int from = 0; from < batch.size(); from += MAX_BATCH) {
+                            List<ClusterProtocol.Item> chunk = batch.subList(from, Math.min(batch.size(), from + MAX_BATCH));
+                            send(type, peer, ClusterProtocol.items(chunk));
+                        }
+                    }
+                }
+            } catch (InterruptedException ignored) {
+                // worker dimatikan
+            }
+        }
+
+        private boolean anyFull() {
+            for (List<ClusterProtocol.Item> l : perPeer) {
+                if (l.size() >= MAX_BATCH) return true;
+            }
+            return false;
+        }
+    }
+}
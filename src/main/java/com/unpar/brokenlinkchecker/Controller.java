@@ -4,7 +4,6 @@ import com.unpar.brokenlinkchecker.model.CrawlResult;
 import com.unpar.brokenlinkchecker.model.CrawledPage;
 import com.unpar.brokenlinkchecker.model.ExecutionStatus;
 import com.unpar.brokenlinkchecker.model.LinkResult;
-import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
@@ -16,7 +15,9 @@ import javafx.scene.layout.VBox;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
 
 /**
  * Controller untuk UI BrokenLinkChecker (diselaraskan dengan FXML terbaru).
@@ -55,7 +56,7 @@ public class Controller {
     @FXML
     private TableView<LinkResult> brokenLinkTable;
     @FXML
-    private TableColumn<LinkResult, Number> colNumber1;
+    private TableColumn<LinkResult, LinkResult> colNumber1;
     @FXML
     private TableColumn<LinkResult, String> colStatus1;
     @FXML
@@ -69,7 +70,7 @@ public class Controller {
     @FXML
     private TableView<CrawledPage> webpageTable;
     @FXML
-    private TableColumn<CrawledPage, Number> colNumber2;
+    private TableColumn<CrawledPage, CrawledPage> colNumber2;
     @FXML
     private TableColumn<CrawledPage, String> colStatus2;
     @FXML
@@ -92,6 +93,7 @@ public class Controller {
     private final ObservableList<CrawledPage> webpageList = FXCollections.observableArrayList();     // semua webpage same-host (sukses/gagal)
 
     private Service service;
+    private UiUpdateBatcher uiBatcher;
     private ExecutionStatus currentStatus = ExecutionStatus.IDLE;
     private CrawlResult lastCrawlResult = null;
 
@@ -101,6 +103,14 @@ public class Controller {
     private static final int MAX_PAGE_BUTTONS = 5;
     private static final double PAGE_BUTTON_WIDTH = 40;
 
+    // Komponen pager dibuat sekali lalu hanya diperbarui (bukan dibangun ulang per tautan)
+    private Button prevPageButton;
+    private Button nextPageButton;
+    private final List<Button> pageButtons = new ArrayList<>();
+    private Label pageInfoLabel;
+    private int renderedPage = -1;
+    private int renderedPageCount = -1;
+
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     // ===================== Inisialisasi =====================
@@ -113,9 +123,9 @@ public class Controller {
         brokenLinkTable.setItems(currentPageResults);
         webpageTable.setItems(webpageList);
 
+        setupPagination();
         setStatus(ExecutionStatus.IDLE);
         setupToggleView();
-        updatePagination();
     }
 
     // ===================== Setup kolom tabel =====================
@@ -128,9 +138,7 @@ public class Controller {
         colWebpageLink1.prefWidthProperty().bind(brokenLinkTable.widthProperty().multiply(0.24));
 
         // Data binding
-        colNumber1.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(
-                (currentPage - 1) * ROWS_PER_PAGE + currentPageResults.indexOf(cell.getValue()) + 1
-        ));
+        setupRowNumberColumn(colNumber1, () -> (currentPage - 1) * ROWS_PER_PAGE);
         colStatus1.setCellValueFactory(cell -> cell.getValue().statusProperty());          // gunakan HttpStatus.getReasonPhrase() di backend saat set
         colBrokenLink1.setCellValueFactory(cell -> cell.getValue().brokenLinkProperty());
         colAnchorText1.setCellValueFactory(cell -> cell.getValue().anchorTextProperty());
@@ -146,9 +154,7 @@ public class Controller {
         colAccessTime2.prefWidthProperty().bind(webpageTable.widthProperty().multiply(0.24));
 
         // Data binding
-        colNumber2.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(
-                webpageList.indexOf(cell.getValue()) + 1
-        ));
+        setupRowNumberColumn(colNumber2, () -> 0);
         colStatus2.setCellValueFactory(cell -> cell.getValue().statusProperty());          // gunakan HttpStatus.getReasonPhrase() di backend saat set
         colWebpageLink2.setCellValueFactory(cell -> cell.getValue().urlProperty());
 
@@ -165,11 +171,28 @@ public class Controller {
         ));
     }
 
+    /**
+     * Nomor baris diambil dari indeks baris (O(1)), bukan dicari dengan indexOf per sel.
+     * Nilai sel adalah objek barisnya sendiri, sehingga sel ikut diperbarui saat isi baris berganti.
+     */
+    private static <S> void setupRowNumberColumn(TableColumn<S, S> column, IntSupplier offset) {
+        column.setSortable(false);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue()));
+        column.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(S item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : String.valueOf(offset.getAsInt() + getIndex() + 1));
+            }
+        });
+    }
+
     // ===================== Algoritma & Toggle =====================
     private void setupAlgoChoiceBox() {
         algoChoiceBox.setItems(FXCollections.observableArrayList(
                 "Breadth-First Search (BFS)",
-                "Depth-First Search (DFS)"
+                "Depth-First Search (DFS)",
+                "Best-First Search (Priority)"
         ));
         algoChoiceBox.getSelectionModel().select(0);
     }
@@ -195,7 +218,6 @@ public class Controller {
     private void showBrokenLinkTable() {
         brokenLinkTable.setVisible(true);
         webpageTable.setVisible(false);
-        updatePagination();
     }
 
     private void showWebpageTable() {
@@ -218,7 +240,14 @@ public class Controller {
             return;
         }
 
-        String algorithm = algoLabel.contains("BFS") ? "BFS" : "DFS";
+        String algorithm;
+        if (algoLabel.contains("BFS")) {
+            algorithm = "BFS";
+        } else if (algoLabel.contains("DFS")) {
+            algorithm = "DFS";
+        } else {
+            algorithm = "BEST";
+        }
 
         // Auto-prepend skema jika kosong
         if (!url.startsWith("http://") && !url.startsWith("https://")) {
@@ -230,20 +259,29 @@ public class Controller {
 
         service = new Service();
 
-        // Streaming tautan rusak (real-time)
-        service.setOnLinkResult(createBrokenLinkStreamConsumer());
+        // Event dari crawler disalurkan ke FX thread per frame (bukan satu runLater per event)
+        if (uiBatcher != null) uiBatcher.stop();
+        uiBatcher = new UiUpdateBatcher(
+                this::appendBrokenLinks,
+                webpageList::addAll,
+                this::updatePageCount,
+                this::updateTotalLinkCount,
+                this::updateBrokenLinkCount);
+        uiBatcher.start();
 
-        // Streaming halaman (Webpages Table)
-        service.setOnCrawledPage(cp -> Platform.runLater(() -> webpageList.add(cp)));
+        // Streaming tautan rusak & halaman (Webpages Table)
+        service.setOnLinkResult(uiBatcher::addLink);
+        service.setOnCrawledPage(uiBatcher::addPage);
 
         // Update metrik ringkasan
-        service.setOnPageCountUpdate(this::updatePageCount);
-        service.setOnTotalLinkUpdate(this::updateTotalLinkCount);
-        service.setOnBrokenLinkUpdate(this::updateBrokenLinkCount);
+        service.setOnPageCountUpdate(uiBatcher::setPageCount);
+        service.setOnTotalLinkUpdate(uiBatcher::setTotalLinks);
+        service.setOnBrokenLinkUpdate(uiBatcher::setBrokenLinks);
 
         // Selesai & Error
-        service.setOnComplete(this::onCrawlingComplete);
-        service.setOnError(this::onCrawlingError);
+        UiUpdateBatcher batcher = uiBatcher;
+        service.setOnComplete(result -> onCrawlingComplete(batcher, result));
+        service.setOnError(message -> onCrawlingError(batcher, message));
 
         service.startCrawling(url, algorithm);
     }
@@ -263,23 +301,34 @@ public class Controller {
     }
 
     // ===================== Callback streaming & status =====================
-    private Consumer<LinkResult> createBrokenLinkStreamConsumer() {
-        return result -> Platform.runLater(() -> {
-            allResults.add(result);
-            // refresh pagination hanya saat tab Broken Links terlihat, tapi aman untuk dipanggil kapan pun
-            updatePagination();
-        });
+    /**
+     * Menerima satu potongan tautan rusak per frame (FX thread).
+     */
+    private void appendBrokenLinks(List<LinkResult> results) {
+        int oldSize = allResults.size();
+        allResults.addAll(results);
+
+        // Halaman yang sedang tampil hanya berubah bila tautan baru jatuh di rentangnya
+        int from = (currentPage - 1) * ROWS_PER_PAGE;
+        int to = Math.min(from + ROWS_PER_PAGE, allResults.size());
+        int start = Math.max(from, oldSize);
+        if (start < to) {
+            currentPageResults.addAll(allResults.subList(start, to));
+        }
+        refreshPager();
     }
 
-    private void onCrawlingComplete(CrawlResult result) {
-        Platform.runLater(() -> {
+    private void onCrawlingComplete(UiUpdateBatcher batcher, CrawlResult result) {
+        // Status "Completed"/"Stopped" baru ditampilkan setelah seluruh hasil yang antri masuk ke tabel
+        batcher.runAfterDrain(() -> {
             this.lastCrawlResult = result;
-            setStatus(ExecutionStatus.COMPLETED);
+            setStatus(result.getStatus());
+            batcher.stop();
         });
     }
 
-    private void onCrawlingError(String errorMessage) {
-        Platform.runLater(() -> {
+    private void onCrawlingError(UiUpdateBatcher batcher, String errorMessage) {
+        batcher.runAfterDrain(() -> {
             setStatus(ExecutionStatus.ERROR);
             showInfo("Error", "Terjadi kesalahan saat crawling: " + errorMessage);
         });
@@ -333,53 +382,81 @@ public class Controller {
         pageCountLabel.setText("0");
         linkCountLabel.setText("0");
         brokenCountLabel.setText("0");
-        updatePagination();
+        refreshPager();
 
         lastCrawlResult = null;
     }
 
+    // Dipanggil dari UiUpdateBatcher (FX thread), hanya bila nilainya berubah
     private void updatePageCount(int count) {
-        Platform.runLater(() -> pageCountLabel.setText(String.valueOf(count)));
+        pageCountLabel.setText(String.valueOf(count));
     }
 
     private void updateTotalLinkCount(int count) {
-        Platform.runLater(() -> linkCountLabel.setText(String.valueOf(count)));
+        linkCountLabel.setText(String.valueOf(count));
     }
 
     private void updateBrokenLinkCount(int count) {
-        Platform.runLater(() -> brokenCountLabel.setText(String.valueOf(count)));
+        brokenCountLabel.setText(String.valueOf(count));
     }
 
     // ===================== Pagination (Broken Links) =====================
-    private void updatePagination() {
-        customPagination.getChildren().clear();
+    /**
+     * Membuat tombol pager sekali; selanjutnya {@link #refreshPager()} hanya mengubah
+     * teks/status tombol bila halaman aktif atau jumlah halaman berubah.
+     */
+    private void setupPagination() {
+        HBox buttonBox = new HBox(5);
+        buttonBox.setAlignment(javafx.geometry.Pos.CENTER_RIGHT);
+
+        prevPageButton = createPageButton("⯇", () -> goToPage(currentPage - 1), true);
+        nextPageButton = createPageButton("⯈", () -> goToPage(currentPage + 1), true);
 
+        buttonBox.getChildren().add(prevPageButton);
+        for (int i = 0; i < MAX_PAGE_BUTTONS; i++) {
+            Button btn = new Button();
+            btn.setMinWidth(PAGE_BUTTON_WIDTH);
+            btn.setOnAction(e -> goToPage((Integer) btn.getUserData()));
+            pageButtons.add(btn);
+            buttonBox.getChildren().add(btn);
+        }
+        buttonBox.getChildren().add(nextPageButton);
+
+        pageInfoLabel = new Label();
+        customPagination.getChildren().setAll(buttonBox, pageInfoLabel);
+        refreshPager();
+    }
+
+    private void refreshPager() {
         totalPageCount = (int) Math.ceil((double) allResults.size() / ROWS_PER_PAGE);
         if (totalPageCount == 0) totalPageCount = 1;
         if (currentPage > totalPageCount) currentPage = totalPageCount;
 
-        HBox buttonBox = new HBox(5);
-        buttonBox.setAlignment(javafx.geometry.Pos.CENTER_RIGHT);
-
-        Button prev = createPageButton("⯇", () -> goToPage(currentPage - 1), currentPage == 1);
-        Button next = createPageButton("⯈", () -> goToPage(currentPage + 1), currentPage == totalPageCount);
+        if (currentPage == renderedPage && totalPageCount == renderedPageCount) return;
+        renderedPage = currentPage;
+        renderedPageCount = totalPageCount;
 
-        buttonBox.getChildren().add(prev);
+        prevPageButton.setDisable(currentPage == 1);
+        nextPageButton.setDisable(currentPage == totalPageCount);
 
         int start = Math.max(1, currentPage - MAX_PAGE_BUTTONS / 2);
         int end = Math.min(totalPageCount, start + MAX_PAGE_BUTTONS - 1);
 
-        for (int i = start; i <= end; i++) {
-            final int page = i;
-            Button btn = createPageButton(String.valueOf(i), () -> goToPage(page), false);
-            if (i == currentPage) btn.getStyleClass().add("current-page");
-            buttonBox.getChildren().add(btn);
+        for (int i = 0; i < pageButtons.size(); i++) {
+            Button btn = pageButtons.get(i);
+            int page = start + i;
+            boolean shown = page <= end;
+            btn.setVisible(shown);
+            btn.setManaged(shown);
+            if (!shown) continue;
+
+            btn.setText(String.valueOf(page));
+            btn.setUserData(page);
+            btn.getStyleClass().remove("current-page");
+            if (page == currentPage) btn.getStyleClass().add("current-page");
         }
 
-        buttonBox.getChildren().add(next);
-        customPagination.getChildren().addAll(buttonBox, new Label("Page " + currentPage + " / " + totalPageCount));
-
-        updateCurrentPage(currentPage - 1); // index mulai 0
+        pageInfoLabel.setText("Page " + currentPage + " / " + totalPageCount);
     }
 
     private Button createPageButton(String text, Runnable action, boolean disabled) {
@@ -393,7 +470,8 @@ public class Controller {
     private void goToPage(int pageNumber) {
         if (pageNumber < 1 || pageNumber > totalPageCount) return;
         currentPage = pageNumber;
-        updatePagination();
+        updateCurrentPage(currentPage - 1); // index mulai 0
+        refreshPager();
     }
 
     private void updateCurrentPage(int pageIndex) {
@@ -0,0 +1,546 @@
+package com.unpar.brokenlinkchecker;
+
+import com.unpar.brokenlinkchecker.crawler.HttpFetcher;
+import com.unpar.brokenlinkchecker.crawler.RequestBudget;
+import com.unpar.brokenlinkchecker.crawler.RetryPolicy;
+import com.unpar.brokenlinkchecker.model.CrawlResult;
+import com.unpar.brokenlinkchecker.model.CrawledPage;
+import com.unpar.brokenlinkchecker.model.LinkResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Menjalankan crawler tanpa GUI (untuk server CI / batch job). Tidak menyentuh JavaFX:
+ * hasil ditulis sebagai NDJSON (satu objek JSON per baris) ke stdout atau file begitu tiba.
+ *
+ * Contoh:
+ * <pre>
+ *  gradle runHeadless --args="--algorithm BFS --output hasil.ndjson https://informatika.unpar.ac.id"
+ *  gradle runHeadless --args="--max-requests 128 https://situs-a.ac.id https://situs-b.ac.id https://situs-c.ac.id"
+ *  gradle runHeadless --args="--workers 4 https://situs-a.ac.id https://situs-b.ac.id https://situs-c.ac.id"
+ * </pre>
+ *
+ * Jenis baris keluaran:
+ * - {"type":"page", "url", "status", "links", "accessed"}
+ * - {"type":"link", "url", "status", "broken", "sourcePage", "anchorText"}
+ * - {"type":"error", "message"}
+ * - {"type":"site", "seed", "pages", "links", "broken", "stopped", "elapsedMs"} (banyak situs; elapsedMs
+ *   dihitung dari awal batch sampai situs itu selesai)
+ * - {"type":"summary", "pages", "links", "broken", "stopped", "elapsedMs"} (baris terakhir)
+ *
+ * Exit code: 0 = tidak ada tautan rusak, 1 = ada tautan rusak, 2 = argumen salah / crawling gagal.
+ */
+public class HeadlessRunner {
+
+    private static final String USAGE = """
+            Penggunaan: HeadlessRunner [opsi] <seed-url>...
+              --algorithm BFS|DFS|BEST     strategi crawling (default BFS)
+              --output <file>              tulis NDJSON ke file (default stdout)
+              --all-links                  tulis semua tautan, bukan hanya yang rusak
+              --checkpoint <file>          simpan checkpoint berkala ke file
+              --checkpoint-interval <s>    jeda checkpoint dalam detik (default 60)
+              --resume <file>              lanjutkan dari checkpoint (seed-url tidak diperlukan)
+              --max-checks <n>             batas global pengecekan tautan bersamaan
+              --max-per-host <n>           batas atas pengecekan bersamaan per host
+              --fetchers <n>               jumlah fetcher halaman paralel
+              --incremental <dir>          simpan data halaman per situs di dir; crawl berikutnya
+                                           hanya mengunduh halaman yang berubah
+              --ignore-robots              abaikan robots.txt (Disallow & Crawl-delay)
+              --sitemap                    isi frontier awal dari sitemap situs
+              --sitemap-since <tanggal>    hanya seed URL sitemap dengan lastmod sejak tanggal
+                                           ini (YYYY-MM-DD)
+              --retries <n>                jumlah percobaan per tautan yang gagal sementara
+                                           (default 3; 1 = tanpa pengulangan)
+              --connect-timeout <s>        batas waktu membuka koneksi dalam detik (default 10)
+              --read-timeout <s>           batas waktu membaca respons dalam detik (default 10)
+
+            Banyak seed-url dicrawl bersamaan sebagai satu batch (baris "page" tidak ditulis):
+              --max-requests <n>           batas request bersamaan untuk semua situs (default 64)
+              --max-per-site <n>           batas request bersamaan untuk satu situs (default 8)
+              --max-sites <n>              jumlah situs yang dicrawl bersamaan (default 32)
+              --workers <n>                bagi situs ke n proses worker menurut host
+            """;
+
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_BROKEN_FOUND = 1;
+    private static final int EXIT_FAILURE = 2;
+
+    // Opsi yang mengatur Service, diteruskan apa adanya ke setiap worker pada mode --workers
+    private static final Set<String> SERVICE_OPTIONS = Set.of("--max-checks", "--max-per-host", "--fetchers",
+            "--incremental", "--ignore-robots", "--sitemap", "--sitemap-since", "--retries",
+            "--connect-timeout", "--read-timeout", "--max-requests", "--max-per-site");
+
+    // ===================== Opsi =====================
+    private String seedUrl;
+    private String algorithm = "BFS";
+    private Path output;
+    private boolean allLinks = false;
+    private Path checkpoint;
+    private Duration checkpointInterval = Duration.ofSeconds(60);
+    private Path resume;
+    private Integer maxChecks;
+    private Integer maxPerHost;
+    private Integer fetchers;
+    private Path incrementalDirectory;
+    private boolean ignoreRobots = false;
+    private boolean sitemap = false;
+    private Instant sitemapSince;
+    private Integer retries;
+    private Duration connectTimeout = HttpFetcher.DEFAULT_CONNECT_TIMEOUT;
+    private Duration readTimeout = HttpFetcher.DEFAULT_READ_TIMEOUT;
+    // Mode terdistribusi: semua seed, jumlah worker, dan opsi Service yang diteruskan ke worker
+    private final List<String> seedUrls = new ArrayList<>();
+    private Integer workers;
+    // Batch banyak situs dalam satu proses (lihat BatchCrawler)
+    private Integer maxRequests;
+    private Integer maxPerSite;
+    private Integer maxSites;
+    private final List<String> serviceArguments = new ArrayList<>();
+    // Dijalankan sebagai worker oleh ClusterCoordinator (opsi internal, tidak ada di USAGE)
+    private String clusterWorker;
+    private int workerIndex;
+
+    public static void main(String[] args) {
+        HeadlessRunner runner = new HeadlessRunner();
+        try {
+            runner.parseArguments(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.print(USAGE);
+            System.exit(EXIT_FAILURE);
+            return;
+        }
+
+        if (runner.clusterWorker != null) {
+            RequestBudget budget = new RequestBudget(
+                    runner.maxRequests != null ? runner.maxRequests : BatchCrawler.DEFAULT_MAX_CONCURRENT_REQUESTS,
+                    runner.maxPerSite != null ? runner.maxPerSite : BatchCrawler.DEFAULT_MAX_REQUESTS_PER_SITE);
+            System.exit(ClusterWorker.run(runner.clusterWorker, runner.workerIndex, runner.workers, runner::newService, budget));
+            return;
+        }
+
+        try {
+            System.exit(runner.run());
+        } catch (IOException | UncheckedIOException ex) {
+            System.err.println("Gagal menulis keluaran: " + ex.getMessage());
+            System.exit(EXIT_FAILURE);
+        }
+    }
+
+    private void parseArguments(String[] args) {
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            int start = i;
+            switch (arg) {
+                case "--algorithm" -> algorithm = value(args, ++i, arg).toUpperCase();
+                case "--output" -> output = Path.of(value(args, ++i, arg));
+                case "--all-links" -> allLinks = true;
+                case "--checkpoint" -> checkpoint = Path.of(value(args, ++i, arg));
+                case "--checkpoint-interval" -> checkpointInterval = Duration.ofSeconds(intValue(args, ++i, arg));
+                case "--resume" -> resume = Path.of(value(args, ++i, arg));
+                case "--max-checks" -> maxChecks = intValue(args, ++i, arg);
+                case "--max-per-host" -> maxPerHost = intValue(args, ++i, arg);
+                case "--fetchers" -> fetchers = intValue(args, ++i, arg);
+                case "--incremental" -> incrementalDirectory = Path.of(value(args, ++i, arg));
+                case "--ignore-robots" -> ignoreRobots = true;
+                case "--sitemap" -> sitemap = true;
+                case "--sitemap-since" -> {
+                    sitemap = true;
+                    sitemapSince = dateValue(args, ++i, arg);
+                }
+                case "--retries" -> retries = intValue(args, ++i, arg);
+                case "--connect-timeout" -> connectTimeout = Duration.ofSeconds(intValue(args, ++i, arg));
+                case "--read-timeout" -> readTimeout = Duration.ofSeconds(intValue(args, ++i, arg));
+                case "--workers" -> workers = intValue(args, ++i, arg);
+                case "--max-requests" -> maxRequests = intValue(args, ++i, arg);
+                case "--max-per-site" -> maxPerSite = intValue(args, ++i, arg);
+                case "--max-sites" -> maxSites = intValue(args, ++i, arg);
+                case "--cluster-worker" -> clusterWorker = value(args, ++i, arg);
+                case "--worker-index" -> workerIndex = intValue(args, ++i, arg);
+                case "-h", "--help" -> throw new IllegalArgumentException("");
+                default -> {
+                    if (arg.startsWith("--")) throw new IllegalArgumentException("Opsi tidak dikenal: " + arg);
+                    positional.add(arg);
+                }
+            }
+            if (SERVICE_OPTIONS.contains(arg)) {
+                serviceArguments.addAll(List.of(args).subList(start, i + 1));
+            }
+        }
+
+        if (retries != null && retries < 1) throw new IllegalArgumentException("Nilai --retries harus >= 1.");
+        if (workers != null && workers < 1) throw new IllegalArgumentException("Nilai --workers harus >= 1.");
+        if ((maxRequests != null && maxRequests < 1) || (maxPerSite != null && maxPerSite < 1)
+                || (maxSites != null && maxSites < 1)) {
+            throw new IllegalArgumentException("Nilai --max-requests/--max-per-site/--max-sites harus >= 1.");
+        }
+
+        if (clusterWorker != null) {
+            if (workers == null) throw new IllegalArgumentException("--cluster-worker butuh --workers.");
+            return;
+        }
+        if (workers != null || positional.size() > 1) {
+            if (resume != null || checkpoint != null) {
+                throw new IllegalArgumentException("Banyak situs tidak dapat dipakai bersama --checkpoint/--resume.");
+            }
+            if (positional.isEmpty()) throw new IllegalArgumentException("Seed URL harus diisi.");
+            for (String url : positional) seedUrls.add(withScheme(url));
+            return;
+        }
+
+        if (resume == null) {
+            if (positional.size() != 1) throw new IllegalArgumentException("Seed URL harus diisi tepat satu.");
+            seedUrl = withScheme(positional.get(0));
+        } else if (!positional.isEmpty()) {
+            throw new IllegalArgumentException("Seed URL tidak dipakai bersama --resume.");
+        }
+    }
+
+    private static String withScheme(String url) {
+        return url.startsWith("http://") || url.startsWith("https://") ? url : "http://" + url;
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) throw new IllegalArgumentException("Opsi " + option + " butuh nilai.");
+        return args[i];
+    }
+
+    private static int intValue(String[] args, int i, String option) {
+        try {
+            return Integer.parseInt(value(args, i, option));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nilai " + option + " harus bilangan bulat.");
+        }
+    }
+
+    private static Instant dateValue(String[] args, int i, String option) {
+        try {
+            return LocalDate.parse(value(args, i, option)).atStartOfDay().toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Nilai " + option + " harus tanggal YYYY-MM-DD.");
+        }
+    }
+
+    // =========================================================
+    // ======================== Eksekusi =======================
+    // =========================================================
+    private int run() throws IOException {
+        OutputStream out = output == null ? System.out : Files.newOutputStream(output);
+        try (NdjsonWriter writer = new NdjsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), output != null)) {
+            return seedUrls.isEmpty() ? crawl(writer) : multiSiteCrawl(writer);
+        }
+    }
+
+    /**
+     * Service dengan konfigurasi dari opsi baris perintah.
+     */
+    private Service newService() {
+        Service service = new Service();
+        if (maxChecks != null) service.setMaxConcurrentChecks(maxChecks);
+        if (maxPerHost != null) service.setMaxConcurrentPerHost(maxPerHost);
+        if (fetchers != null) service.setFetcherCount(fetchers);
+        service.setTimeouts(connectTimeout, readTimeout);
+        if (retries != null) service.setRetryPolicy(RetryPolicy.withMaxAttempts(retries));
+        service.setPageStoreDirectory(incrementalDirectory);
+        service.setRespectRobotsTxt(!ignoreRobots);
+        service.setSitemapSeeding(sitemap, sitemapSince);
+        if (checkpoint != null) service.setCheckpoint(checkpoint, checkpointInterval);
+        return service;
+    }
+
+    private int crawl(NdjsonWriter writer) {
+        Service service = newService();
+
+        AtomicReference<CrawlResult> completed = new AtomicReference<>();
+        AtomicInteger pages = new AtomicInteger();
+        AtomicInteger links = new AtomicInteger();
+        AtomicInteger broken = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        service.setOnCrawledPage(writer::page);
+        if (allLinks) {
+            // Termasuk baris halaman yang gagal dicrawl, sehingga baris rusak = broken di ringkasan
+            service.setOnLinkChecked(lr -> writer.link(lr, Service.isBrokenStatus(lr.getStatus())));
+        } else {
+            service.setOnLinkResult(lr -> writer.link(lr, true));
+        }
+        service.setOnPageCountUpdate(pages::set);
+        service.setOnTotalLinkUpdate(links::set);
+        service.setOnBrokenLinkUpdate(broken::set);
+        service.setOnComplete(completed::set);
+        service.setOnError(msg -> {
+            errors.incrementAndGet();
+            System.err.println(msg);
+            writer.error(msg);
+        });
+
+        long start = System.nanoTime();
+        Thread crawler = resume != null
+                ? service.resumeCrawling(resume)
+                : service.startCrawling(seedUrl, algorithm);
+
+        // Ctrl+C: hentikan crawling dengan rapi (checkpoint ikut ditulis) sebelum JVM keluar
+        CountDownLatch summaryWritten = new CountDownLatch(1);
+        Thread shutdownHook = new Thread(() -> {
+            service.stop();
+            try {
+                crawler.join(TimeUnit.SECONDS.toMillis(30));
+                summaryWritten.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Headless-Shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        try {
+            crawler.join();
+        } catch (InterruptedException e) {
+            service.stop();
+            Thread.currentThread().interrupt();
+        }
+
+        CrawlResult result = completed.get();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int brokenCount = result != null ? result.getBrokenLinksCount() : broken.get();
+        if (result != null) {
+            writer.summary(result.getPageCount(), result.getTotalLinks(), brokenCount, result.isStopped(), elapsedMs);
+        } else {
+            writer.summary(pages.get(), links.get(), brokenCount, true, elapsedMs);
+        }
+        writer.flush();
+        summaryWritten.countDown();
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // JVM sedang dimatikan; hook sudah berjalan
+        }
+
+        if (result == null && errors.get() > 0) return EXIT_FAILURE;
+        return brokenCount > 0 ? EXIT_BROKEN_FOUND : EXIT_OK;
+    }
+
+    /**
+     * Banyak situs sekaligus: dalam proses ini lewat {@link BatchCrawler}, atau dengan
+     * {@code --workers} dibagi ke beberapa proses worker oleh {@link ClusterCoordinator}.
+     * Tautan & baris "site" ditulis per situs begitu situs itu selesai; ringkasan berisi
+     * total semua situs.
+     */
+    private int multiSiteCrawl(NdjsonWriter writer) {
+        AtomicInteger pages = new AtomicInteger();
+        AtomicInteger links = new AtomicInteger();
+        AtomicInteger broken = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        // null = belum selesai; selain itu: apakah ada situs yang terhenti
+        AtomicReference<Boolean> stopped = new AtomicReference<>();
+        long start = System.nanoTime();
+
+        BiConsumer<String, CrawlResult> siteDone = (seed, result) -> {
+            for (LinkResult lr : result.getAllLinks()) {
+                boolean isBroken = Service.isBrokenStatus(lr.getStatus());
+                if (isBroken || allLinks) writer.link(lr, isBroken);
+            }
+            writer.site(seed, result, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            pages.addAndGet(result.getPageCount());
+            links.addAndGet(result.getTotalLinks());
+            broken.addAndGet(result.getBrokenLinksCount());
+        };
+        Consumer<String> onError = msg -> {
+            errors.incrementAndGet();
+            System.err.println(msg);
+            writer.error(msg);
+        };
+
+        Runnable stop;
+        Thread thread;
+        if (workers != null) {
+            ClusterCoordinator coordinator = new ClusterCoordinator(workers, serviceArguments);
+            coordinator.setOnSiteComplete(site -> siteDone.accept(site.seedUrl(), site.result()));
+            coordinator.setOnComplete(result -> stopped.set(result.isStopped()));
+            coordinator.setOnError(onError);
+            stop = coordinator::stop;
+            thread = coordinator.start(seedUrls, algorithm);
+        } else {
+            BatchCrawler batch = new BatchCrawler(this::newService);
+            if (maxRequests != null) batch.setMaxConcurrentRequests(maxRequests);
+            if (maxPerSite != null) batch.setMaxRequestsPerSite(maxPerSite);
+            if (maxSites != null) batch.setMaxConcurrentSites(maxSites);
+            batch.setOnSiteComplete(report -> siteDone.accept(report.seedUrl(), report.result()));
+            batch.setOnComplete(reports -> stopped.set(reports.stream().anyMatch(r -> r.result().isStopped())));
+            batch.setOnError(onError);
+            stop = batch::stop;
+            thread = batch.start(seedUrls, algorithm);
+        }
+
+        CountDownLatch summaryWritten = new CountDownLatch(1);
+        Thread shutdownHook = new Thread(() -> {
+            stop.run();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+                summaryWritten.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Headless-Shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            stop.run();
+            Thread.currentThread().interrupt();
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        writer.summary(pages.get(), links.get(), broken.get(), stopped.get() == null || stopped.get(), elapsedMs);
+        writer.flush();
+        summaryWritten.countDown();
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // JVM sedang dimatikan; hook sudah berjalan
+        }
+
+        if (stopped.get() == null || (pages.get() == 0 && errors.get() > 0)) return EXIT_FAILURE;
+        return broken.get() > 0 ? EXIT_BROKEN_FOUND : EXIT_OK;
+    }
+
+    // =========================================================
+    // ====================== Penulis NDJSON ===================
+    // =========================================================
+    /**
+     * Menulis satu objek JSON per baris. Aman dipanggil dari banyak thread; tiap baris
+     * di-flush agar konsumen (mis. {@code jq}, pipeline CI) menerima hasil seketika.
+     * Bila menulis ke file, flush dilakukan per halaman saja agar I/O tetap ringan.
+     */
+    private static final class NdjsonWriter implements AutoCloseable {
+        private final Writer out;
+        private final boolean flushPerPage;
+
+        NdjsonWriter(Writer out, boolean flushPerPage) {
+            this.out = new BufferedWriter(out, 64 * 1024);
+            this.flushPerPage = flushPerPage;
+        }
+
+        void page(CrawledPage page) {
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("{\"type\":\"page\"");
+            field(sb, "url", page.getUrl());
+            field(sb, "status", page.getStatus());
+            sb.append(",\"links\":").append(page.getTotalLinks());
+            field(sb, "accessed", page.getAccessedTime() == null ? null : page.getAccessedTime().toString());
+            writeLine(sb.append('}'), true);
+        }
+
+        void link(LinkResult lr, boolean broken) {
+            StringBuilder sb = new StringBuilder(192);
+            sb.append("{\"type\":\"link\"");
+            field(sb, "url", lr.getBrokenUrl());
+            field(sb, "status", lr.getStatus());
+            sb.append(",\"broken\":").append(broken);
+            field(sb, "sourcePage", lr.getSourcePage());
+            field(sb, "anchorText", lr.getAnchorText());
+            writeLine(sb.append('}'), false);
+        }
+
+        void error(String message) {
+            StringBuilder sb = new StringBuilder("{\"type\":\"error\"");
+            field(sb, "message", message);
+            writeLine(sb.append('}'), true);
+        }
+
+        void site(String seed, CrawlResult result, long elapsedMs) {
+            StringBuilder sb = new StringBuilder("{\"type\":\"site\"");
+            field(sb, "seed", seed);
+            sb.append(",\"pages\":").append(result.getPageCount())
+                    .append(",\"links\":").append(result.getTotalLinks())
+                    .append(",\"broken\":").append(result.getBrokenLinksCount())
+                    .append(",\"stopped\":").append(result.isStopped())
+                    .append(",\"elapsedMs\":").append(elapsedMs);
+            writeLine(sb.append('}'), true);
+        }
+
+        void summary(int pages, int links, int broken, boolean stopped, long elapsedMs) {
+            writeLine(new StringBuilder("{\"type\":\"summary\"")
+                    .append(",\"pages\":").append(pages)
+                    .append(",\"links\":").append(links)
+                    .append(",\"broken\":").append(broken)
+                    .append(",\"stopped\":").append(stopped)
+                    .append(",\"elapsedMs\":").append(elapsedMs)
+                    .append('}'), true);
+        }
+
+        private synchronized void writeLine(CharSequence line, boolean pageBoundary) {
+            try {
+                out.append(line).append('\n');
+                if (!flushPerPage || pageBoundary) out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+
+        private static void field(StringBuilder sb, String name, String value) {
+            sb.append(",\"").append(name).append("\":");
+            if (value == null) {
+                sb.append("null");
+                return;
+            }
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                    }
+                }
+            }
+            sb.append('"');
+        }
+    }
+}
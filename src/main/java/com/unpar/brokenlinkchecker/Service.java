@@ -1,33 +1,119 @@
 package com.unpar.brokenlinkchecker;
 
+import com.unpar.brokenlinkchecker.crawler.BfsFrontier;
+import com.unpar.brokenlinkchecker.crawler.CircuitBreaker;
+import com.unpar.brokenlinkchecker.crawler.CrawlCheckpoint;
+import com.unpar.brokenlinkchecker.crawler.DfsFrontier;
+import com.unpar.brokenlinkchecker.crawler.DiskSpillingFrontier;
+import com.unpar.brokenlinkchecker.crawler.Frontier;
+import com.unpar.brokenlinkchecker.crawler.HashVisitedSet;
+import com.unpar.brokenlinkchecker.crawler.HostFailureCache;
+import com.unpar.brokenlinkchecker.crawler.HostScheduler;
+import com.unpar.brokenlinkchecker.crawler.HttpFetcher;
+import com.unpar.brokenlinkchecker.crawler.LinkChecker;
+import com.unpar.brokenlinkchecker.crawler.PageStore;
+import com.unpar.brokenlinkchecker.crawler.PriorityFrontier;
+import com.unpar.brokenlinkchecker.crawler.RequestBudget;
+import com.unpar.brokenlinkchecker.crawler.RetryPolicy;
+import com.unpar.brokenlinkchecker.crawler.RobotsCache;
+import com.unpar.brokenlinkchecker.crawler.SitemapReader;
+import com.unpar.brokenlinkchecker.crawler.StatusCache;
+import com.unpar.brokenlinkchecker.crawler.VisitedSet;
 import com.unpar.brokenlinkchecker.model.CrawlResult;
 import com.unpar.brokenlinkchecker.model.CrawledPage;
+import com.unpar.brokenlinkchecker.model.ExecutionStatus;
 import com.unpar.brokenlinkchecker.model.LinkResult;
+import com.unpar.brokenlinkchecker.model.LinkResultStore;
+import com.unpar.brokenlinkchecker.util.AnchorExtractor;
+import com.unpar.brokenlinkchecker.util.HashingInputStream;
 import com.unpar.brokenlinkchecker.util.HttpStatus;
-import javafx.application.Platform;
-import org.jsoup.HttpStatusException;
+import com.unpar.brokenlinkchecker.util.SizeLimitedInputStream;
+import com.unpar.brokenlinkchecker.util.UrlCanonicalizer;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class Service {
 
     // ===================== State kontrol =====================
     private volatile boolean stopRequested = false;
+    private volatile CrawlState currentState;
+    // Batas waktu dari stop() sampai hasil parsial dikirim lewat onComplete
+    private static final Duration STOP_GRACE = Duration.ofMillis(200);
+
+    // ===================== Konfigurasi =====================
+    // Batas global jumlah request pengecekan tautan yang berjalan bersamaan
+    private int maxConcurrentChecks = 32;
+    // Batas atas konkurensi per host (batas aktual diatur adaptif oleh HostScheduler)
+    private int maxConcurrentPerHost = 8;
+    // Jumlah fetcher halaman paralel pada pipeline crawling
+    private int fetcherCount = 8;
+    // Normalisasi URL sebelum masuk visited set/frontier dan sebelum dicek
+    private UrlCanonicalizer urlCanonicalizer = new UrlCanonicalizer();
+    // Implementasi visited set (HashSet biasa, atau FingerprintVisitedSet untuk crawl sangat besar)
+    private Supplier<VisitedSet> visitedSetFactory = HashVisitedSet::new;
+    // Batas entri frontier BFS/DFS di memori; 0 = tanpa batas (tidak ditumpahkan ke disk)
+    private int frontierMemoryLimit = 0;
+    private Path frontierSpillDirectory = Path.of(System.getProperty("java.io.tmpdir"), "brokenlinkchecker");
+    // File checkpoint untuk melanjutkan crawl yang terhenti; null = tanpa checkpoint
+    private Path checkpointFile = null;
+    private Duration checkpointInterval = Duration.ofSeconds(60);
+    // Ekstraksi anchor streaming (tanpa DOM); false = parse DOM penuh dengan jsoup
+    private boolean streamingExtraction = true;
+    // Batas byte body halaman yang dibaca untuk ekstraksi anchor; 0 = tanpa batas
+    private int maxPageBodySize = 2 * 1024 * 1024;
+    // Direktori PageStore untuk crawl ulang inkremental; null = selalu crawl penuh
+    private Path pageStoreDirectory = null;
+    // Patuhi robots.txt (Disallow & Crawl-delay) untuk halaman yang dicrawl
+    private boolean respectRobotsTxt = true;
+    private Duration robotsTxtTtl = RobotsCache.DEFAULT_TTL;
+    // Crawl-delay yang sangat besar dibatasi agar crawling tetap selesai
+    private static final Duration MAX_CRAWL_DELAY = Duration.ofSeconds(30);
+    // Isi frontier awal dari sitemap situs (robots.txt "Sitemap:" atau /sitemap.xml)
+    private boolean sitemapSeeding = false;
+    // URL sitemap dengan <lastmod> sebelum waktu ini tidak dijadikan seed; null = semua
+    private Instant sitemapModifiedSince = null;
+    private static final int MAX_SITEMAP_URLS = 200_000;
+    // Pengulangan pengecekan tautan yang gagal sementara (timeout, 429/503, dll.)
+    private RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    // Kegagalan koneksi berturut-turut sebelum host dianggap mati; 0 = circuit breaker mati
+    private int circuitBreakerThreshold = CircuitBreaker.DEFAULT_FAILURE_THRESHOLD;
+    // Lama kegagalan DNS/koneksi sebuah host diingat (tautan lain ke host itu gagal cepat)
+    private Duration hostFailureTtl = HostFailureCache.DEFAULT_TTL;
+    // Pengecek tautan yang dipakai bersama beberapa Service; null = dibuat baru per sesi
+    private LinkChecker sharedLinkChecker = null;
 
     // ===================== Callback (event) =====================
+    // Dipanggil langsung dari thread crawler / pengecekan tautan (bukan FX thread);
+    // UI yang perlu thread tertentu memindahkannya sendiri (mis. Platform.runLater).
     private Consumer<LinkResult> onLinkResult;
+    private Consumer<LinkResult> onLinkChecked;
     private Consumer<CrawledPage> onCrawledPage;
     private Consumer<CrawlResult> onComplete;
     private Consumer<String> onError;
@@ -35,16 +121,24 @@ public class Service {
     private Consumer<Integer> onTotalLinkUpdate;
     private Consumer<Integer> onBrokenLinkUpdate;
 
-    // ===================== HTTP Client =====================
-    private final HttpClient httpClient = HttpClient.newBuilder()
-            .followRedirects(HttpClient.Redirect.NORMAL)
-            .build();
+    // ===================== HTTP =====================
+    // Satu client bersama untuk fetch halaman & pengecekan tautan (pool koneksi yang sama)
+    private HttpFetcher httpFetcher = new HttpFetcher();
 
     // ===================== Setter callback =====================
     public void setOnLinkResult(Consumer<LinkResult> cb) {
         this.onLinkResult = cb;
     }
 
+    /**
+     * Dipanggil untuk setiap baris hasil, rusak maupun tidak: tautan yang selesai dicek dan
+     * halaman yang gagal dicrawl ("(page error)" / "(exception)"), sama dengan isi
+     * {@link CrawlResult#getAllLinks()}.
+     */
+    public void setOnLinkChecked(Consumer<LinkResult> cb) {
+        this.onLinkChecked = cb;
+    }
+
     public void setOnCrawledPage(Consumer<CrawledPage> cb) {
         this.onCrawledPage = cb;
     }
@@ -69,261 +163,1436 @@ public class Service {
         this.onBrokenLinkUpdate = cb;
     }
 
+    // ===================== Setter konfigurasi =====================
+    public void setMaxConcurrentChecks(int maxConcurrentChecks) {
+        if (maxConcurrentChecks < 1) {
+            throw new IllegalArgumentException("maxConcurrentChecks harus >= 1");
+        }
+        this.maxConcurrentChecks = maxConcurrentChecks;
+    }
+
+    public void setMaxConcurrentPerHost(int maxConcurrentPerHost) {
+        if (maxConcurrentPerHost < 1) {
+            throw new IllegalArgumentException("maxConcurrentPerHost harus >= 1");
+        }
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+    }
+
+    public void setFetcherCount(int fetcherCount) {
+        if (fetcherCount < 1) {
+            throw new IllegalArgumentException("fetcherCount harus >= 1");
+        }
+        this.fetcherCount = fetcherCount;
+    }
+
+    public void setUrlCanonicalizer(UrlCanonicalizer urlCanonicalizer) {
+        this.urlCanonicalizer = Objects.requireNonNull(urlCanonicalizer);
+    }
+
+    /**
+     * Memilih implementasi visited set, mis.
+     * {@code () -> new FingerprintVisitedSet(5_000_000, true, true)}.
+     */
+    public void setVisitedSetFactory(Supplier<VisitedSet> visitedSetFactory) {
+        this.visitedSetFactory = Objects.requireNonNull(visitedSetFactory);
+    }
+
+    /**
+     * Membatasi jumlah entri frontier BFS/DFS yang disimpan di memori; kelebihannya
+     * ditumpahkan ke file segmen di {@code spillDirectory}. Nilai 0 mematikan fitur ini.
+     */
+    public void setFrontierMemoryLimit(int maxInMemory, Path spillDirectory) {
+        if (maxInMemory != 0 && maxInMemory < 2) {
+            throw new IllegalArgumentException("maxInMemory harus 0 atau >= 2");
+        }
+        this.frontierMemoryLimit = maxInMemory;
+        this.frontierSpillDirectory = Objects.requireNonNull(spillDirectory);
+    }
+
+    /**
+     * Menyimpan checkpoint sesi crawling ke {@code file} setiap {@code interval} dan saat
+     * crawling dihentikan, sehingga bisa dilanjutkan lewat {@link #resumeCrawling(Path)}.
+     * Checkpoint dihapus bila crawling selesai normal. {@code file} null mematikan fitur ini.
+     */
+    public void setCheckpoint(Path file, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval checkpoint harus > 0");
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+    }
+
+    /**
+     * Batas waktu membuka koneksi dan membaca respons (header, serta body untuk halaman
+     * yang di-crawl). Berlaku untuk crawling berikutnya.
+     */
+    public void setTimeouts(Duration connectTimeout, Duration readTimeout) {
+        this.httpFetcher = new HttpFetcher(connectTimeout, readTimeout);
+    }
+
+    /**
+     * Mode ekstraksi anchor. Streaming (default) membaca body sambil datang dan mengeluarkan
+     * tautan tanpa membangun DOM; mode DOM memakai parser HTML5 jsoup penuh, lebih toleran
+     * terhadap markup yang sangat rusak tetapi memakan memori sebanding ukuran halaman.
+     */
+    public void setStreamingExtraction(boolean streamingExtraction) {
+        this.streamingExtraction = streamingExtraction;
+    }
+
+    /**
+     * Batas ukuran body halaman (byte) yang dibaca untuk mencari tautan; sisa body diabaikan.
+     * Nilai 0 berarti tanpa batas.
+     */
+    public void setMaxPageBodySize(int maxPageBodySize) {
+        if (maxPageBodySize < 0) {
+            throw new IllegalArgumentException("maxPageBodySize harus >= 0");
+        }
+        this.maxPageBodySize = maxPageBodySize;
+    }
+
+    /**
+     * Mengaktifkan crawl ulang inkremental: validator (ETag/Last-Modified), hash isi, dan
+     * tautan tiap halaman disimpan per situs di {@code directory}, lalu crawl berikutnya memakai
+     * request kondisional dan menggunakan ulang tautan halaman yang tidak berubah.
+     * {@code null} mematikan fitur ini.
+     */
+    public void setPageStoreDirectory(Path directory) {
+        this.pageStoreDirectory = directory;
+    }
+
+    /**
+     * Mematuhi robots.txt: URL yang dilarang tidak masuk visited set/frontier (tautannya
+     * tetap dicek), dan Crawl-delay menjadi jeda minimum per host. Aktif secara default.
+     */
+    public void setRespectRobotsTxt(boolean respectRobotsTxt) {
+        this.respectRobotsTxt = respectRobotsTxt;
+    }
+
+    /**
+     * Lama robots.txt sebuah host disimpan sebelum diambil ulang.
+     */
+    public void setRobotsTxtTtl(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl robots.txt harus > 0");
+        }
+        this.robotsTxtTtl = ttl;
+    }
+
+    /**
+     * Mengisi frontier dari sitemap situs sebelum crawling dimulai, sehingga fetcher paralel
+     * langsung punya banyak halaman untuk dikerjakan. Sitemap dicari dari baris "Sitemap:"
+     * di robots.txt, atau {@code /sitemap.xml} bila tidak ada. URL dengan {@code <lastmod>}
+     * terbaru didahulukan.
+     *
+     * @param modifiedSince URL yang {@code <lastmod>}-nya lebih lama dari ini tidak dijadikan
+     *                      seed (tetap dicrawl bila ditemukan lewat tautan); null = semua
+     */
+    public void setSitemapSeeding(boolean enabled, Instant modifiedSince) {
+        this.sitemapSeeding = enabled;
+        this.sitemapModifiedSince = modifiedSince;
+    }
+
+    /**
+     * Aturan pengulangan pengecekan tautan yang gagal sementara; {@link RetryPolicy#NONE}
+     * mematikan pengulangan.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
+    }
+
+    /**
+     * Jumlah kegagalan koneksi berturut-turut ke satu origin (skema + host + port) sebelum
+     * tautan lain ke origin itu langsung dilaporkan gagal tanpa menunggu timeout (lihat {@link CircuitBreaker}).
+     * 0 mematikan circuit breaker.
+     */
+    public void setCircuitBreakerThreshold(int failureThreshold) {
+        if (failureThreshold < 0) {
+            throw new IllegalArgumentException("failureThreshold tidak boleh negatif");
+        }
+        this.circuitBreakerThreshold = failureThreshold;
+    }
+
+    /**
+     * Lama host yang tidak ter-resolve atau menolak koneksi diingat sebagai gagal; selama itu
+     * tautan lain ke host tersebut langsung dilaporkan gagal dengan alasan yang sama.
+     */
+    public void setHostFailureTtl(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl kegagalan host harus > 0");
+        }
+        this.hostFailureTtl = ttl;
+    }
+
+    /**
+     * Memakai satu {@link LinkChecker} untuk setiap sesi crawling Service ini (dan Service lain
+     * yang diberi instance sama), sehingga cache status dan penjadwalan per host berlaku
+     * lintas situs. Konfigurasi pengecekan (konkurensi, timeout, retry, circuit breaker) milik
+     * pengecek tersebut, bukan milik Service ini. {@code null} kembali ke pengecek per sesi.
+     */
+    public void setSharedLinkChecker(LinkChecker linkChecker) {
+        this.sharedLinkChecker = linkChecker;
+    }
+
+    /**
+     * Pengecek tautan baru dari konfigurasi Service ini saat ini.
+     */
+    public LinkChecker createLinkChecker() {
+        return new LinkChecker(httpFetcher, maxConcurrentChecks, maxConcurrentPerHost, retryPolicy,
+                circuitBreakerThreshold, hostFailureTtl);
+    }
+
     // ===================== API kontrol =====================
-    public void startCrawling(String seedUrl, String algorithm) {
+    /**
+     * @return thread crawler; bisa di-join untuk menunggu crawling selesai (mis. mode headless)
+     */
+    public Thread startCrawling(String seedUrl, String algorithm) {
+        stopRequested = false;
+        Thread crawler = new Thread(() -> runCrawling(seedUrl, algorithm), "Crawler-Thread");
+        crawler.start();
+        return crawler;
+    }
+
+    /**
+     * Menjalankan crawling di thread pemanggil sampai selesai (boleh virtual thread, mis. pada
+     * {@link BatchCrawler}). Berbeda dengan {@link #startCrawling}, status stop tidak direset:
+     * {@link #stop()} yang sudah dipanggil sebelumnya langsung menghentikan crawling ini.
+     * Hasil tetap dikirim lewat callback.
+     */
+    public void runCrawling(String seedUrl, String algorithm) {
+        try {
+            Frontier frontier = createFrontier(algorithm);
+            if (frontier != null) {
+                crawl(seedUrl, algorithm, frontier);
+            } else {
+                emitError("Algoritma tidak dikenali: " + algorithm);
+            }
+        } catch (Exception ex) {
+            emitError("Kesalahan tidak terduga: " + ex.getClass().getSimpleName() + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Melanjutkan crawling dari checkpoint yang ditulis sesi sebelumnya (lihat {@link #setCheckpoint}).
+     * Hasil yang sudah tersimpan dikirim ulang ke callback, lalu crawling berlanjut dari frontier
+     * tersimpan. Checkpoint yang sama terus diperbarui selama sesi lanjutan berjalan.
+     *
+     * @return thread crawler; bisa di-join untuk menunggu crawling selesai
+     */
+    public Thread resumeCrawling(Path checkpointFile) {
         stopRequested = false;
-        new Thread(() -> {
+        Thread crawler = new Thread(() -> {
             try {
-                if ("DFS".equalsIgnoreCase(algorithm)) {
-                    crawlWithJsoupDfs(seedUrl);
-                } else if ("BFS".equalsIgnoreCase(algorithm)) {
-                    crawlWithJsoupBfs(seedUrl);
-                } else {
-                    emitError("Algoritma tidak dikenali: " + algorithm);
-                }
+                resume(new CrawlCheckpoint(checkpointFile));
+            } catch (IOException ex) {
+                emitError("Gagal membaca checkpoint: " + ex.getMessage());
             } catch (Exception ex) {
                 emitError("Kesalahan tidak terduga: " + ex.getClass().getSimpleName() + " - " + ex.getMessage());
             }
-        }, "Crawler-Thread").start();
+        }, "Crawler-Thread");
+        crawler.start();
+        return crawler;
     }
 
+    /**
+     * Menghentikan crawling seketika: fetch halaman & pengecekan tautan yang sedang berjalan
+     * dibatalkan (virtual thread-nya diinterupsi, koneksinya ditutup), lalu hasil parsial
+     * dikirim lewat {@code onComplete} dengan status {@link ExecutionStatus#STOPPED} dalam
+     * waktu sekitar 200 ms. Checkpoint (bila aktif) tetap ditulis.
+     */
     public void stop() {
         stopRequested = true;
+        CrawlState state = currentState;
+        if (state != null) state.cancel(STOP_GRACE);
+    }
+
+    // ===================== Statistik =====================
+    /**
+     * Jumlah pengecekan tautan yang dilayani dari cache status (termasuk yang
+     * bergabung ke pengecekan yang sedang berjalan) pada sesi crawling terakhir.
+     */
+    public long getStatusCacheHits() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.statusCache.getHits();
+    }
+
+    /**
+     * Jumlah URL unik yang benar-benar dicek lewat jaringan pada sesi crawling terakhir.
+     */
+    public long getStatusCacheMisses() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.statusCache.getMisses();
+    }
+
+    /**
+     * Jumlah tautan same-host yang tidak dicrawl karena dilarang robots.txt.
+     */
+    public long getRobotsDisallowedCount() {
+        CrawlState state = currentState;
+        return state == null || state.robots == null ? 0 : state.robots.getDisallowedCount();
+    }
+
+    /**
+     * Jumlah pengecekan tautan yang diulang karena gagal sementara.
+     */
+    public long getRetryCount() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.linkChecker.getRetryCount();
+    }
+
+    /**
+     * Jumlah pengecekan tautan yang langsung digagalkan karena host-nya dianggap mati.
+     */
+    public long getCircuitRejectedCount() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.linkChecker.getCircuitRejectedCount();
+    }
+
+    /**
+     * Jumlah pengecekan tautan yang tidak dikirim karena host-nya sudah tercatat gagal
+     * di-resolve / menolak koneksi.
+     */
+    public long getUnreachableHostSavedCount() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.linkChecker.getUnreachableHostSavedCount();
+    }
+
+    /**
+     * Jumlah halaman yang dimasukkan ke frontier langsung dari sitemap.
+     */
+    public int getSitemapSeededCount() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.sitemapSeeded;
+    }
+
+    /**
+     * Jumlah halaman yang tidak berubah sejak crawl sebelumnya (download & parsing dilewati).
+     */
+    public long getUnchangedPageCount() {
+        CrawlState state = currentState;
+        return state == null || state.pageStore == null ? 0 : state.pageStore.getReusedCount();
+    }
+
+    /**
+     * Jumlah tautan yang dicek ulang dengan GET ranged karena HEAD ditolak/menjawab error.
+     */
+    public long getHeadFallbackCount() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.linkChecker.getHeadFallbackCount();
+    }
+
+    /**
+     * Jumlah varian URL halaman (berbeda penulisan, sama bentuk kanoniknya) yang dilebur
+     * ke halaman yang sudah dikenal sehingga tidak di-fetch ulang, pada sesi crawling terakhir.
+     */
+    public long getCollapsedDuplicates() {
+        CrawlState state = currentState;
+        return state == null ? 0 : state.collapsedDuplicates.sum();
+    }
+
+    /**
+     * Perkiraan memori penyimpanan hasil tautan sesi crawling terakhir (byte).
+     */
+    public long getResultMemoryUsageBytes() {
+        CrawlState state = currentState;
+        if (state == null) return 0;
+        synchronized (state) {
+            return state.results.memoryUsageBytes();
+        }
+    }
+
+    /**
+     * Visited set milik sesi crawling terakhir (untuk membaca statistik ukuran & memori).
+     * Jangan diubah dari luar thread crawler.
+     */
+    public VisitedSet getVisitedSet() {
+        CrawlState state = currentState;
+        return state == null ? null : state.visitedPages;
     }
 
     // =========================================================
-    // =============== Implementasi BFS (iteratif) =============
+    // ================= Loop crawling (iteratif) ==============
     // =========================================================
-    private void crawlWithJsoupBfs(String seedUrl) {
-        ResultAccumulator acc = new ResultAccumulator();
+    /**
+     * Satu loop crawling untuk semua strategi; urutan halaman ditentukan oleh {@link Frontier}.
+     *
+     * Halaman di-fetch & di-parse paralel lewat {@link Pipeline}. Untuk frontier
+     * level-synchronous (BFS), level berikutnya baru diambil setelah level saat ini
+     * selesai, dan hasil diproses sesuai urutan frontier sehingga laporan tetap
+     * deterministik. Untuk frontier lain, hasil diproses begitu tiba dan halaman yang
+     * sedang diproses dibatasi sebanyak jumlah fetcher (dengan satu fetcher urutannya
+     * identik dengan versi serial).
+     */
+    private void crawl(String rawSeedUrl, String algorithm, Frontier frontier) throws IOException {
+        String seedUrl = urlCanonicalizer.canonicalize(rawSeedUrl);
+        CrawlState state = newCrawlState(seedUrl, algorithm, frontier, visitedSetFactory.get());
+        if (checkpointFile != null) {
+            state.checkpoint = new CrawlCheckpoint(checkpointFile);
+            state.checkpoint.delete(); // sisa sesi lama tidak boleh tercampur
+        }
+
+        state.visitedPages.add(seedUrl);
+        frontier.addAll(List.of(seedUrl), 0);
+        if (sitemapSeeding) {
+            // Pengambilan sitemap bisa lama: stop() menginterupsi thread ini selama tahap ini saja
+            state.setInterruptibleThread(Thread.currentThread());
+            try {
+                seedFromSitemaps(state);
+            } catch (InterruptedException e) {
+                // dihentikan; loop crawling di bawah langsung selesai dengan hasil parsial
+            } finally {
+                state.setInterruptibleThread(null);
+            }
+        }
+
+        runCrawl(state);
+    }
+
+    /**
+     * Memasukkan URL dari sitemap ke visited set & frontier sebagai halaman level 1
+     * (sejajar dengan tautan dari halaman seed). Hanya URL same-host yang diizinkan
+     * robots.txt yang dipakai; URL terbaru (menurut {@code <lastmod>}) masuk lebih dulu.
+     */
+    private void seedFromSitemaps(CrawlState state) throws InterruptedException {
+        String seedUrl = state.seedUrl;
         String seedHost = safeHost(seedUrl);
 
-        Set<String> visitedPages = new HashSet<>();
-        ArrayDeque<String> frontier = new ArrayDeque<>();
+        List<String> sitemapUrls = new ArrayList<>();
+        if (state.robots != null) {
+            sitemapUrls.addAll(state.robots.get(seedUrl).getSitemaps());
+        }
+        if (sitemapUrls.isEmpty()) {
+            URI seed = URI.create(seedUrl);
+            sitemapUrls.add(seed.getScheme() + "://" + seed.getRawAuthority() + "/sitemap.xml");
+        }
+
+        SitemapReader reader = new SitemapReader(state.httpFetcher, MAX_SITEMAP_URLS);
+        List<SitemapReader.Entry> entries = new ArrayList<>(reader.read(sitemapUrls));
+        // Terbaru dulu; tanpa <lastmod> di akhir (urutan asli dipertahankan, sort stabil)
+        entries.sort(Comparator.comparing(SitemapReader.Entry::lastModified,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        List<String> batch = new ArrayList<>();
+        for (SitemapReader.Entry e : entries) {
+            if (stopRequested) return;
+            if (sitemapModifiedSince != null && e.lastModified() != null
+                    && e.lastModified().isBefore(sitemapModifiedSince)) {
+                continue;
+            }
+            String url = urlCanonicalizer.canonicalize(e.url());
+            if (!safeHost(url).equalsIgnoreCase(seedHost) || (state.robots != null && !state.robots.isAllowed(url))) continue;
+            if (state.visitedPages.add(url)) {
+                state.frontier.onLinkDiscovered(url);
+                batch.add(url);
+            }
+        }
+        state.frontier.addAll(batch, 1);
+        // Sitemap yang gagal dibaca tidak dianggap error: crawling tetap berjalan dari seed
+        state.sitemapSeeded = batch.size();
+    }
 
-        visitedPages.add(seedUrl);
-        frontier.add(seedUrl);
+    /**
+     * Menyusun ulang state sesi dari checkpoint lalu melanjutkan loop crawling.
+     */
+    private void resume(CrawlCheckpoint checkpoint) throws IOException {
+        CrawlCheckpoint.Header header = checkpoint.readHeader();
+        Frontier frontier = createFrontier(header.algorithm());
+        if (frontier == null) {
+            throw new IOException("Algoritma tidak dikenali: " + header.algorithm());
+        }
 
-        AtomicInteger pageCount = new AtomicInteger(0);
-        AtomicInteger totalLinks = new AtomicInteger(0);
-        AtomicInteger brokenCount = new AtomicInteger(0);
+        CrawlState state;
+        List<CrawlCheckpoint.OpenPage> openPages = new ArrayList<>();
+        try {
+            state = newCrawlState(header.seedUrl(), header.algorithm(), frontier, visitedSetFactory.get());
+            state.checkpoint = checkpoint;
+            state.nextPageSeq = header.nextPageSeq();
+
+            // Halaman yang belum tuntas dicrawl ulang lebih dulu: untuk frontier level-synchronous
+            // dimasukkan sebelum isi frontier tersimpan, untuk frontier lain sesudahnya
+            boolean levelSync = frontier.isLevelSynchronous();
+            boolean[] openPagesAdded = {false};
+            checkpoint.restore(openPages,
+                    e -> {
+                        if (levelSync && !openPagesAdded[0]) {
+                            addOpenPages(frontier, openPages);
+                            openPagesAdded[0] = true;
+                        }
+                        frontier.addAll(List.of(e.url()), e.depth());
+                    },
+                    state.visitedPages);
+            if (!openPagesAdded[0]) {
+                addOpenPages(frontier, openPages);
+            }
+        } catch (IOException | RuntimeException ex) {
+            frontier.close();
+            throw ex;
+        }
 
-        while (!frontier.isEmpty() && !stopRequested) {
-            String currentUrl = frontier.poll();
-            LocalDateTime accessed = LocalDateTime.now();
+        Set<Integer> reopened = new HashSet<>();
+        for (CrawlCheckpoint.OpenPage p : openPages) {
+            reopened.add(p.pageSeq());
+        }
+        checkpoint.replayResults(header, record -> replayResult(state, record, reopened));
+        emitPageCount(state.pageCount.get());
+        emitTotal(state.totalLinks.get());
+        emitBroken(state.brokenCount.get());
 
-            try {
-                Document doc = Jsoup.connect(currentUrl)
-                        .timeout(10_000) // 10 detik (10000 == 10_000)
-                        .get();
+        runCrawl(state);
+    }
 
-                List<Element> anchors = doc.select("a[href]");
-                int pageLinkCount = 0;
+    /**
+     * BFS: urutan halaman dipertahankan. Frontier lain: dimasukkan terbalik agar halaman
+     * paling awal berada di puncak stack DFS.
+     */
+    private void addOpenPages(Frontier frontier, List<CrawlCheckpoint.OpenPage> openPages) {
+        List<CrawlCheckpoint.OpenPage> ordered = new ArrayList<>(openPages);
+        ordered.sort(Comparator.comparingInt(CrawlCheckpoint.OpenPage::pageSeq));
+        if (!frontier.isLevelSynchronous()) {
+            Collections.reverse(ordered);
+        }
+        for (CrawlCheckpoint.OpenPage p : ordered) {
+            frontier.addAll(List.of(p.entry().url()), p.entry().depth());
+        }
+    }
 
-                for (Element a : anchors) {
-                    if (stopRequested) break;
+    /**
+     * Mengembalikan satu hasil dari log checkpoint ke state sesi dan mengirimkannya ke UI.
+     * Hasil milik halaman yang akan dicrawl ulang dilewati.
+     */
+    private void replayResult(CrawlState state, CrawlCheckpoint.ResultRecord record, Set<Integer> reopened) {
+        switch (record) {
+            case CrawlCheckpoint.PageRecord p -> {
+                if (reopened.contains(p.pageSeq())) return;
+                if (p.errorLabel() != null) {
+                    state.results.add((long) p.pageSeq() << 32, p.url(), p.status(), p.url(), p.errorLabel());
+                    state.brokenCount.incrementAndGet();
+                    LinkResult lr = new LinkResult(p.url(), p.status(), p.url(), p.errorLabel());
+                    emitChecked(lr);
+                    emitLink(lr);
+                }
+                state.pageCount.incrementAndGet();
+                emitPage(new CrawledPage(p.url(), p.status(), p.linkCount(), p.accessed()));
+            }
+            case CrawlCheckpoint.LinkRecord l -> {
+                if (reopened.contains((int) (l.ordinal() >>> 32))) return;
+                state.results.add(l.ordinal(), l.href(), l.status(), l.sourcePage(), l.anchorText());
+                state.totalLinks.incrementAndGet();
+                state.statusCache.put(urlCanonicalizer.canonicalize(l.href()), l.status());
+                boolean broken = isBrokenStatus(l.status());
+                if (broken || onLinkChecked != null) {
+                    LinkResult lr = new LinkResult(l.href(), l.status(), l.sourcePage(), l.anchorText());
+                    emitChecked(lr);
+                    if (broken) {
+                        state.brokenCount.incrementAndGet();
+                        emitLink(lr);
+                    }
+                }
+            }
+        }
+    }
 
-                    String href = a.absUrl("href").trim();
-                    if (href.isEmpty() || href.startsWith("mailto:")) continue;
+    private void runCrawl(CrawlState state) {
+        Frontier frontier = state.frontier;
+        VisitedSet visitedPages = state.visitedPages;
+        boolean levelSync = frontier.isLevelSynchronous();
+
+        try (frontier; Pipeline pipeline = new Pipeline(state, safeHost(state.seedUrl))) {
+            state.attachPipeline(pipeline);
+            int window = levelSync ? pipeline.window : fetcherCount;
+
+            // Hasil yang datang tidak berurutan ditahan dulu (hanya untuk mode level-synchronous)
+            Map<Integer, ParsedPage> pending = new HashMap<>();
+            int nextCommitSeq = state.nextPageSeq;
+            int currentDepth = 0;
+            long nextCheckpointAt = System.nanoTime() + checkpointInterval.toNanos();
+
+            while (!stopRequested) {
+                Frontier.Entry next;
+                while (pipeline.inFlight() < window && (next = frontier.peek()) != null) {
+                    // Batas level: tunggu sampai seluruh halaman level saat ini selesai
+                    if (levelSync && pipeline.inFlight() > 0 && next.depth() > currentDepth) break;
+
+                    frontier.poll();
+                    currentDepth = next.depth();
+                    pipeline.dispatch(next);
+                }
+                if (pipeline.inFlight() == 0) break; // frontier kosong & tidak ada yang diproses
 
-                    // Halaman dengan host yang sama akan dicrawl
-                    String host = safeHost(href);
-                    boolean sameHost = host.equalsIgnoreCase(seedHost);
-                    if (sameHost && !visitedPages.contains(href)) {
-                        visitedPages.add(href);
-                        frontier.add(href);
+                ParsedPage page = pipeline.take();
+                if (page == null) break; // dihentikan
+                if (!levelSync) {
+                    commitPage(state, frontier, visitedPages, page);
+                } else {
+                    pending.put(page.pageSeq(), page);
+                    ParsedPage ready;
+                    while ((ready = pending.remove(nextCommitSeq)) != null) {
+                        commitPage(state, frontier, visitedPages, ready);
+                        nextCommitSeq++;
                     }
+                }
 
-                    // Cek status tautan (semua URL tetap dicek)
-                    String status = checkStatus(href); // "200 OK", "404 Not Found", atau "FAILED (...)"
-                    totalLinks.incrementAndGet();
-                    pageLinkCount++;
+                if (state.checkpoint != null && System.nanoTime() - nextCheckpointAt >= 0) {
+                    saveCheckpoint(state);
+                    nextCheckpointAt = System.nanoTime() + checkpointInterval.toNanos();
+                }
+            }
 
-                    LinkResult lr = new LinkResult(href, status, currentUrl, a.text());
-                    acc.allLinks.add(lr);
+            // Dihentikan: simpan posisi terakhir sebelum frontier & pipeline ditutup
+            if (stopRequested && state.checkpoint != null) {
+                saveCheckpoint(state);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
 
-                    if (isBrokenStatus(status)) {
-                        brokenCount.incrementAndGet();
-                        acc.brokenLinks.add(lr);
-                        emitLink(lr); // stream ke UI (Broken Links)
-                    }
+        finishCrawl(state);
+    }
+
+    /**
+     * Memproses satu halaman yang sudah selesai (dipanggil dari thread crawler):
+     * mencatat hasilnya lalu memasukkan tautan same-host yang baru ke frontier.
+     */
+    private void commitPage(CrawlState state, Frontier frontier, VisitedSet visitedPages, ParsedPage page) {
+        recordPage(state, page);
+
+        List<String> newLinks = new ArrayList<>();
+        for (PageLink link : page.sameHostLinks()) {
+            String href = link.url();
+            frontier.onLinkDiscovered(href);
+            if (visitedPages.add(href)) {
+                newLinks.add(href);
+            } else if (!href.equals(link.rawUrl()) && state.collapsedVariants.add(link.rawUrl())) {
+                // Varian penulisan baru dari halaman yang sudah dikenal: fetch ulang dihindari
+                state.collapsedDuplicates.increment();
+            }
+        }
+        frontier.addAll(newLinks, page.depth() + 1);
+        state.pageCommitted(page.pageSeq());
+    }
+
+    private Frontier createFrontier(String algorithm) throws IOException {
+        boolean spill = frontierMemoryLimit > 0;
+        if ("BFS".equalsIgnoreCase(algorithm)) {
+            return spill ? DiskSpillingFrontier.bfs(frontierMemoryLimit, frontierSpillDirectory) : new BfsFrontier();
+        }
+        if ("DFS".equalsIgnoreCase(algorithm)) {
+            return spill ? DiskSpillingFrontier.dfs(frontierMemoryLimit, frontierSpillDirectory) : new DfsFrontier();
+        }
+        if ("BEST".equalsIgnoreCase(algorithm)) return new PriorityFrontier(PriorityFrontier.Strategy.BROKEN_SECTION);
+        return null;
+    }
 
-                    emitTotal(totalLinks.get());
-                    emitBroken(brokenCount.get());
+    private CrawlState newCrawlState(String seedUrl, String algorithm, Frontier frontier, VisitedSet visitedPages) {
+        LinkChecker linkChecker = sharedLinkChecker != null ? sharedLinkChecker : createLinkChecker();
+        CrawlState state = new CrawlState(seedUrl, algorithm, maxConcurrentChecks, linkChecker, frontier, visitedPages);
+        if (respectRobotsTxt) {
+            state.robots = new RobotsCache(state.httpFetcher, robotsTxtTtl);
+            state.robots.setOnLoaded((host, robots) -> {
+                Duration delay = robots.getCrawlDelay();
+                if (delay != null) {
+                    state.hostScheduler.setMinInterval(host, delay.compareTo(MAX_CRAWL_DELAY) > 0 ? MAX_CRAWL_DELAY : delay);
                 }
+            });
+        }
+        if (pageStoreDirectory != null) {
+            try {
+                state.pageStore = PageStore.open(pageStoreDirectory, seedUrl);
+            } catch (IOException e) {
+                // Store tidak terbaca: crawl tetap berjalan penuh tanpa store
+                emitError("Gagal membaca data crawl sebelumnya: " + e.getMessage());
+            }
+        }
+        currentState = state;
+        return state;
+    }
 
-                // Emit data halaman yang berhasil dikunjungi
-                emitPage(new CrawledPage(currentUrl, HttpStatus.getReasonPhrase(200), pageLinkCount, accessed));
-                emitPageCount(pageCount.incrementAndGet());
+    private void finishCrawl(CrawlState state) {
+        if (stopRequested) {
+            // Task pengecekan sudah diinterupsi oleh stop(); tunggu sisa waktu yang tersedia saja
+            try {
+                state.checkExecutor.awaitTermination(state.remainingStopNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            // Tunggu seluruh task pengecekan tautan yang masih berjalan
+            state.checkExecutor.close();
+        }
 
-            } catch (HttpStatusException hse) {
-                String status = HttpStatus.getReasonPhrase(hse.getStatusCode());
-                // Halaman ini sendiri dianggap tautan rusak (gagal dicrawl)
-                LinkResult lr = new LinkResult(currentUrl, status, currentUrl, "(page error)");
-                acc.allLinks.add(lr);
-                acc.brokenLinks.add(lr);
-                brokenCount.incrementAndGet();
-                emitBroken(brokenCount.get());
-                emitLink(lr);
+        if (state.pageStore != null) {
+            try {
+                state.pageStore.save();
+            } catch (IOException e) {
+                emitError("Gagal menyimpan data crawl inkremental: " + e.getMessage());
+            }
+        }
 
-                emitPage(new CrawledPage(currentUrl, status, 0, accessed));
-                emitPageCount(pageCount.incrementAndGet());
+        if (!stopRequested && state.checkpoint != null) {
+            try {
+                state.checkpoint.delete(); // selesai normal: tidak ada yang perlu dilanjutkan
+            } catch (IOException e) {
+                emitError("Gagal menghapus checkpoint: " + e.getMessage());
+            }
+        }
+        emitComplete(state.toResult(stopRequested ? ExecutionStatus.STOPPED : ExecutionStatus.COMPLETED));
+    }
 
-            } catch (IOException ioe) {
-                String status = "FAILED (" + ioe.getClass().getSimpleName() + ")";
-                LinkResult lr = new LinkResult(currentUrl, status, currentUrl, "(exception)");
-                acc.allLinks.add(lr);
-                acc.brokenLinks.add(lr);
-                brokenCount.incrementAndGet();
-                emitBroken(brokenCount.get());
-                emitLink(lr);
+    /**
+     * Menulis checkpoint (dipanggil dari thread crawler, pemilik frontier & visited set).
+     *
+     * Halaman yang belum tuntas dicatat lebih dulu, baru hasil yang belum tersimpan diambil:
+     * halaman yang tuntas sesudah itu tetap dianggap belum tuntas dan dicrawl ulang saat
+     * dilanjutkan, sehingga tidak ada hasil yang hilang ataupun tercatat dua kali.
+     */
+    private void saveCheckpoint(CrawlState state) {
+        List<CrawlCheckpoint.OpenPage> openPages = new ArrayList<>();
+        state.openPages.forEach((seq, progress) -> openPages.add(new CrawlCheckpoint.OpenPage(seq, progress.entry)));
+
+        List<CrawlCheckpoint.ResultRecord> records;
+        synchronized (state) {
+            records = state.unsavedResults;
+            state.unsavedResults = new ArrayList<>();
+        }
 
-                emitPage(new CrawledPage(currentUrl, status, 0, accessed));
-                emitPageCount(pageCount.incrementAndGet());
+        try {
+            long logLength = state.checkpoint.appendResults(records);
+            state.checkpoint.write(
+                    new CrawlCheckpoint.Header(state.seedUrl, state.algorithm, state.visitedPages.getClass().getName(),
+                            state.nextPageSeq, logLength, Instant.now()),
+                    openPages, state.frontier, state.visitedPages);
+        } catch (IOException e) {
+            // Kembalikan hasil agar ikut ditulis pada checkpoint berikutnya
+            synchronized (state) {
+                records.addAll(state.unsavedResults);
+                state.unsavedResults = records;
             }
+            emitError("Gagal menyimpan checkpoint: " + e.getMessage());
         }
+    }
 
-        if (!stopRequested) {
-            emitComplete(new CrawlResult(acc.allLinks, pageCount.get(), totalLinks.get(), brokenCount.get()));
+    /**
+     * Mencatat satu halaman yang sudah selesai di-fetch & di-parse (dipanggil dari thread crawler).
+     */
+    private void recordPage(CrawlState state, ParsedPage page) {
+        String url = page.url();
+        if (page.errorLabel() != null) {
+            // Halaman ini sendiri dianggap tautan rusak (gagal dicrawl)
+            recordPageError(state, page.pageSeq(), new LinkResult(url, page.status(), url, page.errorLabel()));
+        }
+        if (state.checkpoint != null) {
+            synchronized (state) {
+                state.unsavedResults.add(new CrawlCheckpoint.PageRecord(page.pageSeq(), url, page.status(),
+                        page.errorLabel(), page.linkCount(), page.accessed()));
+            }
         }
+        emitPage(new CrawledPage(url, page.status(), page.linkCount(), page.accessed()));
+        emitPageCount(state.pageCount.incrementAndGet());
     }
 
     // =========================================================
-    // =============== Implementasi DFS (iteratif) =============
+    // ================= Pipeline fetch/parse/check =============
     // =========================================================
-    private void crawlWithJsoupDfs(String seedUrl) {
-        ResultAccumulator acc = new ResultAccumulator();
-        String seedHost = safeHost(seedUrl);
+    private record PageTask(String url, int depth, int pageSeq) {
+    }
 
-        Set<String> visitedPages = new HashSet<>();
-        Deque<String> stack = new ArrayDeque<>();
+    /**
+     * Hasil tahap fetch (mode DOM). {@code body} null bila halaman gagal, bukan HTML, atau
+     * tidak berubah ({@code unchanged} berisi tautan tersimpan); {@code charset} null berarti
+     * dideteksi jsoup dari dokumen; {@code validators} dicatat ke PageStore setelah parsing.
+     */
+    private record FetchedPage(PageTask task, LocalDateTime accessed, byte[] body, String charset, String baseUrl,
+                               String status, String errorLabel,
+                               PageStore.Entry unchanged, PageStore.Validators validators) {
+
+        static FetchedPage withoutBody(PageTask task, LocalDateTime accessed, String status, String errorLabel) {
+            return new FetchedPage(task, accessed, null, null, null, status, errorLabel, null, null);
+        }
 
-        visitedPages.add(seedUrl);
-        stack.push(seedUrl);
+        static FetchedPage unchanged(PageTask task, LocalDateTime accessed, String status, PageStore.Entry stored) {
+            return new FetchedPage(task, accessed, null, null, null, status, null, stored, null);
+        }
+    }
 
-        AtomicInteger pageCount = new AtomicInteger(0);
-        AtomicInteger totalLinks = new AtomicInteger(0);
-        AtomicInteger brokenCount = new AtomicInteger(0);
+    private record ParsedPage(String url, int depth, int pageSeq, LocalDateTime accessed,
+                              String status, String errorLabel, int linkCount, List<PageLink> sameHostLinks) {
+    }
 
-        while (!stack.isEmpty() && !stopRequested) {
-            String currentUrl = stack.pop();
-            LocalDateTime accessed = LocalDateTime.now();
+    /**
+     * Tautan same-host: URL mentah dari dokumen dan bentuk kanoniknya.
+     */
+    private record PageLink(String rawUrl, String url) {
+    }
+
+    /**
+     * Satu kemunculan tautan: {@code href} mentah untuk laporan, {@code checkUrl} kanonik untuk dicek.
+     */
+    private record LinkTask(long ordinal, String href, String checkUrl, String sourcePage, String anchorText) {
+    }
+
+    private static final LinkTask END_OF_LINKS = new LinkTask(-1, "", "", "", "");
+    private static final ParsedPage STOP_SIGNAL = new ParsedPage("", 0, -1, null, "", null, 0, List.of());
+
+    /**
+     * Pipeline bertahap untuk satu sesi crawling:
+     * <pre>
+     *  frontier → [fetchQueue] → fetcher (N) → [parseQueue] → parser (M) → [checkQueue] → dispatcher → link check
+     *                                                              └──────→ [results] → thread crawler
+     * </pre>
+     * Antar-tahap dihubungkan dengan antrian berbatas sehingga download halaman,
+     * parsing DOM, dan pengecekan tautan berjalan tumpang-tindih tanpa memakan memori
+     * tanpa batas. Frontier & visited set tetap hanya disentuh oleh thread crawler.
+     *
+     * Pada mode ekstraksi streaming, fetcher langsung mengekstrak anchor sambil body
+     * datang (tahap parser tidak dipakai), sehingga pengecekan tautan pertama sudah bisa
+     * dimulai sebelum halaman selesai diunduh.
+     */
+    private final class Pipeline implements AutoCloseable {
+        private static final int PARSE_QUEUE_CAPACITY = 32;
+        private static final int CHECK_QUEUE_CAPACITY = 1024;
+
+        final int window;
+
+        private final CrawlState state;
+        private final String seedHost;
+
+        private final BlockingQueue<PageTask> fetchQueue;
+        private final BlockingQueue<FetchedPage> parseQueue = new ArrayBlockingQueue<>(PARSE_QUEUE_CAPACITY);
+        private final BlockingQueue<LinkTask> checkQueue = new ArrayBlockingQueue<>(CHECK_QUEUE_CAPACITY);
+        private final BlockingQueue<ParsedPage> results = new LinkedBlockingQueue<>();
+
+        private final ExecutorService stageExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Thread dispatcher;
+
+        private int inFlight = 0;
+
+        Pipeline(CrawlState state, String seedHost) {
+            this.state = state;
+            this.seedHost = seedHost;
+            // Jumlah halaman yang boleh "dalam proses" sekaligus (sedang di-fetch/di-parse/antri)
+            this.window = fetcherCount * 2;
+            this.fetchQueue = new ArrayBlockingQueue<>(window);
+
+            for (int i = 0; i < fetcherCount; i++) {
+                stageExecutor.execute(this::fetchLoop);
+            }
+            if (!streamingExtraction) {
+                int parserCount = Math.max(1, Runtime.getRuntime().availableProcessors());
+                for (int i = 0; i < parserCount; i++) {
+                    stageExecutor.execute(this::parseLoop);
+                }
+            }
+            dispatcher = Thread.ofVirtual().name("Link-Check-Dispatcher").start(this::dispatchLoop);
+        }
+
+        int inFlight() {
+            return inFlight;
+        }
+
+        void dispatch(Frontier.Entry entry) throws InterruptedException {
+            int pageSeq = state.nextPageSeq++;
+            state.openPages.put(pageSeq, new PageProgress(entry));
+            fetchQueue.put(new PageTask(entry.url(), entry.depth(), pageSeq));
+            inFlight++;
+        }
+
+        /**
+         * @return halaman berikutnya yang selesai, atau null bila crawling dihentikan
+         */
+        ParsedPage take() throws InterruptedException {
+            ParsedPage page = results.take();
+            if (page == STOP_SIGNAL) return null;
+            inFlight--;
+            return page;
+        }
 
+        /**
+         * Dipanggil dari {@link #stop()}: menginterupsi fetcher/parser/dispatcher dan
+         * membangunkan thread crawler yang menunggu hasil.
+         */
+        void cancel() {
+            stageExecutor.shutdownNow();
+            dispatcher.interrupt();
+            results.add(STOP_SIGNAL);
+        }
+
+        // ---------- Tahap 1: fetch halaman ----------
+        private void fetchLoop() {
+            AnchorExtractor extractor = streamingExtraction ? new AnchorExtractor() : null;
             try {
-                Document doc = Jsoup.connect(currentUrl)
-                        .timeout(10_000)
-                        .get();
-
-                List<Element> anchors = doc.select("a[href]");
-                int pageLinkCount = 0;
-
-                // Untuk DFS yang lebih deterministik: iterasi dari belakang,
-                // sehingga urutan di stack mengikuti urutan muncul di dokumen.
-                ListIterator<Element> it = anchors.listIterator(anchors.size());
-                while (it.hasPrevious() && !stopRequested) {
-                    Element a = it.previous();
-
-                    String href = a.absUrl("href").trim();
-                    if (href.isEmpty() || href.startsWith("mailto:")) continue;
-
-                    String host = safeHost(href);
-                    boolean sameHost = host.equalsIgnoreCase(seedHost);
-                    if (sameHost && !visitedPages.contains(href)) {
-                        visitedPages.add(href);
-                        stack.push(href);
+                // Interupsi saat membaca body bisa "tertelan" menjadi IOException, jadi
+                // stopRequested juga dicek setelah setiap halaman
+                while (!stopRequested) {
+                    PageTask task = fetchQueue.take();
+                    if (extractor != null) {
+                        results.put(fetchAndExtract(task, extractor));
+                    } else {
+                        parseQueue.put(fetch(task));
                     }
+                }
+            } catch (InterruptedException ignored) {
+                // pipeline ditutup
+            }
+        }
 
-                    String status = checkStatus(href);
-                    totalLinks.incrementAndGet();
-                    pageLinkCount++;
+        /**
+         * GET halaman lewat {@link HttpFetcher} bersama, kondisional bila halaman tercatat di
+         * {@link PageStore}. Status halaman (termasuk 4xx/5xx) langsung masuk cache status,
+         * sehingga tautan ke halaman ini tidak perlu dicek ulang.
+         *
+         * Fetch halaman ikut dijadwalkan {@link HostScheduler} (jeda adaptif & Crawl-delay).
+         * Slot host dilepas begitu header diterima, agar pembacaan body yang mengantrikan
+         * tautan tidak menahan slot yang dibutuhkan pengecekan tautan ke host yang sama.
+         * Begitu pula jatah situs pada {@link RequestBudget} (batch job), bila aktif.
+         */
+        private HttpFetcher.PageResponse open(PageTask task, PageStore.Entry previous) throws IOException, InterruptedException {
+            String host = safeHost(task.url());
+            RequestBudget budget = state.linkChecker.getRequestBudget();
+            state.hostScheduler.acquire(host);
+            long start = System.nanoTime();
+            HostScheduler.Outcome outcome = HostScheduler.Outcome.ERROR;
+            HttpFetcher.PageResponse response;
+            try {
+                if (budget != null) budget.acquire(state.seedUrl);
+                try {
+                    start = System.nanoTime();
+                    response = state.httpFetcher.get(task.url(), previous == null ? null : previous.validators());
+                    outcome = HostScheduler.Outcome.fromStatusCode(response.statusCode());
+                } finally {
+                    if (budget != null) budget.release(state.seedUrl);
+                }
+            } catch (HttpTimeoutException e) {
+                outcome = HostScheduler.Outcome.TIMEOUT;
+                throw e;
+            } finally {
+                state.hostScheduler.release(host, System.nanoTime() - start, outcome);
+            }
 
-                    LinkResult lr = new LinkResult(href, status, currentUrl, a.text());
-                    acc.allLinks.add(lr);
+            String status = pageStatus(response);
+            state.statusCache.put(task.url(), status);
+            state.statusCache.put(urlCanonicalizer.canonicalize(response.finalUrl()), status);
+            return response;
+        }
 
-                    if (isBrokenStatus(status)) {
-                        brokenCount.incrementAndGet();
-                        acc.brokenLinks.add(lr);
-                        emitLink(lr);
-                    }
+        /**
+         * 304 Not Modified dilaporkan sebagai 200: halamannya ada dan isinya tidak berubah.
+         */
+        private static String pageStatus(HttpFetcher.PageResponse response) {
+            int code = response.statusCode();
+            return HttpStatus.getReasonPhrase(code == 304 ? 200 : code);
+        }
+
+        private static boolean isPageError(int code) {
+            return code >= 400;
+        }
+
+        private boolean isCrawlAllowed(String url) throws InterruptedException {
+            return state.robots == null || state.robots.isAllowed(url);
+        }
+
+        private PageStore.Entry storedEntry(PageTask task) {
+            return state.pageStore == null ? null : state.pageStore.get(task.url());
+        }
+
+        private FetchedPage fetch(PageTask task) throws InterruptedException {
+            LocalDateTime accessed = LocalDateTime.now();
+            if (stopRequested) {
+                return FetchedPage.withoutBody(task, accessed, "FAILED (Stopped)", "(exception)");
+            }
+            PageStore.Entry previous = storedEntry(task);
+            try (HttpFetcher.PageResponse response = open(task, previous)) {
+                String status = pageStatus(response);
+                if (previous != null && response.statusCode() == 304) {
+                    return FetchedPage.unchanged(task, accessed, status, previous);
+                }
+                if (isPageError(response.statusCode())) {
+                    return FetchedPage.withoutBody(task, accessed, status, "(page error)");
+                }
+                if (!response.isHtml() || response.statusCode() == 304) {
+                    // Bukan HTML (PDF, gambar, ...): status dicatat, tidak ada tautan yang dicari
+                    return FetchedPage.withoutBody(task, accessed, status, null);
+                }
+                // Baca body di tahap fetch, bukan di tahap parse
+                byte[] body = new SizeLimitedInputStream(response.body(), maxPageBodySize).readAllBytes();
+                PageStore.Validators validators = new PageStore.Validators(response.etag(), response.lastModified(),
+                        HashingInputStream.hash(body));
+                if (previous != null && previous.validators().contentHash() == validators.contentHash()) {
+                    // Server tidak mendukung request kondisional, tetapi isinya sama: parsing dilewati
+                    return FetchedPage.unchanged(task, accessed, status, new PageStore.Entry(validators, previous.links()));
+                }
+                Charset charset = response.charset();
+                return new FetchedPage(task, accessed, body, charset == null ? null : charset.name(),
+                        response.finalUrl(), status, null, null, validators);
+            } catch (IOException | RuntimeException ex) {
+                return FetchedPage.withoutBody(task, accessed, "FAILED (" + ex.getClass().getSimpleName() + ")", "(exception)");
+            }
+        }
+
+        /**
+         * Mode streaming: fetch lalu ekstraksi anchor langsung dari stream body,
+         * maksimal {@code maxPageBodySize} byte.
+         */
+        private ParsedPage fetchAndExtract(PageTask task, AnchorExtractor extractor) throws InterruptedException {
+            LocalDateTime accessed = LocalDateTime.now();
+            if (stopRequested) {
+                return pageWithoutLinks(task, accessed, "FAILED (Stopped)", "(exception)");
+            }
+
+            PageStore.Entry previous = storedEntry(task);
+            HttpFetcher.PageResponse response;
+            try {
+                response = open(task, previous);
+            } catch (IOException | RuntimeException ex) {
+                return pageWithoutLinks(task, accessed, "FAILED (" + ex.getClass().getSimpleName() + ")", "(exception)");
+            }
+
+            PageLinks links = new PageLinks(task);
+            String status = pageStatus(response);
+            try (response) {
+                if (previous != null && response.statusCode() == 304) {
+                    return reuseStored(task, accessed, status, previous);
+                }
+                if (isPageError(response.statusCode())) {
+                    return pageWithoutLinks(task, accessed, status, "(page error)");
+                }
+                if (!response.isHtml() || response.statusCode() == 304) {
+                    // Bukan HTML (PDF, gambar, ...): status dicatat, tidak ada tautan yang dicari
+                    return pageWithoutLinks(task, accessed, status, null);
+                }
+
+                // Tanpa charset di header, encoding dideteksi dari BOM / <meta> seperti jalur DOM
+                try (HashingInputStream body = new HashingInputStream(new SizeLimitedInputStream(response.body(), maxPageBodySize))) {
+                    extractor.extract(body, response.charset(), response.finalUrl(), (href, text) -> {
+                        if (!stopRequested) links.add(href, text);
+                    });
+                    remember(task, new PageStore.Validators(response.etag(), response.lastModified(), body.hash()), links);
+                }
+            } catch (IOException | RuntimeException ex) {
+                // Body terputus di tengah jalan: tautan yang sudah terlanjur dicek tetap dilaporkan
+                markParsed(task.pageSeq());
+                return new ParsedPage(task.url(), task.depth(), task.pageSeq(), accessed,
+                        "FAILED (" + ex.getClass().getSimpleName() + ")", "(exception)", links.count, links.sameHost);
+            }
+
+            markParsed(task.pageSeq());
+            return new ParsedPage(task.url(), task.depth(), task.pageSeq(), accessed,
+                    status, null, links.count, links.sameHost);
+        }
+
+        private ParsedPage pageWithoutLinks(PageTask task, LocalDateTime accessed, String status, String errorLabel) {
+            markParsed(task.pageSeq());
+            return new ParsedPage(task.url(), task.depth(), task.pageSeq(), accessed, status, errorLabel, 0, List.of());
+        }
+
+        /**
+         * Halaman tidak berubah sejak crawl sebelumnya: tautan tersimpan dipakai ulang
+         * (tetap dicek statusnya) tanpa download & parsing.
+         */
+        private ParsedPage reuseStored(PageTask task, LocalDateTime accessed, String status, PageStore.Entry entry)
+                throws InterruptedException {
+            PageLinks links = new PageLinks(task);
+            for (PageStore.StoredLink l : entry.links()) {
+                if (stopRequested) break;
+                links.add(l.href(), l.anchorText());
+            }
+            state.pageStore.markReused();
+            remember(task, entry.validators(), links);
+
+            markParsed(task.pageSeq());
+            return new ParsedPage(task.url(), task.depth(), task.pageSeq(), accessed,
+                    status, null, links.count, links.sameHost);
+        }
+
+        /**
+         * Mencatat validator & tautan halaman ke {@link PageStore} untuk crawl berikutnya.
+         * Halaman yang terpotong karena crawling dihentikan tidak dicatat.
+         */
+        private void remember(PageTask task, PageStore.Validators validators, PageLinks links) {
+            if (state.pageStore != null && !stopRequested) {
+                state.pageStore.put(task.url(), new PageStore.Entry(validators, List.copyOf(links.stored)));
+            }
+        }
 
-                    emitTotal(totalLinks.get());
-                    emitBroken(brokenCount.get());
+        // ---------- Tahap 2: parse & ekstraksi anchor ----------
+        private void parseLoop() {
+            try {
+                while (!stopRequested) {
+                    FetchedPage fetched = parseQueue.take();
+                    results.put(parse(fetched));
                 }
+            } catch (InterruptedException ignored) {
+                // pipeline ditutup
+            }
+        }
+
+        private ParsedPage parse(FetchedPage fetched) throws InterruptedException {
+            PageTask task = fetched.task();
+            String url = task.url();
+
+            if (fetched.unchanged() != null) {
+                return reuseStored(task, fetched.accessed(), fetched.status(), fetched.unchanged());
+            }
+            if (fetched.body() == null) {
+                markParsed(task.pageSeq());
+                return new ParsedPage(url, task.depth(), task.pageSeq(), fetched.accessed(),
+                        fetched.status(), fetched.errorLabel(), 0, List.of());
+            }
+
+            Document doc;
+            try {
+                doc = Jsoup.parse(new ByteArrayInputStream(fetched.body()), fetched.charset(), fetched.baseUrl());
+            } catch (IOException | RuntimeException ex) {
+                markParsed(task.pageSeq());
+                return new ParsedPage(url, task.depth(), task.pageSeq(), fetched.accessed(),
+                        "FAILED (" + ex.getClass().getSimpleName() + ")", "(exception)", 0, List.of());
+            }
+
+            PageLinks links = new PageLinks(task);
+            for (Element a : doc.select("a[href]")) {
+                if (stopRequested) break;
+                links.add(a.absUrl("href"), a.text());
+            }
+            remember(task, fetched.validators(), links);
+
+            markParsed(task.pageSeq());
+            return new ParsedPage(url, task.depth(), task.pageSeq(), fetched.accessed(),
+                    fetched.status(), null, links.count, links.sameHost);
+        }
+
+        /**
+         * Tautan yang ditemukan pada satu halaman; setiap tautan langsung diantrikan untuk dicek.
+         */
+        private final class PageLinks {
+            private final PageTask task;
+            final List<PageLink> sameHost = new ArrayList<>();
+            // Salinan untuk PageStore (hanya bila crawl inkremental aktif)
+            final List<PageStore.StoredLink> stored = state.pageStore != null ? new ArrayList<>() : List.of();
+            int count = 0;
+
+            PageLinks(PageTask task) {
+                this.task = task;
+            }
+
+            void add(String absHref, String anchorText) throws InterruptedException {
+                String href = absHref.trim();
+                if (href.isEmpty() || href.startsWith("mailto:")) return;
+                if (state.pageStore != null) stored.add(new PageStore.StoredLink(href, anchorText));
 
-                emitPage(new CrawledPage(currentUrl, HttpStatus.getReasonPhrase(200), pageLinkCount, accessed));
-                emitPageCount(pageCount.incrementAndGet());
+                // Bentuk kanonik dipakai untuk dedup halaman & cache status
+                String canonical = urlCanonicalizer.canonicalize(href);
 
-            } catch (HttpStatusException hse) {
-                String status = HttpStatus.getReasonPhrase(hse.getStatusCode());
-                LinkResult lr = new LinkResult(currentUrl, status, currentUrl, "(page error)");
-                acc.allLinks.add(lr);
-                acc.brokenLinks.add(lr);
-                brokenCount.incrementAndGet();
-                emitBroken(brokenCount.get());
-                emitLink(lr);
+                // Halaman dengan host yang sama akan dicrawl (dedup dilakukan di thread crawler),
+                // kecuali dilarang robots.txt; tautannya sendiri tetap dicek
+                if (safeHost(canonical).equalsIgnoreCase(seedHost) && isCrawlAllowed(canonical)) {
+                    sameHost.add(new PageLink(href, canonical));
+                }
 
-                emitPage(new CrawledPage(currentUrl, status, 0, accessed));
-                emitPageCount(pageCount.incrementAndGet());
+                // Cek status tautan (semua URL tetap dicek) lewat tahap pengecekan
+                count++;
+                long ordinal = ((long) task.pageSeq() << 32) | count;
+                state.openPages.get(task.pageSeq()).linkQueued();
+                checkQueue.put(new LinkTask(ordinal, href, canonical, task.url(), anchorText));
+            }
+        }
 
-            } catch (IOException ioe) {
-                String status = "FAILED (" + ioe.getClass().getSimpleName() + ")";
-                LinkResult lr = new LinkResult(currentUrl, status, currentUrl, "(exception)");
-                acc.allLinks.add(lr);
-                acc.brokenLinks.add(lr);
-                brokenCount.incrementAndGet();
-                emitBroken(brokenCount.get());
-                emitLink(lr);
+        /**
+         * Halaman yang diproses saat crawling dihentikan bisa jadi terpotong (atau hanya berisi
+         * status "Stopped"), jadi tidak ditandai selesai dan akan dicrawl ulang saat dilanjutkan.
+         */
+        private void markParsed(int pageSeq) {
+            if (!stopRequested) {
+                state.pageParsed(pageSeq);
+            }
+        }
 
-                emitPage(new CrawledPage(currentUrl, status, 0, accessed));
-                emitPageCount(pageCount.incrementAndGet());
+        // ---------- Tahap 3: pengecekan tautan ----------
+        private void dispatchLoop() {
+            try {
+                while (!stopRequested) {
+                    LinkTask task = checkQueue.take();
+                    if (task == END_OF_LINKS) return;
+                    submitLinkCheck(state, task);
+                }
+            } catch (InterruptedException ignored) {
+                // pipeline ditutup
             }
         }
 
-        if (!stopRequested) {
-            emitComplete(new CrawlResult(acc.allLinks, pageCount.get(), totalLinks.get(), brokenCount.get()));
+        /**
+         * Menghentikan tahap fetch & parse, lalu membiarkan dispatcher menghabiskan
+         * sisa antrian pengecekan tautan sebelum berhenti. Bila crawling dihentikan,
+         * sisa antrian dibuang dan penantian dibatasi sisa waktu {@code STOP_GRACE}.
+         */
+        @Override
+        public void close() {
+            stageExecutor.shutdownNow();
+            try {
+                if (stopRequested) {
+                    dispatcher.interrupt();
+                    stageExecutor.awaitTermination(state.remainingStopNanos(), TimeUnit.NANOSECONDS);
+                    dispatcher.join(Duration.ofNanos(state.remainingStopNanos()));
+                    return;
+                }
+                stageExecutor.awaitTermination(15, TimeUnit.SECONDS);
+                checkQueue.put(END_OF_LINKS);
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                dispatcher.interrupt();
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
     // =========================================================
     // ========================= Helper ========================
     // =========================================================
-    private static final class ResultAccumulator {
-        final List<LinkResult> allLinks = new ArrayList<>();
-        final List<LinkResult> brokenLinks = new ArrayList<>();
+    /**
+     * State milik satu sesi crawling: hasil, counter, serta executor virtual thread
+     * untuk pengecekan tautan. Akses ke {@code results} disinkronkan pada objek ini
+     * karena hasil datang dari banyak thread sekaligus.
+     */
+    private static final class CrawlState {
+        // Setiap kemunculan tautan beserta posisinya (urutan halaman, urutan anchor), agar
+        // laporan tetap deterministik walaupun hasil pengecekan datang tidak berurutan
+        final LinkResultStore results = new LinkResultStore();
+        // true setelah toResult(); task pengecekan yang terlambat selesai (saat stop) diabaikan
+        boolean resultPublished = false;
+        final AtomicInteger pageCount = new AtomicInteger(0);
+        final AtomicInteger totalLinks = new AtomicInteger(0);
+        final AtomicInteger brokenCount = new AtomicInteger(0);
+
+        final ExecutorService checkExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        // Membatasi jumlah task pengecekan yang sudah dibuat tetapi belum selesai
+        final Semaphore checkBacklog;
+        // Pengecekan tautan beserta penjadwal host, cache status, retry & circuit breaker
+        final LinkChecker linkChecker;
+        final HostScheduler hostScheduler;
+        final StatusCache statusCache;
+        // Client HTTP yang dipakai sepanjang sesi (pengaturan timeout saat crawling berjalan tidak ikut berubah)
+        final HttpFetcher httpFetcher;
+        // Data crawl sebelumnya untuk crawl ulang inkremental (null = tidak aktif)
+        PageStore pageStore;
+        // robots.txt per host (null = tidak dipatuhi)
+        RobotsCache robots;
+        // Jumlah halaman yang dijadikan seed dari sitemap
+        volatile int sitemapSeeded;
+        final Frontier frontier;
+        // Hanya disentuh thread crawler
+        final VisitedSet visitedPages;
+        final Set<String> collapsedVariants = new HashSet<>();
+        final LongAdder collapsedDuplicates = new LongAdder();
+
+        // ---------- Checkpoint ----------
+        final String seedUrl;
+        final String algorithm;
+        // Nomor urut halaman berikutnya (hanya disentuh thread crawler)
+        int nextPageSeq = 0;
+        // Halaman yang sudah diambil dari frontier tetapi belum tuntas, per nomor urut halaman
+        final Map<Integer, PageProgress> openPages = new ConcurrentHashMap<>();
+        // Hasil yang belum ditulis ke log checkpoint (dijaga oleh lock objek ini)
+        List<CrawlCheckpoint.ResultRecord> unsavedResults = new ArrayList<>();
+        CrawlCheckpoint checkpoint;
+
+        CrawlState(String seedUrl, String algorithm, int maxConcurrentChecks, LinkChecker linkChecker,
+                   Frontier frontier, VisitedSet visitedPages) {
+            this.seedUrl = seedUrl;
+            this.algorithm = algorithm;
+            this.frontier = frontier;
+            this.visitedPages = visitedPages;
+            this.checkBacklog = new Semaphore(maxConcurrentChecks * 4);
+            this.linkChecker = linkChecker;
+            this.hostScheduler = linkChecker.getHostScheduler();
+            this.statusCache = linkChecker.getStatusCache();
+            this.httpFetcher = linkChecker.getFetcher();
+        }
+
+        // ---------- Pembatalan ----------
+        private final Object cancelLock = new Object();
+        private Pipeline pipeline;
+        private Thread interruptibleThread;
+        private boolean cancelled;
+        private volatile long stopDeadlineNanos;
+
+        /**
+         * Membatalkan semua pekerjaan yang sedang berjalan (dipanggil dari {@link #stop()}).
+         */
+        void cancel(Duration grace) {
+            synchronized (cancelLock) {
+                if (cancelled) return;
+                cancelled = true;
+                stopDeadlineNanos = System.nanoTime() + grace.toNanos();
+                if (pipeline != null) pipeline.cancel();
+                if (interruptibleThread != null) interruptibleThread.interrupt();
+            }
+            // Menginterupsi semua virtual thread pengecekan; HttpClient membatalkan request-nya
+            checkExecutor.shutdownNow();
+        }
+
+        void attachPipeline(Pipeline p) {
+            synchronized (cancelLock) {
+                pipeline = p;
+                if (cancelled) p.cancel();
+            }
+        }
+
+        /**
+         * Thread yang boleh diinterupsi oleh stop() (null = tidak ada). Interupsi yang
+         * terlambat datang dibersihkan agar tidak mengganggu I/O file sesudahnya.
+         */
+        void setInterruptibleThread(Thread t) {
+            synchronized (cancelLock) {
+                interruptibleThread = t;
+            }
+            if (t == null) Thread.interrupted();
+        }
+
+        long remainingStopNanos() {
+            return Math.max(0, stopDeadlineNanos - System.nanoTime());
+        }
+
+        /**
+         * Hasil akhir sesi. {@link CrawlResult} membaca {@link #results} secara lazy, jadi
+         * setelah ini tidak ada lagi yang boleh ditulis ke sana: saat stop, task pengecekan
+         * yang masih berjalan melewati batas tunggu finishCrawl dan hasilnya dibuang.
+         */
+        synchronized CrawlResult toResult(ExecutionStatus status) {
+            resultPublished = true;
+            return new CrawlResult(results.sortedView(), pageCount.get(), totalLinks.get(), brokenCount.get(), status);
+        }
+
+        void pageParsed(int pageSeq) {
+            PageProgress p = openPages.get(pageSeq);
+            if (p != null && p.markParsed()) openPages.remove(pageSeq);
+        }
+
+        void pageCommitted(int pageSeq) {
+            PageProgress p = openPages.get(pageSeq);
+            if (p != null && p.markCommitted()) openPages.remove(pageSeq);
+        }
+
+        void linkChecked(long ordinal) {
+            int pageSeq = (int) (ordinal >>> 32);
+            PageProgress p = openPages.get(pageSeq);
+            if (p != null && p.linkDone()) openPages.remove(pageSeq);
+        }
     }
 
-    private String checkStatus(String url) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
-                    .build();
+    /**
+     * Kemajuan satu halaman: tuntas bila sudah di-parse utuh, sudah di-commit oleh thread
+     * crawler, dan seluruh tautannya sudah dicek. Hanya halaman tuntas yang hasilnya
+     * dianggap final oleh checkpoint.
+     */
+    private static final class PageProgress {
+        final Frontier.Entry entry;
+        private int pendingChecks = 0;
+        private boolean parsed = false;
+        private boolean committed = false;
+
+        PageProgress(Frontier.Entry entry) {
+            this.entry = entry;
+        }
 
-            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
-            int code = response.statusCode();
+        synchronized void linkQueued() {
+            pendingChecks++;
+        }
 
-            // Kembalikan format konsisten, mis. "200 OK", "404 Not Found"
-            return HttpStatus.getReasonPhrase(code);
+        synchronized boolean linkDone() {
+            pendingChecks--;
+            return isDone();
+        }
 
-        } catch (Exception ex) {
-            // Saat gagal (DNS/SSL/timeout, dll.), tandai FAILED.
-            return "FAILED (" + ex.getClass().getSimpleName() + ")";
-        } finally {
-            // Rate limit kecil untuk sopan ke server & meredam lonjakan request
-            try {
-                Thread.sleep(300);
-            } catch (InterruptedException ignored) {
+        synchronized boolean markParsed() {
+            parsed = true;
+            return isDone();
+        }
+
+        synchronized boolean markCommitted() {
+            committed = true;
+            return isDone();
+        }
+
+        private boolean isDone() {
+            return parsed && committed && pendingChecks == 0;
+        }
+    }
+
+    /**
+     * Menjadwalkan pengecekan satu tautan sebagai task tersendiri (virtual thread).
+     * {@code checkBacklog} membatasi jumlah task yang antri/berjalan untuk sesi ini (menahan
+     * parser bila pengecekan tertinggal); jumlah request yang benar-benar berjalan dibatasi
+     * oleh izin global {@link LinkChecker} (bersama semua sesi yang memakai checker itu),
+     * sehingga throughput naik seiring batas konkurensi, bukan terkunci di ~3 tautan/detik.
+     */
+    private void submitLinkCheck(CrawlState state, LinkTask task) throws InterruptedException {
+        state.checkBacklog.acquire();
+        try {
+            state.checkExecutor.execute(() -> {
+                try {
+                    runLinkCheck(state, task);
+                } finally {
+                    state.checkBacklog.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Executor sudah dihentikan oleh stop()
+            state.checkBacklog.release();
+        }
+    }
+
+    private void runLinkCheck(CrawlState state, LinkTask task) {
+        if (stopRequested) return;
+
+        // Tiap URL unik hanya dicek sekali; kemunculan berikutnya memakai hasil cache,
+        // tetapi tetap menghasilkan LinkResult sendiri (sourcePage & anchor text masing-masing)
+        String status = state.linkChecker.check(task.checkUrl(), safeHost(task.checkUrl()), state.seedUrl); // "200 OK", "404 Not Found", atau "FAILED (...)"
+        if (status == null) return; // dibatalkan
+
+        boolean broken = isBrokenStatus(status);
+        state.frontier.onLinkChecked(task.sourcePage(), broken);
+        // Objek LinkResult hanya dibuat bila ada yang menerimanya (tautan rusak / onLinkChecked)
+        LinkResult lr = broken || onLinkChecked != null
+                ? new LinkResult(task.href(), status, task.sourcePage(), task.anchorText())
+                : null;
+
+        // Rekam & emit di dalam blok sinkron agar urutan counter ke UI tetap monoton
+        synchronized (state) {
+            if (state.resultPublished) return;
+            state.results.add(task.ordinal(), task.href(), status, task.sourcePage(), task.anchorText());
+            if (state.checkpoint != null) {
+                state.unsavedResults.add(new CrawlCheckpoint.LinkRecord(task.ordinal(), task.href(), status,
+                        task.sourcePage(), task.anchorText()));
             }
+            int total = state.totalLinks.incrementAndGet();
+            if (lr != null) emitChecked(lr);
+            if (broken) {
+                state.brokenCount.incrementAndGet();
+                emitLink(lr); // stream ke UI (Broken Links)
+            }
+            emitTotal(total);
+            emitBroken(state.brokenCount.get());
         }
+        state.linkChecked(task.ordinal());
     }
 
-    private boolean isBrokenStatus(String status) {
+    /**
+     * Mencatat halaman yang gagal dicrawl sebagai tautan rusak.
+     */
+    private void recordPageError(CrawlState state, int pageSeq, LinkResult lr) {
+        synchronized (state) {
+            if (state.resultPublished) return;
+            state.results.add((long) pageSeq << 32, lr.getBrokenUrl(), lr.getStatus(), lr.getSourcePage(), lr.getAnchorText());
+            emitBroken(state.brokenCount.incrementAndGet());
+            emitChecked(lr);
+            emitLink(lr);
+        }
+    }
+
+    static boolean isBrokenStatus(String status) {
         // String status selalu diawali kode jika sukses (4xx/5xx terdeteksi),
         // atau "FAILED (...)" jika exception.
         return status.startsWith("4") || status.startsWith("5") || status.startsWith("FAILED");
     }
 
-    private String safeHost(String url) {
+    static String safeHost(String url) {
         try {
             URI u = new URI(url);
             String h = u.getHost();
@@ -333,32 +1602,36 @@ public class Service {
         }
     }
 
-    // ===================== Emitters (JavaFX thread) =====================
+    // ===================== Emitters =====================
     private void emitLink(LinkResult lr) {
-        if (onLinkResult != null) Platform.runLater(() -> onLinkResult.accept(lr));
+        if (onLinkResult != null) onLinkResult.accept(lr);
+    }
+
+    private void emitChecked(LinkResult lr) {
+        if (onLinkChecked != null) onLinkChecked.accept(lr);
     }
 
     private void emitPage(CrawledPage cp) {
-        if (onCrawledPage != null) Platform.runLater(() -> onCrawledPage.accept(cp));
+        if (onCrawledPage != null) onCrawledPage.accept(cp);
     }
 
     private void emitComplete(CrawlResult cr) {
-        if (onComplete != null) Platform.runLater(() -> onComplete.accept(cr));
+        if (onComplete != null) onComplete.accept(cr);
     }
 
     private void emitError(String msg) {
-        if (onError != null) Platform.runLater(() -> onError.accept(msg));
+        if (onError != null) onError.accept(msg);
     }
 
     private void emitPageCount(int n) {
-        if (onPageCountUpdate != null) Platform.runLater(() -> onPageCountUpdate.accept(n));
+        if (onPageCountUpdate != null) onPageCountUpdate.accept(n);
     }
 
     private void emitTotal(int n) {
-        if (onTotalLinkUpdate != null) Platform.runLater(() -> onTotalLinkUpdate.accept(n));
+        if (onTotalLinkUpdate != null) onTotalLinkUpdate.accept(n);
     }
 
     private void emitBroken(int n) {
-        if (onBrokenLinkUpdate != null) Platform.runLater(() -> onBrokenLinkUpdate.accept(n));
+        if (onBrokenLinkUpdate != null) onBrokenLinkUpdate.accept(n);
     }
 }
@@ -0,0 +1,151 @@
+package com.unpar.brokenlinkchecker;
+
+import com.unpar.brokenlinkchecker.model.CrawledPage;
+import com.unpar.brokenlinkchecker.model.LinkResult;
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Menampung event dari thread crawler dan menyalurkannya ke FX thread secara berkelompok,
+ * sekali per frame lewat {@link AnimationTimer}, sebagai ganti satu Platform.runLater per event.
+ *
+ * - Counter (halaman, tautan, tautan rusak) disimpan sebagai nilai terakhir saja; label
+ *   hanya diperbarui bila nilainya berubah sejak frame sebelumnya.
+ * - Hasil tautan & halaman diantrikan lalu dikirim per potongan (maks. {@link #MAX_ITEMS_PER_FRAME}
+ *   per jenis per frame), sehingga kerja FX thread tiap frame tetap terbatas berapa pun
+ *   cepatnya crawling.
+ * - Aksi akhir (selesai / error) dijalankan setelah seluruh hasil yang sudah antri tersalurkan.
+ *
+ * Method add/set/runAfterDrain aman dipanggil dari thread mana pun; callback selalu di FX thread.
+ */
+public class UiUpdateBatcher {
+
+    private static final int MAX_ITEMS_PER_FRAME = 1000;
+
+    private final Queue<LinkResult> pendingLinks = new ConcurrentLinkedQueue<>();
+    private final Queue<CrawledPage> pendingPages = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> afterDrain = new ConcurrentLinkedQueue<>();
+
+    private final Counter pageCount;
+    private final Counter totalLinks;
+    private final Counter brokenLinks;
+
+    private final Consumer<List<LinkResult>> onLinks;
+    private final Consumer<List<CrawledPage>> onPages;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flush();
+        }
+    };
+
+    public UiUpdateBatcher(Consumer<List<LinkResult>> onLinks,
+                           Consumer<List<CrawledPage>> onPages,
+                           IntConsumer onPageCount,
+                           IntConsumer onTotalLinks,
+                           IntConsumer onBrokenLinks) {
+        this.onLinks = onLinks;
+        this.onPages = onPages;
+        this.pageCount = new Counter(onPageCount);
+        this.totalLinks = new Counter(onTotalLinks);
+        this.brokenLinks = new Counter(onBrokenLinks);
+    }
+
+    // ===================== Siklus hidup (FX thread) =====================
+    public void start() {
+        timer.start();
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+
+    // ===================== Producer (thread mana pun) =====================
+    public void addLink(LinkResult lr) {
+        pendingLinks.add(lr);
+    }
+
+    public void addPage(CrawledPage page) {
+        pendingPages.add(page);
+    }
+
+    public void setPageCount(int n) {
+        pageCount.set(n);
+    }
+
+    public void setTotalLinks(int n) {
+        totalLinks.set(n);
+    }
+
+    public void setBrokenLinks(int n) {
+        brokenLinks.set(n);
+    }
+
+    /**
+     * Menjalankan {@code action} di FX thread setelah semua hasil yang antri saat ini tersalurkan.
+     */
+    public void runAfterDrain(Runnable action) {
+        afterDrain.add(action);
+    }
+
+    // ===================== Penyaluran per frame =====================
+    private void flush() {
+        drain(pendingLinks, onLinks);
+        drain(pendingPages, onPages);
+
+        pageCount.publish();
+        totalLinks.publish();
+        brokenLinks.publish();
+
+        if (pendingLinks.isEmpty() && pendingPages.isEmpty()) {
+            Runnable action;
+            while ((action = afterDrain.poll()) != null) {
+                action.run();
+            }
+        }
+    }
+
+    private static <T> void drain(Queue<T> queue, Consumer<List<T>> sink) {
+        if (queue.isEmpty()) return;
+
+        List<T> chunk = new ArrayList<>(Math.min(MAX_ITEMS_PER_FRAME, 64));
+        T item;
+        while (chunk.size() < MAX_ITEMS_PER_FRAME && (item = queue.poll()) != null) {
+            chunk.add(item);
+        }
+        sink.accept(chunk);
+    }
+
+    /**
+     * Nilai counter terakhir; hanya dikirim ke UI bila berubah sejak terakhir ditampilkan.
+     */
+    private static final class Counter {
+        private final AtomicInteger latest = new AtomicInteger();
+        private final IntConsumer sink;
+        private int shown = 0; // hanya disentuh FX thread
+
+        Counter(IntConsumer sink) {
+            this.sink = sink;
+        }
+
+        void set(int n) {
+            latest.set(n);
+        }
+
+        void publish() {
+            int value = latest.get();
+            if (value != shown) {
+                shown = value;
+                sink.accept(value);
+            }
+        }
+    }
+}
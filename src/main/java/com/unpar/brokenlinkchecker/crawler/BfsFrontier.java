@@ -0,0 +1,45 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Frontier Breadth-First Search (FIFO), diproses level demi level.
+ */
+public class BfsFrontier implements Frontier {
+
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+
+    @Override
+    public void addAll(List<String> urls, int depth) {
+        for (String url : urls) {
+            queue.add(new Entry(url, depth));
+        }
+    }
+
+    @Override
+    public Entry peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public Entry poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void snapshot(Consumer<Entry> action) {
+        queue.forEach(action);
+    }
+
+    @Override
+    public boolean isLevelSynchronous() {
+        return true;
+    }
+}
@@ -0,0 +1,162 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker per origin (skema + host + port, lihat {@link LinkChecker#originOf}) untuk
+ * pengecekan tautan.
+ *
+ * Origin yang gagal dihubungi (timeout, koneksi ditolak, DNS) beberapa kali berturut-turut
+ * dianggap mati: selama {@code openDuration} semua request ke origin itu langsung ditolak
+ * dengan {@link HostUnavailableException} tanpa menunggu timeout. Setelahnya satu request
+ * percobaan dibiarkan lewat (half-open):
+ * - berhasil → origin normal kembali
+ * - gagal    → ditolak lagi, dengan jeda dua kali lebih lama (maksimal {@link #MAX_OPEN_DURATION})
+ *
+ * Respons HTTP apa pun (termasuk 4xx/5xx) dihitung berhasil, karena server-nya hidup.
+ * Port lain pada host yang sama punya circuit sendiri.
+ * Lock memakai {@link ReentrantLock} agar tidak mem-pin virtual thread.
+ */
+public class CircuitBreaker {
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    private static final Duration MAX_OPEN_DURATION = Duration.ofMinutes(5);
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final ConcurrentHashMap<String, Circuit> origins = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param failureThreshold jumlah kegagalan berturut-turut sebelum origin dianggap mati
+     * @param openDuration     lama penolakan pertama
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold harus >= 1");
+        }
+        if (openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("openDuration harus > 0");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Dipanggil sebelum request; gagal cepat bila origin sedang dianggap mati.
+     */
+    public void acquire(String origin) throws HostUnavailableException {
+        if (!circuit(origin).tryAcquire()) {
+            rejected.increment();
+            throw new HostUnavailableException(origin);
+        }
+    }
+
+    /**
+     * Origin menjawab (status HTTP apa pun).
+     */
+    public void onSuccess(String origin) {
+        circuit(origin).success();
+    }
+
+    /**
+     * Origin tidak dapat dihubungi (timeout / gangguan koneksi).
+     */
+    public void onFailure(String origin) {
+        circuit(origin).failure();
+    }
+
+    /**
+     * Jumlah request yang ditolak tanpa dikirim (untuk pemantauan).
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Apakah origin sedang dianggap mati (untuk pemantauan).
+     */
+    public boolean isOpen(String origin) {
+        Circuit c = origins.get(origin);
+        return c != null && c.isOpen();
+    }
+
+    private Circuit circuit(String origin) {
+        return origins.computeIfAbsent(origin == null ? "" : origin, o -> new Circuit());
+    }
+
+    // =========================================================
+    // ================= State per origin ======================
+    // =========================================================
+    private final class Circuit {
+        private final ReentrantLock lock = new ReentrantLock();
+        private State state = State.CLOSED;
+        private int consecutiveFailures = 0;
+        private long currentOpenNanos = openNanos;
+        // OPEN: akhir masa penolakan; HALF_OPEN: batas waktu request percobaan
+        private long untilNanos = 0;
+
+        boolean tryAcquire() {
+            lock.lock();
+            try {
+                if (state == State.CLOSED) return true;
+                if (System.nanoTime() - untilNanos < 0) return false;
+
+                // Masa penolakan habis (atau percobaan sebelumnya tidak kunjung selesai):
+                // satu request percobaan dibiarkan lewat
+                state = State.HALF_OPEN;
+                untilNanos = System.nanoTime() + currentOpenNanos;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void success() {
+            lock.lock();
+            try {
+                state = State.CLOSED;
+                consecutiveFailures = 0;
+                currentOpenNanos = openNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void failure() {
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN) {
+                    currentOpenNanos = Math.min(MAX_OPEN_DURATION.toNanos(), currentOpenNanos * 2);
+                    open();
+                } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+                    open();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void open() {
+            state = State.OPEN;
+            untilNanos = System.nanoTime() + currentOpenNanos;
+        }
+
+        boolean isOpen() {
+            lock.lock();
+            try {
+                return state != State.CLOSED;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Checkpoint sesi crawling di disk lokal, agar crawl panjang bisa dilanjutkan
+ * setelah dihentikan, crash, atau reboot tanpa mengulang dari seed.
+ *
+ * Terdiri dari dua file:
+ * - {@code <file>}         : snapshot kecil yang ditulis ulang tiap checkpoint (header, halaman
+ *                            yang belum tuntas, isi frontier, isi visited set). Ditulis ke file
+ *                            sementara lalu dipindahkan secara atomik, sehingga selalu utuh.
+ * - {@code <file>.results} : log hasil (halaman & tautan) yang hanya ditambah di belakang, sehingga
+ *                            biaya checkpoint sebanding dengan hasil baru, bukan seluruh hasil.
+ *                            Header menyimpan panjang log yang sah; sisa tulisan setelahnya
+ *                            (mis. crash di tengah checkpoint) dipotong saat dilanjutkan.
+ *
+ * String ditulis sebagai panjang UTF-8 (int) diikuti byte-nya, tanpa batas 64 KB milik writeUTF.
+ */
+public class CrawlCheckpoint {
+
+    private static final int MAGIC = 0x424C434B; // "BLCK"
+    private static final int VERSION = 1;
+    private static final byte PAGE_RECORD = 'P';
+    private static final byte LINK_RECORD = 'L';
+
+    /**
+     * Informasi sesi yang dibutuhkan untuk melanjutkan crawling.
+     *
+     * @param visitedSetType  nama kelas visited set; format isinya hanya bisa dibaca implementasi yang sama
+     * @param nextPageSeq     nomor urut halaman berikutnya
+     * @param resultLogLength panjang log hasil (byte) yang sudah konsisten dengan snapshot ini
+     */
+    public record Header(String seedUrl, String algorithm, String visitedSetType,
+                         int nextPageSeq, long resultLogLength, Instant createdAt) {
+    }
+
+    /**
+     * Halaman yang sudah diambil dari frontier tetapi belum tuntas (belum di-commit atau
+     * masih ada tautan yang belum dicek). Halaman ini dicrawl ulang saat dilanjutkan.
+     */
+    public record OpenPage(int pageSeq, Frontier.Entry entry) {
+    }
+
+    public sealed interface ResultRecord permits PageRecord, LinkRecord {
+    }
+
+    /**
+     * @param errorLabel null bila halaman berhasil dicrawl
+     */
+    public record PageRecord(int pageSeq, String url, String status, String errorLabel,
+                             int linkCount, LocalDateTime accessed) implements ResultRecord {
+    }
+
+    /**
+     * @param ordinal posisi tautan: (urutan halaman << 32) | urutan anchor
+     */
+    public record LinkRecord(long ordinal, String href, String status, String sourcePage,
+                             String anchorText) implements ResultRecord {
+    }
+
+    private final Path file;
+    private final Path resultLog;
+    private long resultLogLength = 0;
+
+    public CrawlCheckpoint(Path file) {
+        this.file = file.toAbsolutePath();
+        this.resultLog = this.file.resolveSibling(this.file.getFileName() + ".results");
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Menghapus snapshot dan log hasil (mis. saat crawl baru dimulai atau selesai normal).
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(resultLog);
+        resultLogLength = 0;
+    }
+
+    // =========================================================
+    // ======================== Menulis ========================
+    // =========================================================
+
+    /**
+     * Menambahkan hasil baru ke log. Tulisan yang gagal sebelumnya dipotong dulu,
+     * sehingga log selalu berakhir di batas record yang sah.
+     *
+     * @return panjang log setelah ditambah, untuk dicatat di {@link Header}
+     */
+    public long appendResults(List<ResultRecord> records) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(resultLog, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(resultLogLength);
+            channel.position(resultLogLength);
+            if (!records.isEmpty()) {
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+                for (ResultRecord r : records) {
+                    writeRecord(out, r);
+                }
+                out.flush();
+            }
+            channel.force(false);
+            resultLogLength = channel.position();
+        }
+        return resultLogLength;
+    }
+
+    /**
+     * Menulis snapshot lengkap secara atomik. Frontier dan visited set hanya dibaca,
+     * jadi harus dipanggil dari thread yang memilikinya.
+     */
+    public void write(Header header, List<OpenPage> openPages, Frontier frontier, VisitedSet visited) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, header.seedUrl());
+            writeString(out, header.algorithm());
+            writeString(out, header.visitedSetType());
+            out.writeInt(header.nextPageSeq());
+            out.writeLong(header.resultLogLength());
+            out.writeLong(header.createdAt().toEpochMilli());
+
+            out.writeInt(openPages.size());
+            for (OpenPage p : openPages) {
+                out.writeInt(p.pageSeq());
+                writeEntry(out, p.entry());
+            }
+
+            out.writeInt(frontier.size());
+            try {
+                frontier.snapshot(e -> {
+                    try {
+                        writeEntry(out, e);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+
+            visited.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // =========================================================
+    // ======================== Membaca ========================
+    // =========================================================
+
+    public Header readHeader() throws IOException {
+        try (DataInputStream in = openSnapshot()) {
+            return readHeader(in);
+        }
+    }
+
+    /**
+     * Membaca isi snapshot. Entri frontier dialirkan satu per satu ke {@code frontierEntries}
+     * (sesuai urutan {@link Frontier#snapshot}) agar frontier besar tidak dimuat sekaligus.
+     *
+     * @param visited visited set kosong dari implementasi yang sama dengan saat checkpoint ditulis
+     */
+    public Header restore(List<OpenPage> openPages, Consumer<Frontier.Entry> frontierEntries, VisitedSet visited) throws IOException {
+        try (DataInputStream in = openSnapshot()) {
+            Header header = readHeader(in);
+            if (!visited.getClass().getName().equals(header.visitedSetType())) {
+                throw new IOException("Checkpoint dibuat dengan visited set " + header.visitedSetType()
+                        + ", bukan " + visited.getClass().getName());
+            }
+
+            int open = in.readInt();
+            for (int i = 0; i < open; i++) {
+                int seq = in.readInt();
+                openPages.add(new OpenPage(seq, readEntry(in)));
+            }
+
+            int frontierSize = in.readInt();
+            for (int i = 0; i < frontierSize; i++) {
+                frontierEntries.accept(readEntry(in));
+            }
+
+            visited.readFrom(in);
+            resultLogLength = header.resultLogLength();
+            return header;
+        }
+    }
+
+    /**
+     * Membaca ulang log hasil sampai panjang yang tercatat di header, lalu memotong sisa
+     * tulisan setelahnya agar checkpoint berikutnya melanjutkan dari batas yang sah.
+     */
+    public void replayResults(Header header, Consumer<ResultRecord> action) throws IOException {
+        long length = header.resultLogLength();
+        if (length == 0) return;
+
+        CountingInputStream counting = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(resultLog), 64 * 1024));
+        try (DataInputStream in = new DataInputStream(counting)) {
+            while (counting.count < length) {
+                action.accept(readRecord(in));
+            }
+        } catch (EOFException e) {
+            throw new IOException("Log hasil checkpoint lebih pendek dari yang tercatat: " + resultLog, e);
+        }
+        try (FileChannel channel = FileChannel.open(resultLog, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+        resultLogLength = length;
+    }
+
+    // ===================== Format =====================
+    private DataInputStream openSnapshot() throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+    }
+
+    private static Header readHeader(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Bukan file checkpoint");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Versi checkpoint tidak didukung: " + version);
+        }
+        String seedUrl = readString(in);
+        String algorithm = readString(in);
+        String visitedSetType = readString(in);
+        int nextPageSeq = in.readInt();
+        long logLength = in.readLong();
+        Instant createdAt = Instant.ofEpochMilli(in.readLong());
+        return new Header(seedUrl, algorithm, visitedSetType, nextPageSeq, logLength, createdAt);
+    }
+
+    private static void writeEntry(DataOutput out, Frontier.Entry e) throws IOException {
+        writeString(out, e.url());
+        out.writeInt(e.depth());
+    }
+
+    private static Frontier.Entry readEntry(DataInput in) throws IOException {
+        return new Frontier.Entry(readString(in), in.readInt());
+    }
+
+    private static void writeRecord(DataOutput out, ResultRecord record) throws IOException {
+        switch (record) {
+            case PageRecord p -> {
+                out.writeByte(PAGE_RECORD);
+                out.writeInt(p.pageSeq());
+                writeString(out, p.url());
+                writeString(out, p.status());
+                writeNullableString(out, p.errorLabel());
+                out.writeInt(p.linkCount());
+                writeString(out, p.accessed().toString());
+            }
+            case LinkRecord l -> {
+                out.writeByte(LINK_RECORD);
+                out.writeLong(l.ordinal());
+                writeString(out, l.href());
+                writeString(out, l.status());
+                writeString(out, l.sourcePage());
+                writeString(out, l.anchorText());
+            }
+        }
+    }
+
+    private static ResultRecord readRecord(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case PAGE_RECORD -> new PageRecord(in.readInt(), readString(in), readString(in),
+                    readNullableString(in), in.readInt(), LocalDateTime.parse(readString(in)));
+            case LINK_RECORD -> new LinkRecord(in.readLong(), readString(in), readString(in),
+                    readString(in), readString(in));
+            default -> throw new IOException("Record log hasil tidak dikenal: " + type);
+        };
+    }
+
+    public static void writeString(DataOutput out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Panjang string tidak valid: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeNullableString(DataOutput out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) writeString(out, s);
+    }
+
+    static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    /**
+     * Menghitung jumlah byte terbaca, untuk berhenti tepat di panjang log yang sah.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
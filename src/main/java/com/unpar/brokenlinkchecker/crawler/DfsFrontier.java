@@ -0,0 +1,46 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Consumer;
+
+/**
+ * Frontier Depth-First Search (LIFO).
+ */
+public class DfsFrontier implements Frontier {
+
+    private final Deque<Entry> stack = new ArrayDeque<>();
+
+    @Override
+    public void addAll(List<String> urls, int depth) {
+        // Untuk DFS yang lebih deterministik: push dari belakang,
+        // sehingga urutan di stack mengikuti urutan muncul di dokumen.
+        ListIterator<String> it = urls.listIterator(urls.size());
+        while (it.hasPrevious()) {
+            stack.push(new Entry(it.previous(), depth));
+        }
+    }
+
+    @Override
+    public Entry peek() {
+        return stack.peek();
+    }
+
+    @Override
+    public Entry poll() {
+        return stack.poll();
+    }
+
+    @Override
+    public int size() {
+        return stack.size();
+    }
+
+    @Override
+    public void snapshot(Consumer<Entry> action) {
+        // Dari dasar stack ke puncak, agar push ulang menghasilkan stack yang sama
+        stack.descendingIterator().forEachRemaining(action);
+    }
+}
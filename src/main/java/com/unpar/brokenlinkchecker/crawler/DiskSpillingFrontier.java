@@ -0,0 +1,256 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.function.Consumer;
+
+/**
+ * Frontier dengan memori terbatas: hanya sebagian kecil antrian disimpan di heap,
+ * sisanya ditumpahkan ke file segmen berurutan di disk lokal dan dibaca kembali
+ * sesuai urutan. Pemakaian memori tetap datar berapa pun besar situsnya.
+ *
+ * - FIFO (BFS): urutan = head (memori) → segmen tertua … segmen terbaru → tail (memori)
+ * - LIFO (DFS): urutan dari atas = stack (memori) → segmen terbaru … segmen tertua;
+ *               saat stack melebihi batas, separuh bagian bawahnya ditumpahkan
+ *
+ * Format segmen: jumlah entri, lalu untuk tiap entri panjang URL (UTF-8), byte URL, dan kedalaman.
+ */
+public class DiskSpillingFrontier implements Frontier {
+
+    public enum Order {
+        FIFO,
+        LIFO
+    }
+
+    private final Order order;
+    private final int maxInMemory;
+    private final int segmentSize;
+    private final Path directory;
+
+    private final ArrayDeque<Entry> head = new ArrayDeque<>();
+    private final ArrayDeque<Entry> tail = new ArrayDeque<>(); // hanya untuk FIFO
+    // FIFO: segmen tertua di depan; LIFO: segmen terbaru di depan
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private long spilledEntries = 0;
+    private int nextSegmentId = 0;
+    private long segmentsWritten = 0;
+
+    private record Segment(Path file, int count) {
+    }
+
+    /**
+     * @param maxInMemory batas jumlah entri yang disimpan di memori
+     * @param parentDir   direktori induk untuk file segmen (subdirektori sementara dibuat di sini)
+     */
+    public DiskSpillingFrontier(Order order, int maxInMemory, Path parentDir) throws IOException {
+        if (maxInMemory < 2) {
+            throw new IllegalArgumentException("maxInMemory harus >= 2");
+        }
+        this.order = order;
+        this.maxInMemory = maxInMemory;
+        this.segmentSize = maxInMemory / 2;
+        Files.createDirectories(parentDir);
+        this.directory = Files.createTempDirectory(parentDir, "frontier-");
+    }
+
+    public static DiskSpillingFrontier bfs(int maxInMemory, Path parentDir) throws IOException {
+        return new DiskSpillingFrontier(Order.FIFO, maxInMemory, parentDir);
+    }
+
+    public static DiskSpillingFrontier dfs(int maxInMemory, Path parentDir) throws IOException {
+        return new DiskSpillingFrontier(Order.LIFO, maxInMemory, parentDir);
+    }
+
+    @Override
+    public void addAll(List<String> urls, int depth) {
+        if (order == Order.FIFO) {
+            for (String url : urls) {
+                offerLast(new Entry(url, depth));
+            }
+        } else {
+            // Sama dengan DfsFrontier: push dari belakang agar urutan stack mengikuti dokumen
+            ListIterator<String> it = urls.listIterator(urls.size());
+            while (it.hasPrevious()) {
+                push(new Entry(it.previous(), depth));
+            }
+        }
+    }
+
+    @Override
+    public Entry peek() {
+        refillIfEmpty();
+        return head.peek();
+    }
+
+    @Override
+    public Entry poll() {
+        refillIfEmpty();
+        return head.poll();
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, head.size() + tail.size() + spilledEntries);
+    }
+
+    @Override
+    public boolean isLevelSynchronous() {
+        return order == Order.FIFO;
+    }
+
+    /**
+     * Segmen dibaca secara streaming tanpa dihapus, sehingga memori tetap datar.
+     */
+    @Override
+    public void snapshot(Consumer<Entry> action) {
+        if (order == Order.FIFO) {
+            head.forEach(action);
+            for (Segment s : segments) {
+                readSegmentEntries(s, action);
+            }
+            tail.forEach(action);
+        } else {
+            // Dari dasar ke puncak: segmen tertua (di belakang deque) → segmen terbaru → stack memori
+            Iterator<Segment> it = segments.descendingIterator();
+            while (it.hasNext()) {
+                readSegmentEntries(it.next(), action);
+            }
+            head.descendingIterator().forEachRemaining(action);
+        }
+    }
+
+    // ===================== Statistik =====================
+
+    public int inMemorySize() {
+        return head.size() + tail.size();
+    }
+
+    public long spilledSize() {
+        return spilledEntries;
+    }
+
+    public long segmentsWritten() {
+        return segmentsWritten;
+    }
+
+    /**
+     * Menghapus seluruh file segmen yang tersisa beserta direktorinya.
+     */
+    @Override
+    public void close() {
+        for (Segment s : segments) {
+            deleteQuietly(s.file());
+        }
+        segments.clear();
+        spilledEntries = 0;
+        deleteQuietly(directory);
+    }
+
+    // =========================================================
+    // ===================== FIFO (BFS) ========================
+    // =========================================================
+    private void offerLast(Entry e) {
+        if (segments.isEmpty() && tail.isEmpty() && head.size() < segmentSize) {
+            head.add(e);
+            return;
+        }
+        tail.add(e);
+        if (tail.size() >= segmentSize) {
+            segments.addLast(writeSegment(tail));
+            tail.clear();
+        }
+    }
+
+    // =========================================================
+    // ===================== LIFO (DFS) ========================
+    // =========================================================
+    private void push(Entry e) {
+        head.push(e);
+        if (head.size() > maxInMemory) {
+            // Tumpahkan separuh bagian bawah (entri tertua), dari paling bawah ke atas
+            ArrayDeque<Entry> bottom = new ArrayDeque<>(segmentSize);
+            for (int i = 0; i < segmentSize; i++) {
+                bottom.add(head.pollLast());
+            }
+            segments.addFirst(writeSegment(bottom));
+        }
+    }
+
+    // ===================== Segmen =====================
+    private void refillIfEmpty() {
+        if (!head.isEmpty()) return;
+
+        if (!segments.isEmpty()) {
+            Segment s = segments.pollFirst();
+            for (Entry e : readSegment(s)) {
+                if (order == Order.FIFO) {
+                    head.add(e);
+                } else {
+                    head.push(e); // ditulis dari bawah ke atas → push berurutan mengembalikan posisi
+                }
+            }
+        } else if (order == Order.FIFO && !tail.isEmpty()) {
+            head.addAll(tail);
+            tail.clear();
+        }
+    }
+
+    private Segment writeSegment(ArrayDeque<Entry> entries) {
+        Path file = directory.resolve("segment-" + (nextSegmentId++) + ".bin");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024))) {
+            out.writeInt(entries.size());
+            for (Entry e : entries) {
+                byte[] url = e.url().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(url.length);
+                out.write(url);
+                out.writeInt(e.depth());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Gagal menulis segmen frontier " + file, ex);
+        }
+        spilledEntries += entries.size();
+        segmentsWritten++;
+        return new Segment(file, entries.size());
+    }
+
+    private ArrayDeque<Entry> readSegment(Segment s) {
+        ArrayDeque<Entry> entries = new ArrayDeque<>(s.count());
+        readSegmentEntries(s, entries::add);
+        deleteQuietly(s.file());
+        spilledEntries -= s.count();
+        return entries;
+    }
+
+    private void readSegmentEntries(Segment s, Consumer<Entry> action) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(s.file()), 64 * 1024))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] url = new byte[in.readInt()];
+                in.readFully(url);
+                action.accept(new Entry(new String(url, StandardCharsets.UTF_8), in.readInt()));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Gagal membaca segmen frontier " + s.file(), ex);
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException ignored) {
+        }
+    }
+}
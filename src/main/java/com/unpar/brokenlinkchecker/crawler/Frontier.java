@@ -0,0 +1,77 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Strategi frontier: menentukan urutan halaman yang akan dicrawl.
+ *
+ * Loop crawling hanya bergantung pada interface ini, sehingga BFS, DFS, dan
+ * best-first cukup dibedakan lewat implementasi frontier-nya.
+ * Frontier hanya diakses oleh thread crawler, kecuali {@link #onLinkChecked}
+ * yang dipanggil dari thread pengecekan tautan.
+ */
+public interface Frontier extends AutoCloseable {
+
+    /**
+     * Satu URL di frontier beserta kedalamannya dari seed (seed = 0).
+     */
+    record Entry(String url, int depth) {
+    }
+
+    /**
+     * Menambahkan URL baru (sudah dipastikan belum pernah dikunjungi) yang ditemukan
+     * pada satu halaman, dengan urutan sesuai kemunculan di dokumen.
+     */
+    void addAll(List<String> urls, int depth);
+
+    /**
+     * URL berikutnya tanpa mengeluarkannya, atau null jika frontier kosong.
+     */
+    Entry peek();
+
+    /**
+     * Mengeluarkan URL berikutnya, atau null jika frontier kosong.
+     */
+    Entry poll();
+
+    int size();
+
+    /**
+     * Menelusuri seluruh isi frontier (untuk checkpoint) tanpa mengubahnya, dalam urutan
+     * yang—bila tiap entri dimasukkan kembali satu per satu lewat {@link #addAll} ke
+     * frontier kosong sejenis—menghasilkan urutan pengambilan yang sama.
+     */
+    void snapshot(Consumer<Entry> action);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * true bila crawling harus level-synchronous: level berikutnya baru diambil setelah
+     * seluruh halaman level saat ini selesai, dan hasil diproses sesuai urutan frontier.
+     */
+    default boolean isLevelSynchronous() {
+        return false;
+    }
+
+    /**
+     * Dipanggil untuk setiap kemunculan tautan same-host (termasuk yang sudah dikunjungi).
+     */
+    default void onLinkDiscovered(String url) {
+    }
+
+    /**
+     * Dipanggil setelah satu tautan selesai dicek. Dapat dipanggil dari banyak thread.
+     */
+    default void onLinkChecked(String sourcePage, boolean broken) {
+    }
+
+    /**
+     * Melepas sumber daya (mis. file segmen di disk) setelah crawling selesai.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,59 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Visited set berbasis {@link HashSet} yang menyimpan URL utuh.
+ * Tepat (tanpa false positive), tetapi boros memori untuk crawl berskala jutaan URL.
+ */
+public class HashVisitedSet implements VisitedSet {
+
+    // Perkiraan overhead per entri: node HashMap + objek String + header array byte + slot tabel
+    private static final int ENTRY_OVERHEAD_BYTES = 32 + 24 + 16 + 8;
+
+    private final Set<String> urls = new HashSet<>();
+    private long totalChars = 0;
+
+    @Override
+    public boolean add(String url) {
+        boolean added = urls.add(url);
+        if (added) totalChars += url.length();
+        return added;
+    }
+
+    @Override
+    public boolean contains(String url) {
+        return urls.contains(url);
+    }
+
+    @Override
+    public long size() {
+        return urls.size();
+    }
+
+    @Override
+    public long memoryUsageBytes() {
+        // String Latin-1 (compact strings): satu byte per karakter
+        return urls.size() * (long) ENTRY_OVERHEAD_BYTES + totalChars;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(urls.size());
+        for (String url : urls) {
+            CrawlCheckpoint.writeString(out, url);
+        }
+    }
+
+    @Override
+    public void readFrom(DataInput in) throws IOException {
+        long count = in.readLong();
+        for (long i = 0; i < count; i++) {
+            add(CrawlCheckpoint.readString(in));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.nio.channels.UnresolvedAddressException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache (selama satu sesi crawling) untuk hasil resolusi DNS dan kegagalan keras.
+ *
+ * Sebelum tautan ke sebuah host dicek, nama host di-resolve sekali saja (single-flight,
+ * seperti {@link StatusCache}). Kegagalan keras diingat selama TTL; tautan berikutnya langsung
+ * gagal dengan {@link HostUnavailableException} yang membawa alasan aslinya (mis.
+ * UnknownHostException), tanpa request dan tanpa menunggu timeout DNS/koneksi:
+ * - host tidak ter-resolve: dicatat per host (berlaku untuk semua port)
+ * - koneksi ditolak / tidak ada rute: dicatat per origin (skema + host + port), karena port
+ *   lain pada host yang sama bisa saja melayani dengan normal
+ *
+ * Berbeda dengan {@link CircuitBreaker}, satu kegagalan keras sudah cukup: jawaban
+ * "host tidak ada" / "koneksi ditolak" tidak akan berubah dalam hitungan detik.
+ * Timeout tidak dianggap kegagalan keras.
+ */
+public class HostFailureCache {
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(2);
+
+    /**
+     * @param failure nama exception penyebab kegagalan, null bila host bisa dihubungi
+     */
+    private record Cached(String failure, long expiresAtNanos) {
+    }
+
+    private final long ttlNanos;
+    // Hasil resolusi DNS per host
+    private final ConcurrentHashMap<String, CompletableFuture<Cached>> hosts = new ConcurrentHashMap<>();
+    // Koneksi ditolak / tidak ada rute per origin
+    private final ConcurrentHashMap<String, Cached> origins = new ConcurrentHashMap<>();
+    private final LongAdder saved = new LongAdder();
+
+    public HostFailureCache(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl harus > 0");
+        }
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Memastikan origin bisa dihubungi: gagal cepat bila origin atau host-nya tercatat gagal
+     * dan TTL-nya belum habis; host di-resolve bila belum ada di cache.
+     *
+     * @param origin origin tautan (lihat {@link LinkChecker#originOf}), boleh null
+     */
+    public void check(String host, String origin) throws HostUnavailableException, InterruptedException {
+        if (origin != null) {
+            Cached refused = origins.get(origin);
+            if (refused != null) {
+                if (System.nanoTime() - refused.expiresAtNanos() < 0) {
+                    saved.increment();
+                    throw new HostUnavailableException(origin, refused.failure());
+                }
+                origins.remove(origin, refused);
+            }
+        }
+        if (host == null || host.isEmpty()) return;
+
+        while (true) {
+            CompletableFuture<Cached> mine = new CompletableFuture<>();
+            CompletableFuture<Cached> existing = hosts.putIfAbsent(host, mine);
+
+            Cached cached;
+            if (existing == null) {
+                try {
+                    cached = resolve(host);
+                } catch (InterruptedException e) {
+                    // Batal: task lain yang menunggu akan me-resolve sendiri
+                    hosts.remove(host, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+                mine.complete(cached);
+                if (cached.failure() == null) return;
+                // Resolusi pertama yang gagal bukan penghematan: request memang tidak dikirim
+                throw new HostUnavailableException(host, cached.failure());
+            }
+
+            try {
+                cached = existing.get();
+            } catch (ExecutionException e) {
+                continue; // resolusi oleh task lain dibatalkan
+            }
+            if (System.nanoTime() - cached.expiresAtNanos() >= 0) {
+                // Kedaluwarsa: hapus lalu ulangi (hanya satu task yang me-resolve ulang)
+                hosts.remove(host, existing);
+                continue;
+            }
+            if (cached.failure() == null) return;
+
+            saved.increment();
+            throw new HostUnavailableException(host, cached.failure());
+        }
+    }
+
+    /**
+     * Mencatat kegagalan request; hanya kegagalan keras yang disimpan: kegagalan DNS untuk
+     * {@code host}, koneksi ditolak / tidak ada rute untuk {@code origin}.
+     */
+    public void recordFailure(String host, String origin, IOException e) {
+        String reason = hardFailure(e);
+        if (reason == null) return;
+        Cached failed = new Cached(reason, System.nanoTime() + ttlNanos);
+        if (reason.equals(UnknownHostException.class.getSimpleName())) {
+            if (host != null && !host.isEmpty()) hosts.put(host, CompletableFuture.completedFuture(failed));
+        } else if (origin != null) {
+            origins.put(origin, failed);
+        }
+    }
+
+    /**
+     * Jumlah request yang tidak dikirim karena kegagalan host sudah ada di cache.
+     */
+    public long getSavedRequestCount() {
+        return saved.sum();
+    }
+
+    private Cached resolve(String host) throws InterruptedException {
+        String failure = null;
+        try {
+            // Hasilnya juga mengisi cache alamat JVM yang dipakai HttpClient sesudahnya
+            InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            failure = UnknownHostException.class.getSimpleName();
+        } catch (RuntimeException e) {
+            failure = e.getClass().getSimpleName();
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return new Cached(failure, System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * Nama penyebab bila {@code e} (atau salah satu cause-nya) adalah kegagalan keras.
+     * HttpClient membungkus kegagalan DNS dan koneksi ditolak dalam ConnectException (tanpa
+     * pesan); connect timeout dilaporkan terpisah sebagai HttpConnectTimeoutException.
+     */
+    private static String hardFailure(IOException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof UnknownHostException || t instanceof UnresolvedAddressException) {
+                return UnknownHostException.class.getSimpleName();
+            }
+            if (t instanceof NoRouteToHostException) {
+                return NoRouteToHostException.class.getSimpleName();
+            }
+        }
+        return e instanceof ConnectException ? ConnectException.class.getSimpleName() : null;
+    }
+}
@@ -0,0 +1,224 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Penjadwal request per host yang adaptif.
+ *
+ * Setiap host memiliki batas konkurensi dan jeda antar-request sendiri yang
+ * disesuaikan dari latensi dan error yang teramati (pola AIMD):
+ * - respons cepat  → batas konkurensi naik perlahan, jeda mengecil
+ * - 429/503/timeout → batas konkurensi dipotong setengah, jeda digandakan
+ *
+ * Dengan begitu host besar (CDN) bisa dilayani jauh di atas 3 req/detik,
+ * sementara situs kecil tetap diperlakukan dengan sopan.
+ * Lock memakai {@link ReentrantLock} agar tidak mem-pin virtual thread.
+ */
+public class HostScheduler {
+
+    /**
+     * Hasil sebuah request, dipakai untuk mengatur ulang laju host.
+     */
+    public enum Outcome {
+        /** Respons diterima normal (termasuk 4xx selain 429). */
+        SUCCESS,
+        /** Server menolak karena beban: 429 Too Many Requests atau 503 Service Unavailable. */
+        OVERLOAD,
+        /** Request melewati batas waktu. */
+        TIMEOUT,
+        /** Kegagalan lain (DNS, SSL, koneksi ditolak) — tidak mengubah laju. */
+        ERROR;
+
+        public static Outcome fromStatusCode(int code) {
+            return (code == 429 || code == 503) ? OVERLOAD : SUCCESS;
+        }
+    }
+
+    // ===================== Parameter default =====================
+    private static final double INITIAL_LIMIT = 2.0;
+    private static final long INITIAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long MAX_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long BACKOFF_MIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long FAST_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long SLOW_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final int maxPerHost;
+    private final ConcurrentHashMap<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    public HostScheduler(int maxPerHost) {
+        if (maxPerHost < 1) {
+            throw new IllegalArgumentException("maxPerHost harus >= 1");
+        }
+        this.maxPerHost = maxPerHost;
+    }
+
+    /**
+     * Menunggu sampai host mengizinkan satu request baru: slot konkurensi tersedia
+     * dan jeda minimal sejak request sebelumnya sudah terlewati.
+     */
+    public void acquire(String host) throws InterruptedException {
+        state(host).acquire();
+    }
+
+    /**
+     * Mengembalikan slot host dan menyesuaikan laju berdasarkan hasil request.
+     *
+     * @param latencyNanos durasi request dalam nanodetik
+     */
+    public void release(String host, long latencyNanos, Outcome outcome) {
+        state(host).release(latencyNanos, outcome);
+    }
+
+    /**
+     * Menetapkan jeda minimum antar-request ke host, mis. dari Crawl-delay robots.txt.
+     * Selama jeda minimum berlaku, host dilayani satu request sekaligus dan penyesuaian
+     * adaptif tidak pernah menurunkan jeda di bawah nilai ini. {@code Duration.ZERO} menghapusnya.
+     */
+    public void setMinInterval(String host, Duration minInterval) {
+        state(host).setMinInterval(minInterval.toNanos());
+    }
+
+    /**
+     * Menahan request baru ke host selama {@code delay}, mis. karena server mengirim
+     * {@code Retry-After}. Request yang sudah berjalan tidak terpengaruh.
+     */
+    public void pause(String host, Duration delay) {
+        state(host).pause(delay.toNanos());
+    }
+
+    /**
+     * Batas konkurensi host saat ini (untuk pemantauan).
+     */
+    public int currentLimit(String host) {
+        HostState hs = hosts.get(host);
+        return hs == null ? (int) INITIAL_LIMIT : hs.effectiveLimit();
+    }
+
+    /**
+     * Jeda antar-request host saat ini dalam milidetik (untuk pemantauan).
+     */
+    public long currentIntervalMillis(String host) {
+        HostState hs = hosts.get(host);
+        long nanos = hs == null ? INITIAL_INTERVAL_NANOS : hs.intervalNanos();
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private HostState state(String host) {
+        return hosts.computeIfAbsent(host == null ? "" : host, h -> new HostState());
+    }
+
+    // =========================================================
+    // ================== State per host =======================
+    // =========================================================
+    private final class HostState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+
+        private double limit = INITIAL_LIMIT;
+        private int inFlight = 0;
+        private long intervalNanos = INITIAL_INTERVAL_NANOS;
+        private long nextAllowedNanos = System.nanoTime();
+        private double ewmaLatencyNanos = -1;
+        private long minIntervalNanos = 0;
+
+        void acquire() throws InterruptedException {
+            lock.lock();
+            try {
+                while (true) {
+                    if (inFlight < effectiveLimit()) {
+                        long wait = nextAllowedNanos - System.nanoTime();
+                        if (wait <= 0) {
+                            inFlight++;
+                            nextAllowedNanos = System.nanoTime() + intervalNanos;
+                            return;
+                        }
+                        changed.awaitNanos(wait);
+                    } else {
+                        changed.await();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long latencyNanos, Outcome outcome) {
+            lock.lock();
+            try {
+                inFlight = Math.max(0, inFlight - 1);
+                adjust(latencyNanos, outcome);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void setMinInterval(long nanos) {
+            lock.lock();
+            try {
+                minIntervalNanos = Math.max(0, nanos);
+                intervalNanos = Math.max(intervalNanos, minIntervalNanos);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void pause(long nanos) {
+            lock.lock();
+            try {
+                nextAllowedNanos = Math.max(nextAllowedNanos, System.nanoTime() + Math.max(0, nanos));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void adjust(long latencyNanos, Outcome outcome) {
+            switch (outcome) {
+                case SUCCESS -> {
+                    ewmaLatencyNanos = ewmaLatencyNanos < 0
+                            ? latencyNanos
+                            : EWMA_ALPHA * latencyNanos + (1 - EWMA_ALPHA) * ewmaLatencyNanos;
+
+                    if (ewmaLatencyNanos <= FAST_LATENCY_NANOS) {
+                        // Additive increase: kira-kira +1 slot per "satu putaran" request
+                        limit = Math.min(maxPerHost, limit + 1.0 / limit);
+                        intervalNanos = (long) (intervalNanos * 0.8);
+                    } else if (ewmaLatencyNanos >= SLOW_LATENCY_NANOS) {
+                        // Host mulai lambat: turunkan pelan-pelan sebelum benar-benar kewalahan
+                        limit = Math.max(1.0, limit * 0.9);
+                        intervalNanos = Math.min(MAX_INTERVAL_NANOS, intervalNanos + intervalNanos / 10 + 1);
+                    }
+                }
+                case OVERLOAD, TIMEOUT -> {
+                    // Multiplicative decrease
+                    limit = Math.max(1.0, limit / 2);
+                    intervalNanos = Math.min(MAX_INTERVAL_NANOS, Math.max(BACKOFF_MIN_INTERVAL_NANOS, intervalNanos * 2));
+                    nextAllowedNanos = Math.max(nextAllowedNanos, System.nanoTime() + intervalNanos);
+                }
+                case ERROR -> {
+                    // Tidak ada informasi beban; biarkan laju apa adanya
+                }
+            }
+            intervalNanos = Math.max(intervalNanos, minIntervalNanos);
+        }
+
+        int effectiveLimit() {
+            return minIntervalNanos > 0 ? 1 : Math.max(1, (int) limit);
+        }
+
+        long intervalNanos() {
+            lock.lock();
+            try {
+                return intervalNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.IOException;
+
+/**
+ * Request tidak dikirim karena host sedang dianggap mati oleh {@link CircuitBreaker}, atau
+ * kegagalannya sudah tercatat di {@link HostFailureCache}.
+ */
+public class HostUnavailableException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+
+    public HostUnavailableException(String host) {
+        this(host, null);
+    }
+
+    /**
+     * @param reason nama exception kegagalan asli host (mis. "UnknownHostException"), atau null
+     */
+    public HostUnavailableException(String host, String reason) {
+        super("host tidak dapat dihubungi: " + host + (reason == null ? "" : " (" + reason + ")"));
+        this.reason = reason;
+    }
+
+    /**
+     * Nama exception kegagalan asli, atau null bila tidak diketahui.
+     */
+    public String getReason() {
+        return reason;
+    }
+}
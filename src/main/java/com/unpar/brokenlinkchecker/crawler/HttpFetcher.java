@@ -0,0 +1,266 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lapisan HTTP tunggal untuk fetch halaman dan pengecekan tautan.
+ *
+ * Semua request memakai satu {@link HttpClient} bersama (HTTP/2 bila server mendukung,
+ * selain itu HTTP/1.1 keep-alive), sehingga koneksi ke host yang sama dipakai ulang
+ * oleh fetcher halaman maupun pengecekan tautan.
+ *
+ * Batas waktu:
+ * - connect timeout: membuka koneksi
+ * - read timeout: sampai header respons diterima, dan (untuk fetch halaman) sampai body
+ *   selesai dibaca; stream body ditutup paksa bila melewati batas ini
+ *
+ * Aman dipakai dari banyak thread.
+ */
+public class HttpFetcher {
+
+    public static final String USER_AGENT = "Mozilla/5.0 (compatible; BrokenLinkChecker/1.0)";
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+
+    // Menutup stream body yang melewati read timeout (satu thread daemon untuk semua fetcher)
+    private static final ScheduledThreadPoolExecutor WATCHDOG = createWatchdog();
+
+    private final HttpClient client;
+    private final Duration readTimeout;
+
+    public HttpFetcher() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+    }
+
+    public HttpFetcher(Duration connectTimeout, Duration readTimeout) {
+        if (connectTimeout.isNegative() || connectTimeout.isZero() || readTimeout.isNegative() || readTimeout.isZero()) {
+            throw new IllegalArgumentException("timeout harus > 0");
+        }
+        this.readTimeout = readTimeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    /**
+     * Respons GET halaman. Body harus ditutup (try-with-resources) agar koneksi
+     * dikembalikan ke pool.
+     */
+    public static final class PageResponse implements Closeable {
+        private final HttpResponse<InputStream> response;
+        private final ScheduledFuture<?> watchdog;
+        private final TimeoutInputStream body;
+
+        private PageResponse(HttpResponse<InputStream> response, Duration readTimeout) {
+            this.response = response;
+            this.body = new TimeoutInputStream(response.body());
+            this.watchdog = WATCHDOG.schedule(body::expire, readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        public int statusCode() {
+            return response.statusCode();
+        }
+
+        /**
+         * URL akhir setelah redirect; dasar resolusi tautan relatif.
+         */
+        public String finalUrl() {
+            return response.uri().toString();
+        }
+
+        public String contentType() {
+            return response.headers().firstValue("Content-Type").orElse(null);
+        }
+
+        public String etag() {
+            return response.headers().firstValue("ETag").orElse(null);
+        }
+
+        public String lastModified() {
+            return response.headers().firstValue("Last-Modified").orElse(null);
+        }
+
+        /**
+         * Charset dari header Content-Type, atau null bila tidak disebut / tidak dikenal.
+         */
+        public Charset charset() {
+            String ct = contentType();
+            if (ct == null) return null;
+            for (String param : ct.split(";")) {
+                String p = param.trim();
+                if (p.regionMatches(true, 0, "charset=", 0, 8)) {
+                    String name = p.substring(8).replace("\"", "").replace("'", "").trim();
+                    try {
+                        return Charset.forName(name);
+                    } catch (IllegalArgumentException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Apakah body berupa HTML/XML yang perlu dicari tautannya (tanpa Content-Type dianggap HTML).
+         */
+        public boolean isHtml() {
+            String ct = contentType();
+            if (ct == null) return true;
+            String type = ct.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            return type.startsWith("text/") || type.equals("application/xml") || type.endsWith("+xml");
+        }
+
+        public InputStream body() {
+            return body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            watchdog.cancel(false);
+            body.close();
+        }
+    }
+
+    /**
+     * Respons HEAD / GET ranged untuk pengecekan status.
+     *
+     * @param retryAfter nilai header Retry-After apa adanya, null bila tidak ada
+     */
+    public record ProbeResponse(int statusCode, String retryAfter) {
+    }
+
+    // =========================================================
+    // ======================== Request ========================
+    // =========================================================
+    /**
+     * GET halaman dengan body sebagai stream. Status 4xx/5xx tetap dikembalikan (bukan exception).
+     */
+    public PageResponse get(String url) throws IOException, InterruptedException {
+        return get(url, null);
+    }
+
+    /**
+     * GET kondisional: bila {@code previous} punya ETag/Last-Modified, request membawa
+     * {@code If-None-Match}/{@code If-Modified-Since} dan server bisa menjawab 304 tanpa body.
+     */
+    public PageResponse get(String url, PageStore.Validators previous) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = requestBuilder(url)
+                .header("Accept", "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8");
+        if (previous != null) {
+            if (previous.etag() != null) builder.header("If-None-Match", previous.etag());
+            if (previous.lastModified() != null) builder.header("If-Modified-Since", previous.lastModified());
+        }
+        HttpRequest request = builder.GET().build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        return new PageResponse(response, readTimeout);
+    }
+
+    /**
+     * HEAD tanpa body.
+     */
+    public ProbeResponse head(String url) throws IOException, InterruptedException {
+        HttpRequest request = requestBuilder(url)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return probeResponse(client.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    /**
+     * GET dengan {@code Range: bytes=0-0}: stream body ditutup begitu header diterima,
+     * sehingga body tidak diunduh meskipun server mengabaikan Range.
+     *
+     * @return status HTTP apa adanya (206 bila server mendukung Range)
+     */
+    public ProbeResponse rangeProbe(String url) throws IOException, InterruptedException {
+        HttpRequest request = requestBuilder(url)
+                .header("Range", "bytes=0-0")
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        response.body().close(); // batalkan body; koneksi HTTP/2 tetap bisa dipakai ulang
+        return probeResponse(response);
+    }
+
+    private static ProbeResponse probeResponse(HttpResponse<?> response) {
+        return new ProbeResponse(response.statusCode(), response.headers().firstValue("Retry-After").orElse(null));
+    }
+
+    private HttpRequest.Builder requestBuilder(String url) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(readTimeout)
+                .header("User-Agent", USER_AGENT);
+    }
+
+    // =========================================================
+    // ======================== Helper =========================
+    // =========================================================
+    /**
+     * Stream body yang bisa ditutup paksa oleh watchdog; pembacaan yang sedang menunggu
+     * data lalu gagal dengan {@link HttpTimeoutException}.
+     */
+    private static final class TimeoutInputStream extends FilterInputStream {
+        private volatile boolean expired = false;
+
+        TimeoutInputStream(InputStream in) {
+            super(in);
+        }
+
+        void expire() {
+            expired = true;
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // stream sudah tidak dipakai
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw translate(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                throw translate(e);
+            }
+        }
+
+        private IOException translate(IOException e) {
+            return expired ? new HttpTimeoutException("body tidak selesai dibaca dalam batas waktu") : e;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createWatchdog() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "Http-Read-Timeout");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
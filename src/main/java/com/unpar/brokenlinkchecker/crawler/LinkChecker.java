@@ -0,0 +1,292 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import com.unpar.brokenlinkchecker.util.HttpStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pengecek status tautan beserta seluruh perangkat kesopanannya: cache status single-flight,
+ * {@link HostScheduler} per host, batas konkurensi global, {@link RetryPolicy},
+ * {@link CircuitBreaker}, dan {@link HostFailureCache}.
+ *
+ * Biasanya satu instance per sesi crawling, tetapi bisa dipakai bersama oleh beberapa
+ * crawling sekaligus (mis. satu worker yang mengerjakan banyak situs) agar laju per host
+ * tetap diatur di satu tempat. Fetch halaman memakai {@link #getHostScheduler()} yang sama.
+ *
+ * Aman dipakai dari banyak thread.
+ */
+public class LinkChecker {
+
+    /**
+     * Jalur pengecekan ke proses lain untuk host yang bukan milik proses ini
+     * (mode terdistribusi: setiap host hanya dihubungi oleh satu worker).
+     */
+    public interface RemoteRoute {
+        boolean isLocal(String host);
+
+        /**
+         * @return status tautan, atau null bila dibatalkan
+         */
+        String check(String url, String host) throws InterruptedException;
+    }
+
+    private final HttpFetcher fetcher;
+    private final HostScheduler hostScheduler;
+    private final StatusProber statusProber;
+    private final StatusCache statusCache = new StatusCache();
+    private final Semaphore checkPermits;
+    private final RetryPolicy retryPolicy;
+    // null = circuit breaker tidak aktif
+    private final CircuitBreaker circuitBreaker;
+    private final HostFailureCache hostFailures;
+    private final LongAdder retries = new LongAdder();
+    private volatile RemoteRoute remoteRoute;
+    // Jatah request bersama antar-situs (batch job); null = hanya batas global pengecekan
+    private volatile RequestBudget requestBudget;
+
+    /**
+     * @param maxConcurrentChecks     batas global request pengecekan yang berjalan bersamaan
+     * @param maxConcurrentPerHost    batas atas konkurensi per host
+     * @param circuitBreakerThreshold kegagalan berturut-turut sebelum origin (skema + host + port) ditolak; 0 = tanpa circuit breaker
+     */
+    public LinkChecker(HttpFetcher fetcher, int maxConcurrentChecks, int maxConcurrentPerHost,
+                       RetryPolicy retryPolicy, int circuitBreakerThreshold, Duration hostFailureTtl) {
+        this.fetcher = fetcher;
+        this.hostScheduler = new HostScheduler(maxConcurrentPerHost);
+        this.statusProber = new StatusProber(fetcher);
+        this.checkPermits = new Semaphore(maxConcurrentChecks);
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreakerThreshold > 0
+                ? new CircuitBreaker(circuitBreakerThreshold, CircuitBreaker.DEFAULT_OPEN_DURATION)
+                : null;
+        this.hostFailures = new HostFailureCache(hostFailureTtl);
+    }
+
+    public void setRemoteRoute(RemoteRoute remoteRoute) {
+        this.remoteRoute = remoteRoute;
+    }
+
+    /**
+     * Membagi request antar-situs lewat {@link RequestBudget}, dipakai untuk fetch halaman
+     * (lihat {@link #getRequestBudget()}) maupun pengecekan tautan. null = tidak aktif.
+     */
+    public void setRequestBudget(RequestBudget requestBudget) {
+        this.requestBudget = requestBudget;
+    }
+
+    /**
+     * Status tautan di luar jatah situs mana pun (mis. permintaan dari worker lain, yang
+     * situs asalnya ada di proses lain).
+     *
+     * @see #check(String, String, String)
+     */
+    public String check(String url, String host) {
+        return check(url, host, null);
+    }
+
+    /**
+     * Status tautan dari cache, atau dicek bila URL belum pernah dicek (tiap URL unik
+     * hanya dicek sekali; pemanggil lain menunggu hasil yang sama).
+     *
+     * @param host host dari {@code url} (huruf kecil)
+     * @param site situs yang meminta (kunci {@link RequestBudget}), mis. seed URL; null = tanpa jatah situs
+     * @return status seperti "200 OK" / "FAILED (...)", atau null bila thread diinterupsi
+     */
+    public String check(String url, String host, String site) {
+        return statusCache.get(url, u -> {
+            RemoteRoute route = remoteRoute;
+            if (route != null && !route.isLocal(host)) {
+                try {
+                    return route.check(u, host);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            return checkStatus(u, host, site);
+        });
+    }
+
+    // ===================== Komponen bersama =====================
+    public HttpFetcher getFetcher() {
+        return fetcher;
+    }
+
+    public HostScheduler getHostScheduler() {
+        return hostScheduler;
+    }
+
+    public StatusCache getStatusCache() {
+        return statusCache;
+    }
+
+    public RequestBudget getRequestBudget() {
+        return requestBudget;
+    }
+
+    // ===================== Statistik =====================
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    public long getCircuitRejectedCount() {
+        return circuitBreaker == null ? 0 : circuitBreaker.getRejectedCount();
+    }
+
+    public long getUnreachableHostSavedCount() {
+        return hostFailures.getSavedRequestCount();
+    }
+
+    public long getHeadFallbackCount() {
+        return statusProber.getFallbackCount();
+    }
+
+    // =========================================================
+    // ====================== Pengecekan =======================
+    // =========================================================
+    /**
+     * Mengecek status satu URL, mengulang kegagalan sementara sesuai {@link RetryPolicy}
+     * (jeda backoff dijalani tanpa memegang slot host/global). Origin yang terbukti mati
+     * ditolak {@link CircuitBreaker} sehingga tautan berikutnya tidak menunggu timeout.
+     */
+    private String checkStatus(String url, String host, String site) {
+        String origin = originOf(url);
+        IOException firstFailure = null;
+
+        for (int attempt = 1; ; attempt++) {
+            boolean canRetry = attempt < retryPolicy.getMaxAttempts();
+            long backoffNanos;
+            try {
+                HttpFetcher.ProbeResponse response = probeOnce(url, host, origin, site);
+                if (circuitBreaker != null) circuitBreaker.onSuccess(origin);
+
+                int code = response.statusCode();
+                if (!canRetry || !retryPolicy.isRetryable(code)) {
+                    // Kembalikan format konsisten, mis. "200 OK", "404 Not Found"
+                    return HttpStatus.getReasonPhrase(code);
+                }
+                Duration retryAfter = RetryPolicy.parseRetryAfter(response.retryAfter());
+                if (retryAfter != null) {
+                    if (retryAfter.compareTo(retryPolicy.getMaxRetryAfter()) > 0) {
+                        return HttpStatus.getReasonPhrase(code); // terlalu lama untuk ditunggu
+                    }
+                    // Berlaku untuk seluruh host, bukan hanya tautan ini
+                    hostScheduler.pause(host, retryAfter);
+                }
+                backoffNanos = retryPolicy.backoffNanos(attempt, retryAfter);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (IOException ex) {
+                if (!(ex instanceof HostUnavailableException)) {
+                    hostFailures.recordFailure(host, origin, ex);
+                    if (circuitBreaker != null) circuitBreaker.onFailure(origin);
+                }
+                if (firstFailure == null) firstFailure = ex;
+                if (!canRetry || !retryPolicy.isRetryable(ex)) {
+                    // Saat gagal (DNS/SSL, timeout, dll.), tandai FAILED.
+                    return "FAILED (" + failureReason(ex, firstFailure) + ")";
+                }
+                backoffNanos = retryPolicy.backoffNanos(attempt, null);
+            } catch (Exception ex) {
+                return "FAILED (" + ex.getClass().getSimpleName() + ")";
+            }
+
+            retries.increment();
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoffNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Satu request status. Urutan izin: slot host dulu (diatur adaptif oleh
+     * {@link HostScheduler}), baru slot global, agar task yang menunggu host lambat
+     * tidak menahan slot global milik host lain. Jatah situs ({@link RequestBudget}, bila aktif)
+     * diambil di antara keduanya. Request-nya HEAD, dengan fallback GET ranged lewat
+     * {@link StatusProber}.
+     *
+     * Cache kegagalan host diperiksa sebelum mengantri slot host (host yang sudah diketahui
+     * gagal tidak ikut dijeda) dan sekali lagi setelahnya bersama circuit breaker, sehingga
+     * task yang mengantri di belakang request yang gagal langsung ikut gagal cepat.
+     */
+    private HttpFetcher.ProbeResponse probeOnce(String url, String host, String origin, String site)
+            throws IOException, InterruptedException {
+        hostFailures.check(host, origin);
+        hostScheduler.acquire(host);
+
+        long start = System.nanoTime();
+        HostScheduler.Outcome outcome = HostScheduler.Outcome.ERROR;
+        try {
+            hostFailures.check(host, origin);
+            if (circuitBreaker != null) circuitBreaker.acquire(origin);
+            RequestBudget budget = site == null ? null : requestBudget;
+            if (budget != null) budget.acquire(site);
+            try {
+                checkPermits.acquire();
+                try {
+                    start = System.nanoTime();
+                    HttpFetcher.ProbeResponse response = statusProber.probe(url, host);
+                    outcome = HostScheduler.Outcome.fromStatusCode(response.statusCode());
+                    return response;
+                } finally {
+                    checkPermits.release();
+                }
+            } finally {
+                if (budget != null) budget.release(site);
+            }
+        } catch (HttpTimeoutException ex) {
+            outcome = HostScheduler.Outcome.TIMEOUT;
+            throw ex;
+        } finally {
+            // Laju host diatur ulang dari latensi & hasil request
+            hostScheduler.release(host, System.nanoTime() - start, outcome);
+        }
+    }
+
+    /**
+     * Origin {@code skema://host:port} dari URL (huruf kecil, port default diisi), kunci
+     * kegagalan yang hanya berlaku untuk satu server, bukan seluruh host.
+     *
+     * @return origin, atau null bila URL tidak punya skema/host
+     */
+    static String originOf(String url) {
+        try {
+            URI u = new URI(url);
+            String scheme = u.getScheme();
+            String host = u.getHost();
+            if (scheme == null || host == null) return null;
+            scheme = scheme.toLowerCase(Locale.ROOT);
+            int port = u.getPort();
+            if (port < 0) port = "https".equals(scheme) ? 443 : "http".equals(scheme) ? 80 : -1;
+            return scheme + "://" + host.toLowerCase(Locale.ROOT) + ":" + port;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Nama penyebab kegagalan untuk laporan. Host yang ditolak tanpa request dilaporkan dengan
+     * alasan aslinya: dari cache kegagalan host, atau dari percobaan pertama tautan ini bila
+     * pengulangannya ditolak circuit breaker.
+     */
+    private static String failureReason(IOException ex, IOException firstFailure) {
+        if (ex instanceof HostUnavailableException hu) {
+            if (hu.getReason() != null) return hu.getReason();
+            if (!(firstFailure instanceof HostUnavailableException)) return firstFailure.getClass().getSimpleName();
+        }
+        return ex.getClass().getSimpleName();
+    }
+}
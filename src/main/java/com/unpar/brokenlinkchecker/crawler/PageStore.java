@@ -0,0 +1,190 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.unpar.brokenlinkchecker.crawler.CrawlCheckpoint.readNullableString;
+import static com.unpar.brokenlinkchecker.crawler.CrawlCheckpoint.readString;
+import static com.unpar.brokenlinkchecker.crawler.CrawlCheckpoint.writeNullableString;
+import static com.unpar.brokenlinkchecker.crawler.CrawlCheckpoint.writeString;
+
+/**
+ * Penyimpanan lokal per situs untuk crawl ulang inkremental.
+ *
+ * Untuk setiap halaman disimpan validator HTTP (ETag, Last-Modified), hash isi, dan
+ * daftar tautan keluar yang diekstrak. Saat crawl berikutnya, halaman diminta dengan
+ * {@code If-None-Match}/{@code If-Modified-Since}; bila server menjawab 304 (atau isinya
+ * sama persis dengan hash tersimpan), download/parsing dilewati dan tautan tersimpan
+ * dipakai ulang. Tautan keluar tetap dicek statusnya seperti biasa.
+ *
+ * Satu file per host seed ({@code <dir>/<host>.pages}), dibaca saat crawl dimulai dan
+ * ditulis ulang secara atomik saat crawl berakhir. Entri halaman yang tidak dikunjungi
+ * pada crawl ini dipertahankan.
+ *
+ * Aman dipakai dari banyak thread.
+ */
+public class PageStore {
+
+    private static final int MAGIC = 0x424C5053; // "BLPS"
+    private static final int VERSION = 1;
+
+    /**
+     * Validator halaman dari crawl sebelumnya.
+     *
+     * @param etag         header ETag, null bila tidak ada
+     * @param lastModified header Last-Modified apa adanya, null bila tidak ada
+     * @param contentHash  hash 64-bit isi body yang dibaca
+     */
+    public record Validators(String etag, String lastModified, long contentHash) {
+    }
+
+    /**
+     * Tautan keluar yang diekstrak dari halaman: href absolut dan anchor text.
+     */
+    public record StoredLink(String href, String anchorText) {
+    }
+
+    public record Entry(Validators validators, List<StoredLink> links) {
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder reused = new LongAdder();
+    private volatile boolean dirty = false;
+
+    private PageStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Membuka store untuk host dari {@code seedUrl} di {@code directory}; isinya kosong
+     * bila belum ada atau formatnya tidak dikenali (crawl penuh).
+     */
+    public static PageStore open(Path directory, String seedUrl) throws IOException {
+        PageStore store = new PageStore(directory.resolve(fileNameFor(seedUrl)));
+        store.load();
+        return store;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Entry get(String url) {
+        return entries.get(url);
+    }
+
+    public void put(String url, Entry entry) {
+        entries.put(url, entry);
+        dirty = true;
+    }
+
+    /**
+     * Mencatat satu halaman yang dipakai ulang dari store (untuk statistik).
+     */
+    public void markReused() {
+        reused.increment();
+    }
+
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // =========================================================
+    // ======================== Disk I/O =======================
+    // =========================================================
+
+    /**
+     * Menulis seluruh isi store ke file sementara lalu memindahkannya secara atomik.
+     */
+    public synchronized void save() throws IOException {
+        if (!dirty) return;
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Validators v = e.getValue().validators();
+                writeString(out, e.getKey());
+                writeNullableString(out, v.etag());
+                writeNullableString(out, v.lastModified());
+                out.writeLong(v.contentHash());
+
+                List<StoredLink> links = e.getValue().links();
+                out.writeInt(links.size());
+                for (StoredLink l : links) {
+                    writeString(out, l.href());
+                    writeString(out, l.anchorText());
+                }
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dirty = false;
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return; // format lama/asing: mulai dari kosong, file ditimpa saat save
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String url = readString(in);
+                Validators v = new Validators(readNullableString(in), readNullableString(in), in.readLong());
+                int linkCount = in.readInt();
+                StoredLink[] links = new StoredLink[linkCount];
+                for (int j = 0; j < linkCount; j++) {
+                    links[j] = new StoredLink(readString(in), readString(in));
+                }
+                entries.put(url, new Entry(v, List.of(links)));
+            }
+        } catch (NoSuchFileException e) {
+            // crawl pertama untuk situs ini
+        } catch (EOFException e) {
+            entries.clear(); // file terpotong: anggap kosong (crawl penuh)
+        }
+    }
+
+    /**
+     * Nama file dari host seed, hanya karakter yang aman untuk semua sistem berkas.
+     */
+    private static String fileNameFor(String seedUrl) {
+        String host;
+        try {
+            host = URI.create(seedUrl).getHost();
+        } catch (IllegalArgumentException e) {
+            host = null;
+        }
+        if (host == null || host.isEmpty()) host = "unknown";
+        return host.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9.-]", "_") + ".pages";
+    }
+}
@@ -0,0 +1,198 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Frontier best-first: halaman diambil berdasarkan skor, bukan urutan ditemukan.
+ *
+ * Strategi yang tersedia:
+ * - SHALLOWEST     : halaman paling dangkal lebih dulu
+ * - MOST_LINKED    : halaman yang paling banyak ditautkan (inbound link) lebih dulu
+ * - BROKEN_SECTION : bagian situs (segmen path pertama) dengan rasio tautan rusak
+ *                    tertinggi lebih dulu, agar tautan rusak cepat ditemukan
+ *                    dalam waktu crawling yang terbatas
+ */
+public class PriorityFrontier implements Frontier {
+
+    public enum Strategy {
+        SHALLOWEST,
+        MOST_LINKED,
+        BROKEN_SECTION
+    }
+
+    private record Candidate(String url, int depth, int inbound, long seq) {
+    }
+
+    private static final class SectionStats {
+        final AtomicInteger checked = new AtomicInteger();
+        final AtomicInteger broken = new AtomicInteger();
+
+        double brokenRate() {
+            // Laplace smoothing: bagian yang belum diketahui diberi nilai tengah (0.5)
+            return (broken.get() + 1.0) / (checked.get() + 2.0);
+        }
+    }
+
+    private final Strategy strategy;
+    private final Comparator<Candidate> order;
+
+    // Satu antrian per bagian situs (untuk strategi selain BROKEN_SECTION hanya ada satu antrian)
+    private final Map<String, PriorityQueue<Candidate>> buckets = new HashMap<>();
+    // URL yang masih antri → kedalamannya; kandidat yang URL-nya tidak ada di sini dianggap basi
+    private final Map<String, Integer> queued = new HashMap<>();
+    private final Map<String, Integer> inboundCounts = new HashMap<>();
+    private final Map<String, SectionStats> sectionStats = new ConcurrentHashMap<>();
+
+    private long nextSeq = 0;
+
+    public PriorityFrontier(Strategy strategy) {
+        this.strategy = strategy;
+        Comparator<Candidate> byDepth = Comparator.comparingInt(Candidate::depth);
+        Comparator<Candidate> bySeq = Comparator.comparingLong(Candidate::seq);
+        this.order = switch (strategy) {
+            case MOST_LINKED -> Comparator.comparingInt(Candidate::inbound).reversed().thenComparing(byDepth).thenComparing(bySeq);
+            case SHALLOWEST, BROKEN_SECTION -> byDepth.thenComparing(bySeq);
+        };
+    }
+
+    @Override
+    public void addAll(List<String> urls, int depth) {
+        for (String url : urls) {
+            queued.put(url, depth);
+            enqueue(url, depth);
+        }
+    }
+
+    @Override
+    public Entry peek() {
+        PriorityQueue<Candidate> bucket = selectBucket();
+        if (bucket == null) return null;
+        Candidate c = bucket.peek();
+        return new Entry(c.url(), c.depth());
+    }
+
+    @Override
+    public Entry poll() {
+        PriorityQueue<Candidate> bucket = selectBucket();
+        if (bucket == null) return null;
+        Candidate c = bucket.poll();
+        queued.remove(c.url());
+        return new Entry(c.url(), c.depth());
+    }
+
+    @Override
+    public int size() {
+        return queued.size();
+    }
+
+    /**
+     * Urutan tidak berpengaruh karena frontier ini mengurutkan ulang berdasarkan skor.
+     * Skor dinamis (jumlah inbound, statistik bagian) tidak ikut disimpan.
+     */
+    @Override
+    public void snapshot(Consumer<Entry> action) {
+        queued.forEach((url, depth) -> action.accept(new Entry(url, depth)));
+    }
+
+    @Override
+    public void onLinkDiscovered(String url) {
+        inboundCounts.merge(url, 1, Integer::sum);
+
+        // PriorityQueue tidak mendukung decrease-key: masukkan kandidat baru dengan skor terkini,
+        // kandidat lama akan dilewati saat diambil karena jumlah inbound-nya sudah basi.
+        if (strategy == Strategy.MOST_LINKED) {
+            Integer depth = queued.get(url);
+            if (depth != null) {
+                enqueue(url, depth);
+            }
+        }
+    }
+
+    @Override
+    public void onLinkChecked(String sourcePage, boolean broken) {
+        if (strategy != Strategy.BROKEN_SECTION) return;
+
+        SectionStats stats = sectionStats.computeIfAbsent(sectionOf(sourcePage), s -> new SectionStats());
+        stats.checked.incrementAndGet();
+        if (broken) stats.broken.incrementAndGet();
+    }
+
+    // ===================== Helper =====================
+    private void enqueue(String url, int depth) {
+        String key = strategy == Strategy.BROKEN_SECTION ? sectionOf(url) : "";
+        int inbound = inboundCounts.getOrDefault(url, 0);
+        buckets.computeIfAbsent(key, k -> new PriorityQueue<>(order))
+                .add(new Candidate(url, depth, inbound, nextSeq++));
+    }
+
+    /**
+     * Memilih antrian dengan skor tertinggi dan membuang kandidat basi di puncaknya.
+     *
+     * @return antrian terpilih (tidak kosong), atau null bila frontier kosong
+     */
+    private PriorityQueue<Candidate> selectBucket() {
+        PriorityQueue<Candidate> best = null;
+        double bestRate = -1;
+        long bestSeq = Long.MAX_VALUE;
+
+        Iterator<Map.Entry<String, PriorityQueue<Candidate>>> it = buckets.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, PriorityQueue<Candidate>> e = it.next();
+            PriorityQueue<Candidate> bucket = e.getValue();
+            dropStale(bucket);
+            if (bucket.isEmpty()) {
+                it.remove();
+                continue;
+            }
+
+            SectionStats stats = sectionStats.get(e.getKey());
+            double rate = stats == null ? 0.5 : stats.brokenRate();
+            long headSeq = bucket.peek().seq();
+            // Skor sama → bagian yang kandidatnya lebih dulu ditemukan
+            if (rate > bestRate || (rate == bestRate && headSeq < bestSeq)) {
+                best = bucket;
+                bestRate = rate;
+                bestSeq = headSeq;
+            }
+        }
+        return best;
+    }
+
+    private void dropStale(PriorityQueue<Candidate> bucket) {
+        while (!bucket.isEmpty()) {
+            Candidate top = bucket.peek();
+            boolean stillQueued = queued.containsKey(top.url());
+            boolean staleScore = strategy == Strategy.MOST_LINKED
+                    && top.inbound() != inboundCounts.getOrDefault(top.url(), 0);
+            if (stillQueued && !staleScore) return;
+            bucket.poll();
+        }
+    }
+
+    /**
+     * Bagian situs = host + segmen path pertama, mis. "example.com/news".
+     * Halaman di root (mis. "/about.html") masuk ke bagian "example.com/".
+     */
+    static String sectionOf(String url) {
+        try {
+            URI u = new URI(url);
+            String host = u.getHost() == null ? "" : u.getHost().toLowerCase();
+            String path = u.getRawPath() == null ? "" : u.getRawPath();
+            if (path.startsWith("/")) path = path.substring(1);
+            int slash = path.indexOf('/');
+            return host + "/" + (slash < 0 ? "" : path.substring(0, slash));
+        } catch (URISyntaxException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Jatah request bersama untuk banyak situs yang dicrawl bersamaan (batch job).
+ *
+ * - batas global: jumlah request (fetch halaman + pengecekan tautan) yang berjalan bersamaan
+ * - batas per situs: satu situs tidak boleh memakai lebih dari {@code perSiteLimit} slot
+ * - adil: slot yang dilepas diberikan bergiliran (round-robin) ke situs yang sedang menunggu,
+ *   bukan ke request yang paling dulu mengantri, sehingga situs kecil tidak tertahan di belakang
+ *   ribuan request milik satu situs besar
+ *
+ * Situs di sini adalah kunci bebas (mis. seed URL), berbeda dengan host pada
+ * {@link HostScheduler}: satu situs bisa menautkan banyak host. Lock memakai
+ * {@link ReentrantLock} agar tidak mem-pin virtual thread.
+ */
+public class RequestBudget {
+
+    private final int globalLimit;
+    private final int perSiteLimit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Site> sites = new HashMap<>();
+    // Situs yang punya request menunggu dan masih di bawah batas per situs, dalam urutan giliran
+    private final ArrayDeque<Site> turn = new ArrayDeque<>();
+    private int inFlight = 0;
+
+    /**
+     * @param globalLimit  jumlah request bersamaan untuk semua situs
+     * @param perSiteLimit jumlah request bersamaan untuk satu situs
+     */
+    public RequestBudget(int globalLimit, int perSiteLimit) {
+        if (globalLimit < 1 || perSiteLimit < 1) {
+            throw new IllegalArgumentException("batas request harus >= 1");
+        }
+        this.globalLimit = globalLimit;
+        this.perSiteLimit = perSiteLimit;
+    }
+
+    /**
+     * Menunggu satu slot untuk {@code site}. Setiap acquire yang berhasil harus diikuti
+     * {@link #release(String)} dengan kunci situs yang sama.
+     */
+    public void acquire(String site) throws InterruptedException {
+        lock.lock();
+        try {
+            Site s = sites.computeIfAbsent(site, Site::new);
+            // Tanpa antrian: bila ada slot, tidak ada penunggu lain yang berhak atasnya
+            // (slot kosong selalu langsung dibagikan oleh dispatch())
+            if (inFlight < globalLimit && s.inFlight < perSiteLimit) {
+                grant(s);
+                return;
+            }
+
+            Waiter w = new Waiter(lock.newCondition());
+            s.waiters.addLast(w);
+            enqueueTurn(s);
+            try {
+                while (!w.granted) w.ready.await();
+            } catch (InterruptedException e) {
+                if (w.granted) {
+                    // Slot sudah diberikan bersamaan dengan interupsi: kembalikan
+                    releaseLocked(s);
+                } else {
+                    s.waiters.remove(w);
+                    forgetIfIdle(s);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(String site) {
+        lock.lock();
+        try {
+            Site s = sites.get(site);
+            if (s == null || s.inFlight == 0) {
+                throw new IllegalStateException("release tanpa acquire untuk situs " + site);
+            }
+            releaseLocked(s);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Jumlah request yang sedang memegang slot (untuk pemantauan).
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Jumlah request yang sedang memegang slot milik satu situs (untuk pemantauan).
+     */
+    public int getInFlight(String site) {
+        lock.lock();
+        try {
+            Site s = sites.get(site);
+            return s == null ? 0 : s.inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // =========================================================
+    // ======================= Internal ========================
+    // =========================================================
+    private void grant(Site s) {
+        s.inFlight++;
+        inFlight++;
+    }
+
+    private void releaseLocked(Site s) {
+        s.inFlight--;
+        inFlight--;
+        if (!s.waiters.isEmpty()) enqueueTurn(s);
+        dispatch();
+        forgetIfIdle(s);
+    }
+
+    /**
+     * Membagikan slot kosong ke situs yang menunggu, satu request per situs per giliran.
+     */
+    private void dispatch() {
+        while (inFlight < globalLimit && !turn.isEmpty()) {
+            Site s = turn.pollFirst();
+            s.inTurn = false;
+            if (s.waiters.isEmpty() || s.inFlight >= perSiteLimit) {
+                // Penunggunya batal / sudah penuh: masuk giliran lagi saat slot situs ini dilepas
+                forgetIfIdle(s);
+                continue;
+            }
+
+            Waiter w = s.waiters.pollFirst();
+            grant(s);
+            w.granted = true;
+            w.ready.signal();
+            // Masih ada yang menunggu: kembali ke ujung antrian giliran
+            enqueueTurn(s);
+        }
+    }
+
+    private void enqueueTurn(Site s) {
+        if (!s.inTurn && !s.waiters.isEmpty() && s.inFlight < perSiteLimit) {
+            s.inTurn = true;
+            turn.addLast(s);
+        }
+    }
+
+    private void forgetIfIdle(Site s) {
+        if (s.inFlight == 0 && s.waiters.isEmpty() && !s.inTurn) sites.remove(s.key);
+    }
+
+    private static final class Site {
+        final String key;
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        int inFlight = 0;
+        boolean inTurn = false;
+
+        Site(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Waiter {
+        final Condition ready;
+        boolean granted = false;
+
+        Waiter(Condition ready) {
+            this.ready = ready;
+        }
+    }
+}
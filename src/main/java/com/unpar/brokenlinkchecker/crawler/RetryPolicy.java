@@ -0,0 +1,137 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aturan pengulangan pengecekan tautan yang gagal sementara.
+ *
+ * - yang diulang: timeout, koneksi terputus, dan status 429/502/503/504
+ * - jeda: exponential backoff dengan full jitter, {@code acak(0, min(maxDelay, baseDelay * 2^n))},
+ *   agar banyak task yang gagal bersamaan tidak mencoba lagi secara serempak
+ * - {@code Retry-After} dari server dipatuhi (detik atau tanggal HTTP); bila lebih lama dari
+ *   {@link #getMaxRetryAfter()}, tidak diulang dan status apa adanya yang dilaporkan
+ *
+ * Objek ini immutable dan aman dipakai bersama.
+ */
+public final class RetryPolicy {
+
+    /** 3 percobaan, jeda awal 500 ms, jeda maksimum 8 detik, Retry-After maksimum 30 detik. */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, Duration.ofMillis(500), Duration.ofSeconds(8),
+            Duration.ofSeconds(30));
+    /** Tanpa pengulangan: setiap tautan dicek tepat satu kali. */
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final Duration maxRetryAfter;
+
+    /**
+     * @param maxAttempts   jumlah percobaan total (1 = tanpa pengulangan)
+     * @param baseDelay     jeda sebelum pengulangan pertama (batas atas jitter)
+     * @param maxDelay      batas atas jeda backoff
+     * @param maxRetryAfter Retry-After terlama yang masih ditunggu
+     */
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration maxRetryAfter) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts harus >= 1");
+        }
+        if (baseDelay.isNegative() || maxDelay.isNegative() || maxRetryAfter.isNegative()) {
+            throw new IllegalArgumentException("jeda tidak boleh negatif");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = Math.max(baseDelayNanos, maxDelay.toNanos());
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    /**
+     * Kebijakan default dengan jumlah percobaan yang berbeda.
+     */
+    public static RetryPolicy withMaxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, DEFAULT.baseDelay(), DEFAULT.maxDelay(), DEFAULT.maxRetryAfter);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    /**
+     * Status yang menandakan server sedang sibuk/gangguan sementara.
+     */
+    public boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Kegagalan jaringan yang layak dicoba lagi (timeout, koneksi terputus). Kegagalan TLS,
+     * DNS, dan koneksi ditolak tidak akan berubah dengan mencoba lagi; host yang sudah
+     * ditolak tanpa request juga tidak diulang.
+     */
+    public boolean isRetryable(IOException e) {
+        return !(e instanceof SSLException) && !(e instanceof ConnectException)
+                && !(e instanceof HostUnavailableException);
+    }
+
+    /**
+     * Jeda sebelum percobaan berikutnya.
+     *
+     * @param attempt    nomor percobaan yang baru gagal (mulai 1)
+     * @param retryAfter jeda yang diminta server, atau null
+     * @return jeda dalam nanodetik
+     */
+    public long backoffNanos(int attempt, Duration retryAfter) {
+        if (retryAfter != null) {
+            // Permintaan server dipatuhi, ditambah sedikit jitter agar tidak serempak
+            long requested = retryAfter.toNanos();
+            return requested + ThreadLocalRandom.current().nextLong(baseDelayNanos + 1);
+        }
+        int shift = Math.min(attempt - 1, 30);
+        long ceiling = Math.min(maxDelayNanos, baseDelayNanos << shift);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Mengurai header Retry-After: jumlah detik ("120") atau tanggal HTTP
+     * ("Wed, 21 Oct 2015 07:28:00 GMT").
+     *
+     * @return jeda yang diminta (tidak negatif), atau null bila tidak ada / tidak valid
+     */
+    public static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) return null;
+        String v = value.trim();
+        try {
+            long seconds = Long.parseLong(v);
+            return seconds < 0 ? null : Duration.ofSeconds(seconds);
+        } catch (NumberFormatException ignored) {
+            // bukan detik: coba sebagai tanggal HTTP
+        }
+        try {
+            Instant at = ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration d = Duration.between(Instant.now(), at);
+            return d.isNegative() ? Duration.ZERO : d;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private Duration baseDelay() {
+        return Duration.ofNanos(baseDelayNanos);
+    }
+
+    private Duration maxDelay() {
+        return Duration.ofNanos(maxDelayNanos);
+    }
+}
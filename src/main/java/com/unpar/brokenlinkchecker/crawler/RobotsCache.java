@@ -0,0 +1,143 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import com.unpar.brokenlinkchecker.util.SizeLimitedInputStream;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache robots.txt per origin (skema + host + port) dengan TTL.
+ *
+ * robots.txt setiap origin hanya diambil sekali per TTL; task lain yang butuh origin yang
+ * sama saat pengambilan berlangsung menunggu hasil yang sama (single-flight, seperti
+ * {@link StatusCache}). Penanganan respons mengikuti RFC 9309:
+ * - 2xx        : aturan di-parse (maksimal {@link #MAX_ROBOTS_BYTES} byte pertama)
+ * - 3xx/4xx    : tidak ada batasan (kecuali 429)
+ * - 5xx / 429 / gagal jaringan : seluruh situs dianggap terlarang; dicoba lagi setelah
+ *   {@link #ERROR_TTL} (lebih pendek dari TTL normal)
+ */
+public class RobotsCache {
+
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    private static final Duration ERROR_TTL = Duration.ofMinutes(5);
+    private static final int MAX_ROBOTS_BYTES = 500 * 1024;
+
+    private record Cached(RobotsTxt robots, long expiresAtNanos) {
+    }
+
+    private final HttpFetcher fetcher;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, CompletableFuture<Cached>> entries = new ConcurrentHashMap<>();
+    private final LongAdder disallowed = new LongAdder();
+    private volatile BiConsumer<String, RobotsTxt> onLoaded;
+
+    public RobotsCache(HttpFetcher fetcher, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl harus > 0");
+        }
+        this.fetcher = fetcher;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Dipanggil setiap kali robots.txt sebuah host selesai diambil (host, aturan),
+     * mis. untuk meneruskan Crawl-delay ke {@link HostScheduler}.
+     */
+    public void setOnLoaded(BiConsumer<String, RobotsTxt> onLoaded) {
+        this.onLoaded = onLoaded;
+    }
+
+    /**
+     * Apakah {@code url} boleh dicrawl menurut robots.txt host-nya.
+     */
+    public boolean isAllowed(String url) throws InterruptedException {
+        boolean allowed = get(url).isAllowed(url);
+        if (!allowed) disallowed.increment();
+        return allowed;
+    }
+
+    /**
+     * Jumlah URL yang ditolak robots.txt (untuk pemantauan).
+     */
+    public long getDisallowedCount() {
+        return disallowed.sum();
+    }
+
+    /**
+     * Aturan robots.txt untuk origin dari {@code url}; diambil dari jaringan bila belum ada
+     * di cache atau sudah kedaluwarsa.
+     */
+    public RobotsTxt get(String url) throws InterruptedException {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return RobotsTxt.ALLOW_ALL;
+        }
+        if (uri.getScheme() == null || uri.getRawAuthority() == null) return RobotsTxt.ALLOW_ALL;
+        String origin = uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getRawAuthority().toLowerCase(Locale.ROOT);
+
+        while (true) {
+            CompletableFuture<Cached> mine = new CompletableFuture<>();
+            CompletableFuture<Cached> existing = entries.putIfAbsent(origin, mine);
+
+            if (existing == null) {
+                Cached loaded;
+                try {
+                    loaded = load(origin);
+                } catch (InterruptedException e) {
+                    // Batal: task lain yang menunggu akan mencoba mengambil sendiri
+                    entries.remove(origin, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+                mine.complete(loaded);
+                BiConsumer<String, RobotsTxt> listener = onLoaded;
+                if (listener != null) listener.accept(uri.getHost(), loaded.robots());
+                return loaded.robots();
+            }
+
+            Cached cached;
+            try {
+                cached = existing.get();
+            } catch (ExecutionException e) {
+                continue; // pengambilan oleh task lain dibatalkan
+            }
+            if (System.nanoTime() - cached.expiresAtNanos() < 0) {
+                return cached.robots();
+            }
+            // Kedaluwarsa: hapus lalu ulangi (hanya satu task yang akan mengambil ulang)
+            entries.remove(origin, existing);
+        }
+    }
+
+    private Cached load(String origin) throws InterruptedException {
+        RobotsTxt robots;
+        long ttl = ttlNanos;
+        try (HttpFetcher.PageResponse response = fetcher.get(origin + "/robots.txt")) {
+            int code = response.statusCode();
+            if (code >= 200 && code < 300) {
+                byte[] body = new SizeLimitedInputStream(response.body(), MAX_ROBOTS_BYTES).readAllBytes();
+                robots = RobotsTxt.parse(new String(body, StandardCharsets.UTF_8));
+            } else if (code >= 300 && code < 500 && code != 429) {
+                // Tidak tersedia (termasuk redirect yang tidak bisa diikuti): tanpa batasan
+                robots = RobotsTxt.ALLOW_ALL;
+            } else {
+                robots = RobotsTxt.DISALLOW_ALL;
+                ttl = Math.min(ttl, ERROR_TTL.toNanos());
+            }
+        } catch (IOException | RuntimeException e) {
+            robots = RobotsTxt.DISALLOW_ALL;
+            ttl = Math.min(ttl, ERROR_TTL.toNanos());
+        }
+        return new Cached(robots, System.nanoTime() + ttl);
+    }
+}
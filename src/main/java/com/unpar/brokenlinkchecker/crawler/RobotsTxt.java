@@ -0,0 +1,206 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aturan robots.txt (RFC 9309) untuk satu host, sudah dipilih untuk user agent crawler ini.
+ *
+ * - grup yang cocok dengan product token kita dipakai; bila tidak ada, grup {@code *}
+ * - pola mendukung wildcard {@code *} dan jangkar akhir {@code $}
+ * - aturan dengan pola terpanjang yang cocok menang; bila sama panjang, Allow menang
+ *
+ * Aturan diurutkan sekali saat parsing (terpanjang dulu), sehingga pengecekan berhenti di
+ * aturan pertama yang cocok. Pola tanpa wildcard dicocokkan sebagai awalan biasa.
+ */
+public class RobotsTxt {
+
+    /** Product token yang dicari di baris User-agent (tidak peka huruf besar/kecil). */
+    public static final String PRODUCT_TOKEN = "brokenlinkchecker";
+
+    public static final RobotsTxt ALLOW_ALL = new RobotsTxt(List.of(), null, List.of());
+    public static final RobotsTxt DISALLOW_ALL = new RobotsTxt(List.of(new Rule("/", false)), null, List.of());
+
+    private record Rule(String pattern, boolean allow, String[] segments, boolean anchored) {
+
+        Rule(String pattern, boolean allow) {
+            this(pattern, allow, splitPattern(pattern), pattern.endsWith("$"));
+        }
+
+        boolean matches(String path) {
+            if (segments.length == 1 && !anchored) {
+                return path.startsWith(segments[0]);
+            }
+            return wildcardMatch(path, segments, anchored);
+        }
+    }
+
+    private final List<Rule> rules;
+    private final Duration crawlDelay;
+    private final List<String> sitemaps;
+
+    private RobotsTxt(List<Rule> rules, Duration crawlDelay, List<String> sitemaps) {
+        this.rules = rules;
+        this.crawlDelay = crawlDelay;
+        this.sitemaps = sitemaps;
+    }
+
+    /**
+     * Crawl-delay untuk grup terpilih, atau null bila tidak ditentukan.
+     */
+    public Duration getCrawlDelay() {
+        return crawlDelay;
+    }
+
+    /**
+     * URL sitemap yang disebut di robots.txt (berlaku untuk semua user agent).
+     */
+    public List<String> getSitemaps() {
+        return sitemaps;
+    }
+
+    /**
+     * @param url URL absolut; hanya path dan query yang dicocokkan
+     */
+    public boolean isAllowed(String url) {
+        if (rules.isEmpty()) return true;
+        String path = pathAndQuery(url);
+        if (path.equals("/robots.txt")) return true;
+
+        for (Rule r : rules) {
+            if (r.matches(path)) return r.allow();
+        }
+        return true;
+    }
+
+    // =========================================================
+    // ========================= Parsing =======================
+    // =========================================================
+    public static RobotsTxt parse(String content) {
+        List<Rule> specific = new ArrayList<>();
+        List<Rule> wildcard = new ArrayList<>();
+        Duration specificDelay = null;
+        Duration wildcardDelay = null;
+        boolean foundSpecific = false;
+        List<String> sitemaps = new ArrayList<>();
+
+        // State grup yang sedang dibaca
+        boolean inAgentLines = false;
+        boolean groupSpecific = false;
+        boolean groupWildcard = false;
+
+        for (String rawLine : content.split("\r\n|\r|\n")) {
+            int hash = rawLine.indexOf('#');
+            String line = (hash >= 0 ? rawLine.substring(0, hash) : rawLine).strip();
+            int colon = line.indexOf(':');
+            if (colon <= 0) continue;
+
+            String key = line.substring(0, colon).strip().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).strip();
+
+            switch (key) {
+                case "user-agent" -> {
+                    if (!inAgentLines) {
+                        // Baris User-agent pertama setelah aturan: grup baru dimulai
+                        groupSpecific = false;
+                        groupWildcard = false;
+                        inAgentLines = true;
+                    }
+                    String agent = value.toLowerCase(Locale.ROOT);
+                    if (agent.equals("*")) {
+                        groupWildcard = true;
+                    } else if (agent.split("/", 2)[0].strip().equals(PRODUCT_TOKEN)) {
+                        groupSpecific = true;
+                        foundSpecific = true;
+                    }
+                }
+                case "allow", "disallow" -> {
+                    inAgentLines = false;
+                    if (value.isEmpty()) continue; // "Disallow:" kosong = tidak membatasi apa pun
+                    Rule rule = new Rule(normalizePattern(value), key.equals("allow"));
+                    if (groupSpecific) specific.add(rule);
+                    if (groupWildcard) wildcard.add(rule);
+                }
+                case "crawl-delay" -> {
+                    inAgentLines = false;
+                    Duration delay = parseDelay(value);
+                    if (delay == null) continue;
+                    if (groupSpecific) specificDelay = delay;
+                    if (groupWildcard) wildcardDelay = delay;
+                }
+                case "sitemap" -> {
+                    if (!value.isEmpty()) sitemaps.add(value);
+                }
+                default -> inAgentLines = false;
+            }
+        }
+
+        List<Rule> chosen = new ArrayList<>(foundSpecific ? specific : wildcard);
+        // Pola terpanjang dulu; untuk panjang yang sama Allow didahulukan
+        chosen.sort(Comparator.comparingInt((Rule r) -> r.pattern().length()).reversed()
+                .thenComparing(r -> !r.allow()));
+        return new RobotsTxt(List.copyOf(chosen), foundSpecific ? specificDelay : wildcardDelay, List.copyOf(sitemaps));
+    }
+
+    private static String normalizePattern(String value) {
+        return value.startsWith("/") || value.startsWith("*") ? value : "/" + value;
+    }
+
+    private static Duration parseDelay(String value) {
+        try {
+            double seconds = Double.parseDouble(value);
+            if (seconds <= 0 || Double.isNaN(seconds) || Double.isInfinite(seconds)) return null;
+            return Duration.ofMillis((long) (seconds * 1000));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // =========================================================
+    // ======================== Matching =======================
+    // =========================================================
+    private static String[] splitPattern(String pattern) {
+        String p = pattern.endsWith("$") ? pattern.substring(0, pattern.length() - 1) : pattern;
+        return p.split("\\*", -1);
+    }
+
+    /**
+     * Pencocokan pola dengan '*' (segmen dicari berurutan, paling kiri dulu). Untuk pola
+     * berjangkar '$', segmen terakhir harus tepat berada di akhir path.
+     */
+    private static boolean wildcardMatch(String path, String[] segments, boolean anchored) {
+        if (!path.startsWith(segments[0])) return false;
+        int pos = segments[0].length();
+        int last = segments.length - 1;
+
+        if (last == 0) {
+            return !anchored || pos == path.length();
+        }
+        for (int i = 1; i < last; i++) {
+            int found = path.indexOf(segments[i], pos);
+            if (found < 0) return false;
+            pos = found + segments[i].length();
+        }
+
+        String tail = segments[last];
+        if (anchored) {
+            return path.length() - tail.length() >= pos && path.endsWith(tail);
+        }
+        return path.indexOf(tail, pos) >= 0;
+    }
+
+    private static String pathAndQuery(String url) {
+        try {
+            URI uri = new URI(url);
+            String path = uri.getRawPath();
+            if (path == null || path.isEmpty()) path = "/";
+            return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+        } catch (Exception e) {
+            return "/";
+        }
+    }
+}
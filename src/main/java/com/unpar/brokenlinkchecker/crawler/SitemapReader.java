@@ -0,0 +1,206 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import com.unpar.brokenlinkchecker.util.SizeLimitedInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Pembaca sitemap (sitemaps.org) untuk mengisi frontier di awal crawling.
+ *
+ * - mendukung {@code <urlset>} dan {@code <sitemapindex>} (diikuti secara rekursif)
+ * - sitemap ter-gzip dikenali dari magic byte-nya, bukan dari nama file/header
+ * - dibaca dengan StAX (streaming), sehingga sitemap 50.000 URL tidak dimuat sebagai DOM
+ * - DTD & entitas eksternal dimatikan (aman dari XXE)
+ *
+ * Sitemap yang gagal diambil/di-parse dilewati; URL yang sudah terbaca sebelumnya tetap dipakai.
+ */
+public class SitemapReader {
+
+    /**
+     * Satu URL dari sitemap beserta {@code <lastmod>} (null bila tidak ada / tidak valid).
+     */
+    public record Entry(String url, Instant lastModified) {
+    }
+
+    // Batas protokol sitemap: 50 MB tak terkompresi per file
+    private static final long MAX_SITEMAP_BYTES = 50L * 1024 * 1024;
+    private static final int MAX_SITEMAP_FILES = 1000;
+
+    private final HttpFetcher fetcher;
+    private final int maxUrls;
+    private final XMLInputFactory xmlFactory;
+    private int failedCount = 0;
+    private int sitemapCount = 0;
+
+    /**
+     * @param maxUrls batas jumlah URL halaman yang dikumpulkan dari seluruh sitemap
+     */
+    public SitemapReader(HttpFetcher fetcher, int maxUrls) {
+        this.fetcher = fetcher;
+        this.maxUrls = maxUrls;
+        this.xmlFactory = XMLInputFactory.newFactory();
+        xmlFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /**
+     * Membaca semua sitemap (termasuk sitemap di dalam index) mulai dari {@code sitemapUrls}.
+     */
+    public List<Entry> read(List<String> sitemapUrls) throws InterruptedException {
+        List<Entry> entries = new ArrayList<>();
+        Deque<String> pending = new ArrayDeque<>(sitemapUrls);
+        Set<String> seen = new HashSet<>(sitemapUrls);
+
+        while (!pending.isEmpty() && entries.size() < maxUrls && sitemapCount < MAX_SITEMAP_FILES) {
+            String sitemapUrl = pending.poll();
+            sitemapCount++;
+            try {
+                readOne(sitemapUrl, entries, nested -> {
+                    if (seen.add(nested)) pending.add(nested);
+                });
+            } catch (IOException | XMLStreamException | RuntimeException e) {
+                // Pembacaan body yang diinterupsi muncul sebagai IOException
+                if (Thread.interrupted()) throw new InterruptedException();
+                failedCount++;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Jumlah file sitemap yang gagal diambil atau di-parse pada pemanggilan terakhir.
+     */
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public int getSitemapCount() {
+        return sitemapCount;
+    }
+
+    private void readOne(String sitemapUrl, List<Entry> entries, Consumer<String> nestedSitemap)
+            throws IOException, InterruptedException, XMLStreamException {
+        try (HttpFetcher.PageResponse response = fetcher.get(sitemapUrl)) {
+            if (response.statusCode() >= 300) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            try (InputStream body = new SizeLimitedInputStream(decompress(response.body()), MAX_SITEMAP_BYTES)) {
+                XMLStreamReader xml = xmlFactory.createXMLStreamReader(body);
+                try {
+                    parse(xml, entries, nestedSitemap);
+                } finally {
+                    xml.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Membaca {@code <url>}/{@code <sitemap>} beserta {@code <loc>} & {@code <lastmod>} tanpa
+     * memperhatikan namespace (banyak sitemap di lapangan salah menulis namespace).
+     */
+    private void parse(XMLStreamReader xml, List<Entry> entries, Consumer<String> nestedSitemap)
+            throws XMLStreamException {
+        boolean inUrl = false;
+        boolean inSitemap = false;
+        String loc = null;
+        String lastmod = null;
+        StringBuilder text = new StringBuilder();
+
+        while (xml.hasNext() && entries.size() < maxUrls) {
+            int event = xml.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    String name = xml.getLocalName();
+                    if (name.equals("url")) {
+                        inUrl = true;
+                        loc = null;
+                        lastmod = null;
+                    } else if (name.equals("sitemap")) {
+                        inSitemap = true;
+                        loc = null;
+                    }
+                    text.setLength(0);
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text.append(xml.getText());
+                case XMLStreamConstants.END_ELEMENT -> {
+                    String name = xml.getLocalName();
+                    switch (name) {
+                        case "loc" -> loc = text.toString().strip();
+                        case "lastmod" -> lastmod = text.toString().strip();
+                        case "url" -> {
+                            if (inUrl && loc != null && !loc.isEmpty()) {
+                                entries.add(new Entry(loc, parseLastmod(lastmod)));
+                            }
+                            inUrl = false;
+                        }
+                        case "sitemap" -> {
+                            if (inSitemap && loc != null && !loc.isEmpty()) {
+                                nestedSitemap.accept(loc);
+                            }
+                            inSitemap = false;
+                        }
+                        default -> {
+                        }
+                    }
+                    text.setLength(0);
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Membuka gzip bila dua byte pertama adalah magic number gzip (1f 8b).
+     */
+    private static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 8192);
+        buffered.mark(2);
+        int b1 = buffered.read();
+        int b2 = buffered.read();
+        buffered.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(buffered, 8192);
+        }
+        return buffered;
+    }
+
+    /**
+     * Format W3C Datetime: YYYY, YYYY-MM, YYYY-MM-DD, atau tanggal+jam dengan zona waktu.
+     */
+    static Instant parseLastmod(String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return switch (value.length()) {
+                case 4 -> LocalDate.of(Integer.parseInt(value), 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC);
+                case 7 -> YearMonth.parse(value).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+                case 10 -> LocalDate.parse(value).atStartOfDay().toInstant(ZoneOffset.UTC);
+                default -> OffsetDateTime.parse(value).toInstant();
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache status tautan selama satu sesi crawling (single-flight).
+ *
+ * Setiap URL unik hanya dicek sekali. Bila beberapa task meminta URL yang sama
+ * secara bersamaan, hanya task pertama yang benar-benar mengirim request;
+ * task lain menunggu hasil yang sama (bergabung ke pengecekan yang sedang berjalan).
+ */
+public class StatusCache {
+
+    private final ConcurrentHashMap<String, CompletableFuture<String>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Mengambil status dari cache, atau memanggil {@code loader} bila URL belum pernah dicek.
+     * Hasil null dari loader (mis. karena dibatalkan) tidak disimpan ke cache.
+     *
+     * @return status URL, atau null bila pengecekan dibatalkan/diinterupsi
+     */
+    public String get(String url, Function<String, String> loader) {
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = entries.putIfAbsent(url, mine);
+
+        if (existing != null) {
+            hits.increment();
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException re) throw re;
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        misses.increment();
+        try {
+            String status = loader.apply(url);
+            if (status == null) {
+                // Jangan simpan hasil batal; task berikutnya boleh mencoba lagi
+                entries.remove(url, mine);
+            }
+            mine.complete(status);
+            return status;
+        } catch (RuntimeException e) {
+            entries.remove(url, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Mengisi cache dengan status yang sudah diketahui (mis. hasil dari checkpoint),
+     * tanpa menimpa status yang sudah ada.
+     */
+    public void put(String url, String status) {
+        entries.putIfAbsent(url, CompletableFuture.completedFuture(status));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
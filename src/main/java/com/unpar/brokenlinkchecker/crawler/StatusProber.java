@@ -0,0 +1,74 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Strategi pengecekan status tautan yang murah dulu, tanpa pernah mengunduh body penuh:
+ *
+ * 1. HEAD
+ * 2. bila HEAD ditolak (405/501) atau menjawab error (4xx/5xx selain 429/503), ulangi dengan
+ *    GET {@code Range: bytes=0-0} yang body-nya langsung dibatalkan setelah header diterima
+ *
+ * Per host diingat method yang bekerja: host yang terbukti salah menjawab HEAD langsung
+ * memakai GET ranged untuk tautan berikutnya, sehingga tidak ada request HEAD yang terbuang.
+ *
+ * Respons 206 Partial Content dan 416 Range Not Satisfiable (resource kosong) dari GET
+ * ranged dilaporkan sebagai 200, karena keduanya berarti resource ada.
+ */
+public class StatusProber {
+
+    private enum Method {
+        HEAD, RANGED_GET
+    }
+
+    private final HttpFetcher fetcher;
+    private final ConcurrentHashMap<String, Method> hostMethods = new ConcurrentHashMap<>();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public StatusProber(HttpFetcher fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * @return status HTTP tautan (beserta Retry-After bila ada)
+     */
+    public HttpFetcher.ProbeResponse probe(String url, String host) throws IOException, InterruptedException {
+        if (hostMethods.get(host) == Method.RANGED_GET) {
+            return rangedGet(url);
+        }
+
+        HttpFetcher.ProbeResponse head = fetcher.head(url);
+        int headCode = head.statusCode();
+        if (!needsFallback(headCode)) {
+            hostMethods.putIfAbsent(host, Method.HEAD);
+            return head;
+        }
+
+        fallbacks.increment();
+        HttpFetcher.ProbeResponse get = rangedGet(url);
+        if (headCode == 405 || headCode == 501 || (get.statusCode() < 400 && hostMethods.get(host) != Method.HEAD)) {
+            // HEAD ditolak atau menjawab keliru, dan host belum pernah terbukti menjawab HEAD dengan benar
+            hostMethods.put(host, Method.RANGED_GET);
+        }
+        return get;
+    }
+
+    /**
+     * Jumlah tautan yang perlu diulang dengan GET ranged setelah HEAD (untuk pemantauan).
+     */
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    private HttpFetcher.ProbeResponse rangedGet(String url) throws IOException, InterruptedException {
+        HttpFetcher.ProbeResponse response = fetcher.rangeProbe(url);
+        int code = response.statusCode();
+        return (code == 206 || code == 416) ? new HttpFetcher.ProbeResponse(200, response.retryAfter()) : response;
+    }
+
+    private static boolean needsFallback(int headCode) {
+        return headCode >= 400 && headCode != 429 && headCode != 503;
+    }
+}
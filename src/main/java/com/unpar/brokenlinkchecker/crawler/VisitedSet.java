@@ -0,0 +1,39 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Himpunan URL halaman yang sudah pernah dimasukkan ke frontier.
+ *
+ * Implementasi tidak wajib thread-safe: visited set hanya diakses oleh thread crawler.
+ */
+public interface VisitedSet {
+
+    /**
+     * Menandai URL sebagai dikunjungi.
+     *
+     * @return true bila URL belum pernah ada sebelumnya
+     */
+    boolean add(String url);
+
+    boolean contains(String url);
+
+    long size();
+
+    /**
+     * Perkiraan memori yang dipakai struktur ini, dalam byte.
+     */
+    long memoryUsageBytes();
+
+    /**
+     * Menulis isi visited set (untuk checkpoint) dalam format milik implementasi ini.
+     */
+    void writeTo(DataOutput out) throws IOException;
+
+    /**
+     * Menambahkan isi yang sebelumnya ditulis oleh {@link #writeTo} dari implementasi yang sama.
+     */
+    void readFrom(DataInput in) throws IOException;
+}
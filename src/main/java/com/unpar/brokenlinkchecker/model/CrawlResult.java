@@ -8,12 +8,20 @@ public class CrawlResult {
     private final int pageCount;
     private final int totalLinks;
     private final int brokenLinksCount;
+    // COMPLETED, atau STOPPED bila crawling dihentikan sebelum selesai (hasil parsial)
+    private final ExecutionStatus status;
 
     public CrawlResult(List<LinkResult> allLinks, int pageCount, int totalLinks, int brokenLinksCount) {
+        this(allLinks, pageCount, totalLinks, brokenLinksCount, ExecutionStatus.COMPLETED);
+    }
+
+    public CrawlResult(List<LinkResult> allLinks, int pageCount, int totalLinks, int brokenLinksCount,
+                       ExecutionStatus status) {
         this.allLinks = allLinks;
         this.pageCount = pageCount;
         this.totalLinks = totalLinks;
         this.brokenLinksCount = brokenLinksCount;
+        this.status = status;
     }
 
     public List<LinkResult> getAllLinks() {
@@ -31,4 +39,15 @@ public class CrawlResult {
     public int getBrokenLinksCount() {
         return brokenLinksCount;
     }
+
+    public ExecutionStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Apakah hasil ini parsial karena crawling dihentikan pengguna.
+     */
+    public boolean isStopped() {
+        return status == ExecutionStatus.STOPPED;
+    }
 }
@@ -7,68 +7,97 @@ import java.time.LocalDateTime;
 /**
  * Model untuk merepresentasikan satu halaman yang berhasil di-crawl.
  * Digunakan untuk tabel daftar halaman.
+ *
+ * Nilai disimpan sebagai field biasa; property JavaFX baru dibuat saat diminta UI,
+ * sehingga model ini bisa dipakai tanpa JavaFX (mode headless).
  */
 public class CrawledPage {
 
-    private final StringProperty url = new SimpleStringProperty();
-    private final StringProperty status = new SimpleStringProperty();  // Misal: 200 OK, 404 Not Found
-    private final IntegerProperty totalLinks = new SimpleIntegerProperty(); // Jumlah link ditemukan
-    private final ObjectProperty<LocalDateTime> accessedTime = new SimpleObjectProperty<>(); // Waktu crawling
+    private String url;
+    private String status;  // Misal: 200 OK, 404 Not Found
+    private int totalLinks; // Jumlah link ditemukan
+    private LocalDateTime accessedTime; // Waktu crawling
+
+    // Dibuat saat pertama kali diminta tabel; setelah itu property menjadi sumber nilai
+    private Properties properties;
 
     public CrawledPage(String url, String status, int totalLinks, LocalDateTime accessedTime) {
-        this.url.set(url);
-        this.status.set(status);
-        this.totalLinks.set(totalLinks);
-        this.accessedTime.set(accessedTime);
+        this.url = url;
+        this.status = status;
+        this.totalLinks = totalLinks;
+        this.accessedTime = accessedTime;
     }
 
     // ===================== Getter & Setter =====================
 
     public String getUrl() {
-        return url.get();
+        return properties == null ? url : properties.url.get();
     }
 
     public void setUrl(String value) {
-        url.set(value);
+        if (properties == null) url = value;
+        else properties.url.set(value);
     }
 
     public StringProperty urlProperty() {
-        return url;
+        return properties().url;
     }
 
     public String getStatus() {
-        return status.get();
+        return properties == null ? status : properties.status.get();
     }
 
     public void setStatus(String value) {
-        status.set(value);
+        if (properties == null) status = value;
+        else properties.status.set(value);
     }
 
     public StringProperty statusProperty() {
-        return status;
+        return properties().status;
     }
 
     public int getTotalLinks() {
-        return totalLinks.get();
+        return properties == null ? totalLinks : properties.totalLinks.get();
     }
 
     public void setTotalLinks(int value) {
-        totalLinks.set(value);
+        if (properties == null) totalLinks = value;
+        else properties.totalLinks.set(value);
     }
 
     public IntegerProperty linkCountProperty() {
-        return totalLinks;
+        return properties().totalLinks;
     }
 
     public LocalDateTime getAccessedTime() {
-        return accessedTime.get();
+        return properties == null ? accessedTime : properties.accessedTime.get();
     }
 
     public void setAccessedTime(LocalDateTime value) {
-        accessedTime.set(value);
+        if (properties == null) accessedTime = value;
+        else properties.accessedTime.set(value);
     }
 
     public ObjectProperty<LocalDateTime> accessTimeProperty() {
-        return accessedTime;
+        return properties().accessedTime;
+    }
+
+    private Properties properties() {
+        if (properties == null) properties = new Properties(this);
+        return properties;
+    }
+
+    private static final class Properties {
+        final StringProperty url;
+        final StringProperty status;
+        final IntegerProperty totalLinks;
+        final ObjectProperty<LocalDateTime> accessedTime;
+
+        Properties(CrawledPage page) {
+            this.url = new SimpleStringProperty(page.url);
+            this.status = new SimpleStringProperty(page.status);
+            this.totalLinks = new SimpleIntegerProperty(page.totalLinks);
+            this.accessedTime = new SimpleObjectProperty<>(page.accessedTime);
+        }
     }
 }
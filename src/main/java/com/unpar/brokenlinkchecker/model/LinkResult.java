@@ -3,48 +3,75 @@ package com.unpar.brokenlinkchecker.model;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+/**
+ * Hasil pengecekan satu tautan. Nilai disimpan sebagai field biasa; property JavaFX
+ * baru dibuat saat diminta UI, sehingga model ini bisa dipakai tanpa JavaFX (mode headless).
+ */
 public class LinkResult {
-    private final StringProperty brokenLink;
-    private final StringProperty status;
-    private final StringProperty sourcePage;
-    private final StringProperty anchorText;
+    private final String brokenLink;
+    private final String status;
+    private final String sourcePage;
+    private final String anchorText;
+
+    // Dibuat saat pertama kali diminta tabel. Dipisah ke kelas sendiri agar kelas JavaFX
+    // tidak ikut dimuat selama property tidak pernah dipakai.
+    private Properties properties;
 
     public LinkResult(String brokenLink, String status, String sourcePage, String anchorText) {
-        this.brokenLink = new SimpleStringProperty(brokenLink);
-        this.status = new SimpleStringProperty(status);
-        this.sourcePage = new SimpleStringProperty(sourcePage);
-        this.anchorText = new SimpleStringProperty(anchorText);
+        this.brokenLink = brokenLink;
+        this.status = status;
+        this.sourcePage = sourcePage;
+        this.anchorText = anchorText;
     }
 
     public String getBrokenUrl() {
-        return brokenLink.get();
+        return brokenLink;
     }
 
     public StringProperty brokenLinkProperty() {
-        return brokenLink;
+        return properties().brokenLink;
     }
 
     public String getStatus() {
-        return status.get();
+        return status;
     }
 
     public StringProperty statusProperty() {
-        return status;
+        return properties().status;
     }
 
     public String getSourcePage() {
-        return sourcePage.get();
+        return sourcePage;
     }
 
     public StringProperty sourcePageProperty() {
-        return sourcePage;
+        return properties().sourcePage;
     }
 
     public String getAnchorText() {
-        return anchorText.get();
+        return anchorText;
     }
 
     public StringProperty anchorTextProperty() {
-        return anchorText;
+        return properties().anchorText;
+    }
+
+    private Properties properties() {
+        if (properties == null) properties = new Properties(this);
+        return properties;
+    }
+
+    private static final class Properties {
+        final StringProperty brokenLink;
+        final StringProperty status;
+        final StringProperty sourcePage;
+        final StringProperty anchorText;
+
+        Properties(LinkResult lr) {
+            this.brokenLink = new SimpleStringProperty(lr.brokenLink);
+            this.status = new SimpleStringProperty(lr.status);
+            this.sourcePage = new SimpleStringProperty(lr.sourcePage);
+            this.anchorText = new SimpleStringProperty(lr.anchorText);
+        }
     }
 }
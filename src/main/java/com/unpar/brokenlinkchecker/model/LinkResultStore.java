@@ -0,0 +1,213 @@
+package com.unpar.brokenlinkchecker.model;
+
+import com.unpar.brokenlinkchecker.util.HttpStatus;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Penyimpanan hasil tautan yang ringkas (kolumnar), pengganti satu objek {@link LinkResult}
+ * per kemunculan tautan.
+ *
+ * - URL, halaman sumber, dan anchor text di-intern ke satu tabel string dan disimpan
+ *   sebagai id int, sehingga teks yang berulang (menu navigasi, footer) hanya disimpan sekali
+ * - status disimpan sebagai kode int: kode HTTP bila teksnya sama dengan
+ *   {@link HttpStatus#getReasonPhrase(int)}, selain itu (mis. "FAILED (...)") id string negatif
+ * - kolom dialokasikan per potongan tetap, sehingga bertambah tanpa menyalin array besar
+ *
+ * Per tautan hanya ~24 byte (ordinal + empat id) ditambah string unik.
+ * {@link LinkResult} hanya dibuat saat baris diminta, lewat {@link #get(int)} / {@link #sortedView()}.
+ *
+ * Tidak thread-safe; penulisan disinkronkan oleh pemanggil.
+ */
+public class LinkResultStore {
+
+    private static final int CHUNK_BITS = 13;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    // Perkiraan overhead per string unik: entri HashMap + objek String + header array byte + slot list
+    private static final int STRING_OVERHEAD_BYTES = 32 + 24 + 16 + 4;
+
+    private static final class Chunk {
+        final long[] ordinal = new long[CHUNK_SIZE];
+        final int[] url = new int[CHUNK_SIZE];
+        final int[] sourcePage = new int[CHUNK_SIZE];
+        final int[] anchorText = new int[CHUNK_SIZE];
+        final int[] status = new int[CHUNK_SIZE];
+    }
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private int size = 0;
+
+    // ===================== Tabel string (intern) =====================
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private long stringChars = 0;
+
+    /**
+     * @param ordinal posisi tautan untuk pengurutan laporan: (urutan halaman << 32) | urutan anchor
+     */
+    public void add(long ordinal, String url, String status, String sourcePage, String anchorText) {
+        int chunkIndex = size >>> CHUNK_BITS;
+        if (chunkIndex == chunks.size()) {
+            chunks.add(new Chunk());
+        }
+        Chunk c = chunks.get(chunkIndex);
+        int i = size & CHUNK_MASK;
+        c.ordinal[i] = ordinal;
+        c.url[i] = intern(url);
+        c.sourcePage[i] = intern(sourcePage);
+        c.anchorText[i] = intern(anchorText);
+        c.status[i] = encodeStatus(status);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long ordinalAt(int index) {
+        return chunk(index).ordinal[index & CHUNK_MASK];
+    }
+
+    public String urlAt(int index) {
+        return strings.get(chunk(index).url[index & CHUNK_MASK]);
+    }
+
+    public String statusAt(int index) {
+        return decodeStatus(chunk(index).status[index & CHUNK_MASK]);
+    }
+
+    public String sourcePageAt(int index) {
+        return strings.get(chunk(index).sourcePage[index & CHUNK_MASK]);
+    }
+
+    public String anchorTextAt(int index) {
+        return strings.get(chunk(index).anchorText[index & CHUNK_MASK]);
+    }
+
+    /**
+     * Membuat adapter {@link LinkResult} untuk satu baris (urutan penyisipan).
+     */
+    public LinkResult get(int index) {
+        return new LinkResult(urlAt(index), statusAt(index), sourcePageAt(index), anchorTextAt(index));
+    }
+
+    /**
+     * Tampilan read-only yang diurutkan berdasarkan ordinal. Hanya indeks urutan (int per baris)
+     * yang dialokasikan; {@link LinkResult} dibuat saat elemen diakses.
+     */
+    public List<LinkResult> sortedView() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        sortByOrdinal(order, 0, size - 1);
+        return new SortedView(order);
+    }
+
+    /**
+     * Perkiraan memori yang dipakai (kolom + string unik), untuk pemantauan.
+     */
+    public long memoryUsageBytes() {
+        long columns = (long) chunks.size() * CHUNK_SIZE * (8 + 4 * 4);
+        long stringBytes = strings.size() * (long) STRING_OVERHEAD_BYTES + stringChars;
+        return columns + stringBytes;
+    }
+
+    // ===================== Helper =====================
+    private Chunk chunk(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " di luar ukuran " + size);
+        }
+        return chunks.get(index >>> CHUNK_BITS);
+    }
+
+    private int intern(String s) {
+        if (s == null) s = "";
+        Integer id = stringIds.get(s);
+        if (id == null) {
+            id = strings.size();
+            strings.add(s);
+            stringIds.put(s, id);
+            stringChars += s.length();
+        }
+        return id;
+    }
+
+    private int encodeStatus(String status) {
+        int code = parseStatusCode(status);
+        if (code >= 0 && HttpStatus.getReasonPhrase(code).equals(status)) {
+            return code;
+        }
+        return -intern(status) - 1;
+    }
+
+    private String decodeStatus(int encoded) {
+        return encoded >= 0 ? HttpStatus.getReasonPhrase(encoded) : strings.get(-encoded - 1);
+    }
+
+    /**
+     * Tiga digit pertama sebagai kode HTTP, atau -1 bila status tidak diawali kode.
+     */
+    private static int parseStatusCode(String status) {
+        if (status == null || status.length() < 3) return -1;
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            char ch = status.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+            code = code * 10 + (ch - '0');
+        }
+        return status.length() == 3 || status.charAt(3) == ' ' ? code : -1;
+    }
+
+    /**
+     * Quicksort indeks berdasarkan ordinal tanpa boxing (ordinal unik, jadi tidak perlu stabil).
+     */
+    private void sortByOrdinal(int[] order, int lo, int hi) {
+        while (lo < hi) {
+            long pivot = ordinalAt(order[(lo + hi) >>> 1]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (ordinalAt(order[i]) < pivot) i++;
+                while (ordinalAt(order[j]) > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            // Rekursi ke bagian yang lebih kecil agar kedalaman stack tetap O(log n)
+            if (j - lo < hi - i) {
+                sortByOrdinal(order, lo, j);
+                lo = i;
+            } else {
+                sortByOrdinal(order, i, hi);
+                hi = j;
+            }
+        }
+    }
+
+    private final class SortedView extends AbstractList<LinkResult> implements RandomAccess {
+        private final int[] order;
+
+        SortedView(int[] order) {
+            this.order = order;
+        }
+
+        @Override
+        public LinkResult get(int index) {
+            return LinkResultStore.this.get(order[index]);
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+    }
+}
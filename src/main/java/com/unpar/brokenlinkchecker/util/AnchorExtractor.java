@@ -0,0 +1,673 @@
+package com.unpar.brokenlinkchecker.util;
+
+import org.jsoup.parser.Parser;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Ekstraktor anchor streaming: membaca HTML sambil datang dan mengeluarkan setiap
+ * {@code <a href>} (URL absolut + anchor text) tanpa membangun DOM.
+ *
+ * Yang ditangani:
+ * - komentar, doctype, dan isi {@code script}/{@code style}/{@code textarea}/{@code title} dilewati
+ * - {@code <base href>} pertama menjadi dasar resolusi URL relatif untuk anchor sesudahnya
+ * - entitas HTML pada atribut & teks di-decode; entitas umum & numerik langsung di sini,
+ *   sisanya lewat {@link Parser#unescapeEntities} (mahal: ±10 KB alokasi per panggilan)
+ * - anchor text dinormalkan seperti {@code Element.text()}: spasi dirapatkan, tag blok & br
+ *   dianggap pemisah kata, panjangnya dibatasi
+ * - {@code <a>} yang tidak ditutup berakhir di {@code <a>} berikutnya atau di akhir dokumen
+ * - dari byte mentah, encoding dideteksi seperti jalur DOM jsoup: BOM, charset header,
+ *   lalu {@code <meta charset>} / {@code <meta http-equiv="Content-Type">} di awal dokumen
+ *
+ * Bukan parser HTML5 penuh: untuk markup yang sangat rusak hasilnya bisa sedikit berbeda
+ * dari jsoup, tetapi memori per halaman tetap konstan (hanya buffer baca & anchor aktif).
+ *
+ * Satu instance hanya untuk satu thread.
+ */
+public class AnchorExtractor {
+
+    /**
+     * Penerima anchor; dipanggil segera setelah {@code </a>} (atau penutup implisitnya) terbaca.
+     */
+    @FunctionalInterface
+    public interface AnchorSink {
+        /**
+         * @param href URL absolut (sudah diresolusi terhadap base), tidak pernah kosong
+         * @param text anchor text yang sudah dinormalkan
+         */
+        void anchor(String href, String text) throws InterruptedException;
+    }
+
+    public static final int DEFAULT_MAX_ANCHOR_TEXT = 1024;
+
+    private static final Set<String> RAW_TEXT_TAGS = Set.of("script", "style", "textarea", "title", "xmp", "plaintext");
+    // Tag yang dianggap pemisah kata dalam anchor text (mirip perilaku Element.text())
+    private static final Set<String> BREAKING_TAGS = Set.of(
+            "br", "p", "div", "li", "ul", "ol", "dl", "dt", "dd", "tr", "td", "th", "table",
+            "h1", "h2", "h3", "h4", "h5", "h6", "section", "article", "header", "footer", "nav",
+            "blockquote", "pre", "hr", "img");
+    // Hanya nama tag ini yang perlu dibedakan; nama lain dibaca sebagai ""
+    private static final String[] KNOWN_TAGS = Stream.of(Set.of("a", "base"), RAW_TEXT_TAGS, BREAKING_TAGS)
+            .flatMap(Set::stream)
+            .toArray(String[]::new);
+
+    // Entitas bernama yang paling sering muncul; entitas lain diserahkan ke jsoup
+    private static final Map<String, Character> COMMON_ENTITIES = Map.ofEntries(
+            Map.entry("amp", '&'), Map.entry("lt", '<'), Map.entry("gt", '>'), Map.entry("quot", '"'),
+            Map.entry("apos", '\''), Map.entry("nbsp", '\u00A0'), Map.entry("ndash", '\u2013'),
+            Map.entry("mdash", '\u2014'), Map.entry("hellip", '\u2026'), Map.entry("laquo", '\u00AB'),
+            Map.entry("raquo", '\u00BB'), Map.entry("lsaquo", '\u2039'), Map.entry("rsaquo", '\u203A'),
+            Map.entry("lsquo", '\u2018'), Map.entry("rsquo", '\u2019'), Map.entry("ldquo", '\u201C'),
+            Map.entry("rdquo", '\u201D'), Map.entry("middot", '\u00B7'), Map.entry("bull", '\u2022'),
+            Map.entry("copy", '\u00A9'), Map.entry("reg", '\u00AE'), Map.entry("trade", '\u2122'),
+            Map.entry("para", '\u00B6'), Map.entry("sect", '\u00A7'), Map.entry("deg", '\u00B0'),
+            Map.entry("times", '\u00D7'), Map.entry("euro", '\u20AC'));
+    private static final int MAX_ENTITY_NAME = 8;
+    // Jendela pencarian <meta charset>, sama dengan yang dibaca jsoup saat mendeteksi encoding
+    private static final int CHARSET_SNIFF_BYTES = 5 * 1024;
+
+    private final int maxAnchorText;
+
+    // ---------- Buffer baca ----------
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int limit;
+    private Reader reader;
+
+    // ---------- State dokumen ----------
+    private URI base;
+    private boolean baseSet;
+    private String openHref;         // href anchor yang sedang terbuka (null = tidak ada)
+    private boolean inAnchor;
+    private final StringBuilder text = new StringBuilder();
+    private boolean pendingSpace;
+    private final StringBuilder scratch = new StringBuilder();
+
+    public AnchorExtractor() {
+        this(DEFAULT_MAX_ANCHOR_TEXT);
+    }
+
+    public AnchorExtractor(int maxAnchorText) {
+        this.maxAnchorText = maxAnchorText;
+    }
+
+    /**
+     * Membaca seluruh dokumen dari {@code in} dan mengirim setiap anchor ke {@code sink}.
+     *
+     * @param documentUrl URL dokumen, dasar resolusi URL relatif bila tidak ada {@code <base href>}
+     * @return jumlah anchor yang dikirim
+     */
+    public int extract(Reader in, String documentUrl, AnchorSink sink) throws IOException, InterruptedException {
+        reset(in, documentUrl);
+        int count = 0;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '<') {
+                count += tag(sink);
+            } else if (inAnchor) {
+                appendText((char) c);
+            }
+        }
+        count += closeAnchor(sink);
+        reader = null;
+        return count;
+    }
+
+    /**
+     * Seperti {@link #extract(Reader, String, AnchorSink)} untuk body mentah.
+     *
+     * @param charset charset dari header Content-Type; null berarti dideteksi dari BOM atau
+     *                {@code <meta>} di awal dokumen, dengan UTF-8 sebagai default
+     */
+    public int extract(InputStream in, Charset charset, String documentUrl, AnchorSink sink)
+            throws IOException, InterruptedException {
+        BufferedInputStream buffered = new BufferedInputStream(in, CHARSET_SNIFF_BYTES);
+        Charset detected = detectCharset(buffered, charset);
+        return extract(new InputStreamReader(buffered, detected), documentUrl, sink);
+    }
+
+    private void reset(Reader in, String documentUrl) {
+        this.reader = in;
+        this.pos = 0;
+        this.limit = 0;
+        this.base = parseBase(documentUrl);
+        this.baseSet = false;
+        this.openHref = null;
+        this.inAnchor = false;
+        this.text.setLength(0);
+        this.pendingSpace = false;
+    }
+
+    // =========================================================
+    // ========================= Tag ===========================
+    // =========================================================
+    /**
+     * Dipanggil setelah '<'. Mengembalikan jumlah anchor yang dikirim (0 atau 1).
+     */
+    private int tag(AnchorSink sink) throws IOException, InterruptedException {
+        int c = read();
+        if (c == -1) return 0;
+
+        if (c == '!') {
+            if (peekMatches("--", 0)) {
+                pos += 2;
+                skipPast("-->");
+            } else {
+                skipPast(">");
+            }
+            return 0;
+        }
+        if (c == '?') {
+            skipPast(">");
+            return 0;
+        }
+        if (c == '/') {
+            String name = readTagName(read());
+            skipPast(">");
+            if (name.equals("a")) return closeAnchor(sink);
+            if (inAnchor && BREAKING_TAGS.contains(name)) pendingSpace = true;
+            return 0;
+        }
+        if (!isAsciiLetter(c)) {
+            // Bukan tag: '<' adalah teks biasa
+            if (inAnchor) {
+                appendText('<');
+                if (c != -1) unread();
+            } else {
+                unread();
+            }
+            return 0;
+        }
+
+        String name = readTagName(c);
+        boolean isAnchor = name.equals("a");
+        boolean isBase = name.equals("base") && !baseSet;
+        String href = readAttributes(isAnchor || isBase);
+
+        int sent = 0;
+        if (isAnchor) {
+            // <a> baru menutup anchor sebelumnya yang belum ditutup
+            sent = closeAnchor(sink);
+            inAnchor = true;
+            openHref = href;
+            text.setLength(0);
+            pendingSpace = false;
+        } else if (isBase && href != null) {
+            URI resolved = resolveUri(href);
+            if (resolved != null) base = resolved;
+            baseSet = true;
+        } else if (RAW_TEXT_TAGS.contains(name)) {
+            skipRawText(name);
+        } else if (inAnchor && BREAKING_TAGS.contains(name)) {
+            pendingSpace = true;
+        }
+        return sent;
+    }
+
+    private int closeAnchor(AnchorSink sink) throws InterruptedException {
+        if (!inAnchor) return 0;
+        inAnchor = false;
+        String href = openHref;
+        openHref = null;
+        if (href == null) return 0;
+
+        String abs = resolve(href);
+        if (abs.isEmpty()) return 0;
+        String anchorText = text.length() == 0 ? "" : decodeEntities(text, false).strip();
+        sink.anchor(abs, anchorText);
+        return 1;
+    }
+
+    /**
+     * Membaca atribut sampai '>' dan mengembalikan nilai {@code href} (bila diminta).
+     */
+    private String readAttributes(boolean wantHref) throws IOException {
+        String href = null;
+        while (true) {
+            int c = skipWhitespace();
+            if (c == -1 || c == '>') return href;
+            if (c == '/') continue;
+
+            // Nama atribut
+            scratch.setLength(0);
+            while (c != -1 && c != '=' && c != '>' && c != '/' && !isWhitespace(c)) {
+                scratch.append(Character.toLowerCase((char) c));
+                c = read();
+            }
+            boolean isHref = wantHref && href == null && scratchEquals("href");
+
+            if (isWhitespace(c)) c = skipWhitespace();
+            if (c != '=') {
+                if (c == '>' || c == -1) return href;
+                unread();
+                continue;
+            }
+
+            // Nilai atribut
+            c = skipWhitespace();
+            scratch.setLength(0);
+            if (c == '"' || c == '\'') {
+                int quote = c;
+                while ((c = read()) != -1 && c != quote) {
+                    if (isHref) scratch.append((char) c);
+                }
+            } else {
+                while (c != -1 && c != '>' && !isWhitespace(c)) {
+                    if (isHref) scratch.append((char) c);
+                    c = read();
+                }
+                if (c == '>') {
+                    if (isHref) href = decodeEntities(scratch, true);
+                    return href;
+                }
+            }
+            if (isHref) href = decodeEntities(scratch, true);
+            if (c == -1) return href;
+        }
+    }
+
+    private boolean scratchEquals(String s) {
+        if (scratch.length() != s.length()) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (scratch.charAt(i) != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private String readTagName(int first) throws IOException {
+        scratch.setLength(0);
+        int c = first;
+        while (c != -1 && c != '>' && c != '/' && !isWhitespace(c)) {
+            scratch.append(Character.toLowerCase((char) c));
+            c = read();
+        }
+        if (c != -1) unread();
+        for (String known : KNOWN_TAGS) {
+            if (scratchEquals(known)) return known;
+        }
+        return "";
+    }
+
+    /**
+     * Melewati isi elemen raw text sampai tag penutupnya (tidak peka huruf besar/kecil).
+     */
+    private void skipRawText(String name) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '<' && peekClosingTag(name)) {
+                pos += name.length() + 1;
+                skipPast(">");
+                return;
+            }
+        }
+    }
+
+    // =========================================================
+    // ===================== Anchor text =======================
+    // =========================================================
+    private void appendText(char c) {
+        if (isWhitespace(c)) {
+            if (text.length() > 0) pendingSpace = true;
+            return;
+        }
+        if (text.length() >= maxAnchorText) return;
+        if (pendingSpace && text.length() > 0) text.append(' ');
+        pendingSpace = false;
+        text.append(c);
+    }
+
+    // =========================================================
+    // ======================== Entitas ========================
+    // =========================================================
+    /**
+     * Decode entitas HTML dengan hasil yang sama seperti {@link Parser#unescapeEntities}.
+     * Teks tanpa '&' tidak diproses; entitas {@link #COMMON_ENTITIES} dan numerik yang lengkap
+     * (diakhiri ';') di-decode langsung, selain itu seluruh teks diserahkan ke jsoup
+     * (entitas tanpa ';', entitas bernama lain, kode numerik khusus).
+     */
+    static String decodeEntities(CharSequence s, boolean inAttribute) {
+        int amp = indexOf(s, '&', 0);
+        if (amp < 0) return s.toString();
+
+        StringBuilder out = new StringBuilder(s.length());
+        int from = 0;
+        while (amp >= 0) {
+            out.append(s, from, amp);
+            int semi = indexOf(s, ';', amp + 1);
+            int decoded = semi < 0 || semi - amp - 1 > MAX_ENTITY_NAME ? -1 : decodeEntity(s, amp + 1, semi);
+            if (decoded < 0) return Parser.unescapeEntities(s.toString(), inAttribute);
+            out.appendCodePoint(decoded);
+            from = semi + 1;
+            amp = indexOf(s, '&', from);
+        }
+        return out.append(s, from, s.length()).toString();
+    }
+
+    /**
+     * @return code point entitas di antara '&' dan ';', atau -1 bila harus diserahkan ke jsoup
+     */
+    private static int decodeEntity(CharSequence s, int start, int end) {
+        if (start == end) return -1;
+        if (s.charAt(start) != '#') {
+            Character c = COMMON_ENTITIES.get(s.subSequence(start, end).toString());
+            return c == null ? -1 : c;
+        }
+
+        boolean hex = start + 1 < end && (s.charAt(start + 1) == 'x' || s.charAt(start + 1) == 'X');
+        int i = start + (hex ? 2 : 1);
+        if (i == end) return -1;
+        int cp = 0;
+        for (; i < end; i++) {
+            int d = Character.digit(s.charAt(i), hex ? 16 : 10);
+            if (d < 0) return -1;
+            cp = cp * (hex ? 16 : 10) + d;
+            if (cp > Character.MAX_CODE_POINT) return -1;
+        }
+        // 0, C1 (dipetakan ulang ke windows-1252), dan surrogate ditangani jsoup
+        if (cp == 0 || (cp >= 0x80 && cp <= 0x9F) || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+            return -1;
+        }
+        return cp;
+    }
+
+    private static int indexOf(CharSequence s, char c, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (s.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    // =========================================================
+    // ======================== Charset ========================
+    // =========================================================
+    /**
+     * Mengintip awal stream (mark/reset) untuk menentukan encoding. BOM selalu menang dan
+     * ikut dilewati; tanpa BOM, charset header dipakai bila ada, lalu {@code <meta>}, lalu UTF-8.
+     */
+    static Charset detectCharset(BufferedInputStream in, Charset headerCharset) throws IOException {
+        in.mark(CHARSET_SNIFF_BYTES);
+        byte[] head = in.readNBytes(CHARSET_SNIFF_BYTES);
+        in.reset();
+
+        int n = head.length;
+        if (n >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            in.skipNBytes(3);
+            return StandardCharsets.UTF_8;
+        }
+        if (n >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+            in.skipNBytes(2);
+            return StandardCharsets.UTF_16BE;
+        }
+        if (n >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+            in.skipNBytes(2);
+            return StandardCharsets.UTF_16LE;
+        }
+        if (headerCharset != null) return headerCharset;
+
+        Charset meta = metaCharset(head);
+        return meta == null ? StandardCharsets.UTF_8 : meta;
+    }
+
+    /**
+     * Mencari {@code charset=} di dalam tag {@code <meta>}: mencakup {@code <meta charset="x">}
+     * maupun {@code content="text/html; charset=x"}. Charset yang tidak dikenal dilewati.
+     */
+    private static Charset metaCharset(byte[] head) {
+        for (int i = indexOfIgnoreCase(head, "<meta", 0); i >= 0; i = indexOfIgnoreCase(head, "<meta", i + 5)) {
+            int end = indexOf(head, (byte) '>', i);
+            if (end < 0) end = head.length;
+
+            int at = indexOfIgnoreCase(head, "charset", i + 5);
+            if (at < 0 || at >= end) continue;
+            int p = at + 7;
+            while (p < end && isWhitespace(head[p])) p++;
+            if (p >= end || head[p] != '=') continue;
+            p++;
+            while (p < end && (isWhitespace(head[p]) || head[p] == '"' || head[p] == '\'')) p++;
+
+            int start = p;
+            while (p < end && head[p] != '"' && head[p] != '\'' && head[p] != ';' && head[p] != '/'
+                    && !isWhitespace(head[p])) {
+                p++;
+            }
+            Charset cs = charsetForName(new String(head, start, p - start, StandardCharsets.ISO_8859_1));
+            if (cs != null) return cs;
+        }
+        return null;
+    }
+
+    private static Charset charsetForName(String name) {
+        if (name.isEmpty()) return null;
+        try {
+            Charset cs = Charset.forName(name);
+            // <meta> terbaca sebagai ASCII, jadi dokumennya tidak mungkin UTF-16 (aturan HTML5)
+            return cs.name().startsWith("UTF-16") ? StandardCharsets.UTF_8 : cs;
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return null;
+        }
+    }
+
+    private static int indexOfIgnoreCase(byte[] b, String s, int from) {
+        outer:
+        for (int i = from; i + s.length() <= b.length; i++) {
+            for (int j = 0; j < s.length(); j++) {
+                if (Character.toLowerCase((char) (b[i + j] & 0xFF)) != s.charAt(j)) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] b, byte value, int from) {
+        for (int i = from; i < b.length; i++) {
+            if (b[i] == value) return i;
+        }
+        return -1;
+    }
+
+    // =========================================================
+    // ==================== Resolusi URL =======================
+    // =========================================================
+    private static URI parseBase(String url) {
+        try {
+            URI u = new URI(url);
+            if (u.getRawPath() == null || u.getRawPath().isEmpty()) {
+                u = new URI(u.getScheme(), u.getRawAuthority(), "/", u.getRawQuery(), null);
+            }
+            return u;
+        } catch (URISyntaxException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private URI resolveUri(String href) {
+        String abs = resolve(href);
+        return abs.isEmpty() ? null : parseBase(abs);
+    }
+
+    /**
+     * Resolusi seperti {@code Element.absUrl}: mengembalikan "" bila URL tidak bisa dibentuk.
+     */
+    String resolve(String href) {
+        String rel = stripControlWhitespace(href);
+        try {
+            URI relUri = new URI(encodeIllegal(rel));
+            if (relUri.isAbsolute()) return relUri.toString();
+            if (base == null) return "";
+
+            if (rel.isEmpty()) return withoutFragment(base).toString();
+            if (rel.startsWith("?")) {
+                // RFC 3986: hanya query yang diganti (URI.resolve mengikuti RFC 2396 yang keliru di sini)
+                return new URI(base.getScheme(), base.getRawAuthority(), base.getRawPath(), null, null)
+                        + encodeIllegal(rel);
+            }
+            if (rel.startsWith("#")) return withoutFragment(base) + encodeIllegal(rel);
+            return base.resolve(relUri).toString();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static URI withoutFragment(URI u) throws URISyntaxException {
+        if (u.getRawFragment() == null) return u;
+        String s = u.toString();
+        return new URI(s.substring(0, s.indexOf('#')));
+    }
+
+    /**
+     * Membuang spasi di tepi serta tab/CR/LF di mana pun (sesuai URL Standard).
+     */
+    private static String stripControlWhitespace(String s) {
+        String t = s.strip();
+        if (t.indexOf('\t') < 0 && t.indexOf('\n') < 0 && t.indexOf('\r') < 0) return t;
+        StringBuilder sb = new StringBuilder(t.length());
+        for (int i = 0; i < t.length(); i++) {
+            char c = t.charAt(i);
+            if (c != '\t' && c != '\n' && c != '\r') sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Meng-escape karakter yang ditolak java.net.URI (spasi, non-ASCII, dll.) seperti dilakukan browser.
+     */
+    private static String encodeIllegal(String s) {
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            boolean legal = c > 0x20 && c < 0x7F && "\"<>\\^`{|}".indexOf(c) < 0;
+            // '%' yang bukan awal escape yang sah juga di-escape
+            if (legal && c == '%') {
+                legal = i + 2 < s.length() && isHex(s.charAt(i + 1)) && isHex(s.charAt(i + 2));
+            }
+            if (legal && c == '#' && s.indexOf('#') != i) legal = false; // hanya satu fragment
+            if (legal) {
+                if (sb != null) sb.append(c);
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder(s.length() + 16).append(s, 0, i);
+            if (Character.isHighSurrogate(c) && i + 1 < s.length()) {
+                appendUtf8Escaped(sb, s.substring(i, i + 2));
+                i++;
+            } else {
+                appendUtf8Escaped(sb, String.valueOf(c));
+            }
+        }
+        return sb == null ? s : sb.toString();
+    }
+
+    private static void appendUtf8Escaped(StringBuilder sb, String s) {
+        for (byte b : s.getBytes(java.nio.charset.StandardCharsets.UTF_8)) {
+            sb.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+        }
+    }
+
+    // =========================================================
+    // ===================== Pembacaan char ====================
+    // =========================================================
+    private int read() throws IOException {
+        if (pos >= limit && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    private void unread() {
+        pos--;
+    }
+
+    /**
+     * Mengisi ulang buffer, menyisakan sedikit karakter terakhir agar {@link #unread()} &
+     * pencocokan awalan tetap bisa melihat ke belakang/ke depan melewati batas buffer.
+     */
+    private boolean fill() throws IOException {
+        int keep = Math.min(pos, 16);
+        int tail = limit - pos;
+        System.arraycopy(buf, pos - keep, buf, 0, keep + tail);
+        pos = keep;
+        limit = keep + tail;
+        int n = reader.read(buf, limit, buf.length - limit);
+        if (n <= 0) return pos < limit;
+        limit += n;
+        return true;
+    }
+
+    private boolean ensure(int n) throws IOException {
+        while (limit - pos < n) {
+            int before = limit;
+            if (!fill() || limit == before) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Apakah karakter berikutnya sama dengan {@code s} mulai indeks {@code from}.
+     */
+    private boolean peekMatches(String s, int from) throws IOException {
+        int n = s.length() - from;
+        if (!ensure(n)) return false;
+        for (int i = 0; i < n; i++) {
+            if (buf[pos + i] != s.charAt(from + i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Apakah karakter berikutnya "/" + {@code name} (tidak peka huruf besar/kecil).
+     */
+    private boolean peekClosingTag(String name) throws IOException {
+        int n = name.length() + 1;
+        if (!ensure(n) || buf[pos] != '/') return false;
+        for (int i = 1; i < n; i++) {
+            if (Character.toLowerCase(buf[pos + i]) != name.charAt(i - 1)) return false;
+        }
+        // Nama tag harus berakhir di sini (mis. "</scripts" bukan penutup "script")
+        if (!ensure(n + 1)) return true;
+        char next = buf[pos + n];
+        return next == '>' || next == '/' || isWhitespace(next);
+    }
+
+    private void skipPast(String terminator) throws IOException {
+        char first = terminator.charAt(0);
+        int c;
+        while ((c = read()) != -1) {
+            if (c == first && (terminator.length() == 1 || peekMatches(terminator, 1))) {
+                pos += terminator.length() - 1;
+                return;
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && isWhitespace(c));
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f';
+    }
+
+    private static boolean isAsciiLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
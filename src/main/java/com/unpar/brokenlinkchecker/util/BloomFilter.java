@@ -0,0 +1,59 @@
+package com.unpar.brokenlinkchecker.util;
+
+/**
+ * Bloom filter sederhana di atas hash 64-bit yang sudah teracak.
+ *
+ * Indeks bit ke-i dihitung dengan double hashing (h1 + i·h2) dari dua paruh hash,
+ * jadi tidak perlu menghitung ulang hash untuk tiap fungsi.
+ * Tidak thread-safe.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions perkiraan jumlah elemen
+     * @param falsePositiveRate  target peluang false positive, mis. 0.01
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        m = Math.max(64, Math.min(m, (long) Integer.MAX_VALUE * 64));
+        this.bits = new long[(int) ((m + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) m / n * ln2));
+    }
+
+    public void put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @return false bila elemen pasti belum pernah dimasukkan
+     */
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long memoryUsageBytes() {
+        return bits.length * 8L;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+}
@@ -0,0 +1,81 @@
+package com.unpar.brokenlinkchecker.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream yang menghitung hash 64-bit (FNV-1a + finalizer MurmurHash3) dari seluruh
+ * byte yang lewat, untuk mendeteksi apakah isi halaman berubah sejak crawl sebelumnya.
+ *
+ * Bukan hash kriptografis: cukup untuk membedakan versi halaman yang sama.
+ */
+public class HashingInputStream extends FilterInputStream {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long h = FNV_OFFSET;
+    private long length = 0;
+
+    public HashingInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * Hash dari byte yang sudah terbaca sejauh ini.
+     */
+    public long hash() {
+        return UrlFingerprint.fmix64(h ^ length);
+    }
+
+    public static long hash(byte[] bytes) {
+        long h = update(FNV_OFFSET, bytes, 0, bytes.length);
+        return UrlFingerprint.fmix64(h ^ bytes.length);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            h = (h ^ b) * FNV_PRIME;
+            length++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            h = update(h, b, off, n);
+            length += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Byte yang dilewati tetap harus ikut di-hash
+        byte[] buf = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int r = read(buf, 0, (int) Math.min(buf.length, n - skipped));
+            if (r < 0) break;
+            skipped += r;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private static long update(long h, byte[] b, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            h = (h ^ (b[i] & 0xFF)) * FNV_PRIME;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,136 @@
+package com.unpar.brokenlinkchecker.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+
+/**
+ * Himpunan nilai long primitif dengan open addressing (linear probing).
+ *
+ * Setiap elemen hanya memakan 8 byte (ditambah ruang kosong sesuai load factor),
+ * tanpa objek pembungkus. Tabel dapat ditaruh di heap atau di luar heap (direct buffer)
+ * agar tidak menambah beban GC pada crawl yang sangat besar.
+ *
+ * Nilai 0 dipakai sebagai penanda slot kosong, sehingga disimpan terpisah.
+ * Tidak thread-safe.
+ */
+public class LongHashSet {
+
+    private static final double MAX_LOAD = 0.6;
+    // Direct buffer dibatasi 2 GB, jadi kapasitas off-heap maksimum 2^27 slot
+    private static final int MAX_CAPACITY_HEAP = 1 << 30;
+    private static final int MAX_CAPACITY_OFF_HEAP = 1 << 27;
+
+    private final boolean offHeap;
+    private final int maxCapacity;
+    private LongBuffer table;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet(int expectedSize, boolean offHeap) {
+        this.offHeap = offHeap;
+        this.maxCapacity = offHeap ? MAX_CAPACITY_OFF_HEAP : MAX_CAPACITY_HEAP;
+        long wanted = (long) Math.ceil(Math.max(16, expectedSize) / MAX_LOAD);
+        allocate((int) Math.min(maxCapacity, Long.highestOneBit(wanted - 1) << 1));
+    }
+
+    public boolean add(long value) {
+        if (value == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            return true;
+        }
+
+        int i = slot(value);
+        while (true) {
+            long current = table.get(i);
+            if (current == 0) break;
+            if (current == value) return false;
+            i = (i + 1) & mask;
+        }
+        table.put(i, value);
+        size++;
+
+        if (size > (mask + 1) * MAX_LOAD) {
+            resize();
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) return hasZero;
+
+        int i = slot(value);
+        while (true) {
+            long current = table.get(i);
+            if (current == 0) return false;
+            if (current == value) return true;
+            i = (i + 1) & mask;
+        }
+    }
+
+    public long size() {
+        return size + (hasZero ? 1 : 0);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Memori tabel dalam byte (8 byte per slot).
+     */
+    public long memoryUsageBytes() {
+        return (mask + 1) * 8L;
+    }
+
+    /**
+     * Memanggil {@code action} untuk setiap elemen (urutan tidak ditentukan).
+     */
+    public void forEach(LongConsumer action) {
+        if (hasZero) action.accept(0);
+        for (int i = 0; i <= mask; i++) {
+            long v = table.get(i);
+            if (v != 0) action.accept(v);
+        }
+    }
+
+    // ===================== Helper =====================
+    private int slot(long value) {
+        // Nilai fingerprint sudah teracak; cukup lipat 64 → 32 bit
+        return (int) (value ^ (value >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        if (offHeap) {
+            table = ByteBuffer.allocateDirect(capacity * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+        } else {
+            table = LongBuffer.wrap(new long[capacity]);
+        }
+        mask = capacity - 1;
+    }
+
+    private void resize() {
+        if (mask + 1 >= maxCapacity) {
+            throw new IllegalStateException("LongHashSet penuh (kapasitas maksimum tercapai)");
+        }
+        LongBuffer old = table;
+        int oldCapacity = mask + 1;
+        allocate(oldCapacity * 2);
+        for (int i = 0; i < oldCapacity; i++) {
+            long v = old.get(i);
+            if (v == 0) continue;
+            int j = slot(v);
+            while (table.get(j) != 0) {
+                j = (j + 1) & mask;
+            }
+            table.put(j, v);
+        }
+    }
+}
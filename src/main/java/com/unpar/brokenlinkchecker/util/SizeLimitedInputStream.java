@@ -0,0 +1,72 @@
+package com.unpar.brokenlinkchecker.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream yang berhenti (EOF) setelah {@code maxBytes} byte, sehingga body halaman
+ * yang sangat besar tidak dibaca sampai habis. {@link #isTruncated()} menandai bila
+ * batas tercapai sebelum stream asli selesai.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private long remaining;
+    private boolean truncated = false;
+
+    /**
+     * @param maxBytes batas byte yang dibaca; 0 = tanpa batas
+     */
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.remaining = maxBytes > 0 ? maxBytes : Long.MAX_VALUE;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) return limitReached();
+        int b = super.read();
+        if (b != -1) remaining--;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (remaining <= 0) return limitReached();
+        int n = super.read(b, off, (int) Math.min(len, remaining));
+        if (n > 0) remaining -= n;
+        return n;
+    }
+
+    /**
+     * Batas tercapai: terpotong hanya bila stream asli masih punya data.
+     */
+    private int limitReached() throws IOException {
+        if (!truncated && super.read() != -1) {
+            truncated = true;
+        }
+        return -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,242 @@
+package com.unpar.brokenlinkchecker.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Menormalkan URL ke bentuk kanonik sebelum dimasukkan ke visited set / frontier
+ * dan sebelum dicek statusnya, sehingga varian URL yang sebenarnya sama
+ * (mis. "/page#section", "HTTP://Host:80/page", "/a/./page") tidak di-fetch berulang.
+ *
+ * Normalisasi yang selalu dilakukan (aman, tidak mengubah resource yang dituju):
+ * - buang fragment (#...)
+ * - skema & host huruf kecil, port default (80/443) dibuang
+ * - resolusi dot-segment ("." dan "..") dan path kosong menjadi "/"
+ * - percent-encoding: karakter unreserved di-decode, heksadesimal lain dijadikan huruf besar
+ *
+ * Normalisasi opsional:
+ * - parameter query yang diabaikan (default: utm_*, gclid, fbclid, jsessionid, phpsessid)
+ * - pengurutan parameter query
+ * - membuang garis miring di akhir path ("/page/" → "/page")
+ *
+ * Aman dipakai dari banyak thread selama konfigurasi tidak diubah saat crawling berjalan.
+ */
+public class UrlCanonicalizer {
+
+    public static final List<String> DEFAULT_IGNORED_PARAMETERS =
+            List.of("utm_*", "gclid", "fbclid", "jsessionid", "phpsessid");
+
+    private List<String> ignoredParameters = DEFAULT_IGNORED_PARAMETERS;
+    private boolean sortQueryParameters = false;
+    private boolean collapseTrailingSlash = false;
+
+    private final LongAdder rewritten = new LongAdder();
+
+    // ===================== Konfigurasi =====================
+
+    /**
+     * Nama parameter query yang dibuang (tidak peka huruf besar/kecil).
+     * Pola yang diakhiri '*' dicocokkan sebagai prefiks, mis. "utm_*".
+     */
+    public void setIgnoredParameters(Collection<String> patterns) {
+        List<String> lower = new ArrayList<>();
+        for (String p : patterns) {
+            lower.add(p.toLowerCase(Locale.ROOT));
+        }
+        this.ignoredParameters = List.copyOf(lower);
+    }
+
+    public void setSortQueryParameters(boolean sortQueryParameters) {
+        this.sortQueryParameters = sortQueryParameters;
+    }
+
+    public void setCollapseTrailingSlash(boolean collapseTrailingSlash) {
+        this.collapseTrailingSlash = collapseTrailingSlash;
+    }
+
+    /**
+     * Jumlah URL yang bentuk kanoniknya berbeda dari input (sejak objek dibuat).
+     */
+    public long getRewrittenCount() {
+        return rewritten.sum();
+    }
+
+    // ===================== Normalisasi =====================
+
+    /**
+     * Mengembalikan bentuk kanonik URL. URL yang tidak bisa di-parse hanya dibuang fragment-nya.
+     */
+    public String canonicalize(String url) {
+        String result = normalize(url);
+        if (!result.equals(url)) {
+            rewritten.increment();
+        }
+        return result;
+    }
+
+    private String normalize(String url) {
+        URI u;
+        try {
+            u = new URI(url);
+        } catch (URISyntaxException e) {
+            return stripFragment(url);
+        }
+
+        String scheme = u.getScheme();
+        String host = u.getHost();
+        if (u.isOpaque() || scheme == null || host == null) {
+            return stripFragment(url);
+        }
+
+        scheme = scheme.toLowerCase(Locale.ROOT);
+        host = host.toLowerCase(Locale.ROOT);
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+
+        int port = u.getPort();
+        if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+            port = -1;
+        }
+
+        String path = u.getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        path = removeSessionPathParameter(path);
+        path = normalizePercentEncoding(path);
+        if (path.contains("/.")) {
+            path = removeDotSegments(path);
+        }
+        if (collapseTrailingSlash && path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        String query = normalizeQuery(u.getRawQuery());
+
+        StringBuilder sb = new StringBuilder(url.length());
+        sb.append(scheme).append("://");
+        if (u.getRawUserInfo() != null) {
+            sb.append(u.getRawUserInfo()).append('@');
+        }
+        sb.append(host);
+        if (port != -1) {
+            sb.append(':').append(port);
+        }
+        sb.append(path);
+        if (query != null) {
+            sb.append('?').append(query);
+        }
+        return sb.toString();
+    }
+
+    private String normalizeQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) return null;
+
+        List<String> kept = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (param.isEmpty()) continue;
+            int eq = param.indexOf('=');
+            String name = (eq < 0 ? param : param.substring(0, eq)).toLowerCase(Locale.ROOT);
+            if (isIgnored(name)) continue;
+            kept.add(normalizePercentEncoding(param));
+        }
+        if (kept.isEmpty()) return null;
+        if (sortQueryParameters) {
+            kept.sort(null);
+        }
+        return String.join("&", kept);
+    }
+
+    private boolean isIgnored(String name) {
+        for (String pattern : ignoredParameters) {
+            if (pattern.endsWith("*")
+                    ? name.startsWith(pattern.substring(0, pattern.length() - 1))
+                    : name.equals(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Membuang parameter sesi yang ditempel di path, mis. "/page;jsessionid=ABC".
+     */
+    private String removeSessionPathParameter(String path) {
+        int semi = path.indexOf(';');
+        if (semi < 0) return path;
+        String param = path.substring(semi + 1);
+        int eq = param.indexOf('=');
+        String name = (eq < 0 ? param : param.substring(0, eq)).toLowerCase(Locale.ROOT);
+        return isIgnored(name) ? path.substring(0, semi) : path;
+    }
+
+    /**
+     * Resolusi dot-segment sesuai RFC 3986 bagian 5.2.4 untuk path absolut.
+     */
+    static String removeDotSegments(String path) {
+        String[] segments = path.substring(1).split("/", -1);
+        List<String> out = new ArrayList<>(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            String seg = segments[i];
+            boolean last = i == segments.length - 1;
+            if (seg.equals(".")) {
+                if (last) out.add("");
+            } else if (seg.equals("..")) {
+                if (!out.isEmpty()) out.remove(out.size() - 1);
+                if (last) out.add("");
+            } else {
+                out.add(seg);
+            }
+        }
+        return "/" + String.join("/", out);
+    }
+
+    /**
+     * Men-decode escape untuk karakter unreserved (A-Z a-z 0-9 - . _ ~) dan
+     * menyeragamkan heksadesimal escape lain menjadi huruf besar.
+     */
+    static String normalizePercentEncoding(String s) {
+        int pct = s.indexOf('%');
+        if (pct < 0) return s;
+
+        StringBuilder sb = new StringBuilder(s.length());
+        sb.append(s, 0, pct);
+        for (int i = pct; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '%' && i + 2 < s.length() && isHex(s.charAt(i + 1)) && isHex(s.charAt(i + 2))) {
+                int value = Character.digit(s.charAt(i + 1), 16) * 16 + Character.digit(s.charAt(i + 2), 16);
+                if (isUnreserved((char) value)) {
+                    sb.append((char) value);
+                } else {
+                    sb.append('%')
+                            .append(Character.toUpperCase(s.charAt(i + 1)))
+                            .append(Character.toUpperCase(s.charAt(i + 2)));
+                }
+                i += 2;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static String stripFragment(String url) {
+        int hash = url.indexOf('#');
+        return hash < 0 ? url : url.substring(0, hash);
+    }
+}
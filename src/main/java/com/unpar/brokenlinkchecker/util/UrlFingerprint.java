@@ -0,0 +1,59 @@
+package com.unpar.brokenlinkchecker.util;
+
+/**
+ * Fingerprint 64-bit untuk URL (varian MurmurHash3 yang bekerja langsung pada karakter String,
+ * tanpa alokasi array byte).
+ *
+ * Dengan n URL, peluang tabrakan kira-kira n² / 2⁶⁵ — untuk 10 juta URL sekitar 3 × 10⁻⁶.
+ */
+public final class UrlFingerprint {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private UrlFingerprint() {
+    }
+
+    public static long of(CharSequence s) {
+        long h = 0x9e3779b97f4a7c15L;
+        int len = s.length();
+        int i = 0;
+
+        // Empat karakter (4 × 16 bit) per blok 64-bit
+        for (; i + 4 <= len; i += 4) {
+            long k = (long) s.charAt(i)
+                    | ((long) s.charAt(i + 1) << 16)
+                    | ((long) s.charAt(i + 2) << 32)
+                    | ((long) s.charAt(i + 3) << 48);
+            h ^= mixK(k);
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+
+        long k = 0;
+        for (int shift = 0; i < len; i++, shift += 16) {
+            k |= (long) s.charAt(i) << shift;
+        }
+        h ^= mixK(k);
+        h ^= len;
+        return fmix64(h);
+    }
+
+    private static long mixK(long k) {
+        k *= C1;
+        k = Long.rotateLeft(k, 31);
+        k *= C2;
+        return k;
+    }
+
+    /**
+     * Finalizer MurmurHash3: menyebarkan setiap bit input ke seluruh bit output.
+     */
+    public static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
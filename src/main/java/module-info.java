@@ -9,6 +9,7 @@ module com.unpar.brokenlinkchecker {
     // Modul tambahan dari pustaka pihak ketiga
     requires org.jsoup;
     requires java.net.http;
+    requires java.xml;
 
     opens com.unpar.brokenlinkchecker to javafx.fxml;
     exports com.unpar.brokenlinkchecker;
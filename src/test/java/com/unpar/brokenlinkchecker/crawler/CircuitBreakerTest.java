@@ -0,0 +1,80 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final String REFUSED = "http://127.0.0.1:1";
+    private static final String SERVING = "http://127.0.0.1:8914";
+
+    @Test
+    void opensAfterThresholdConsecutiveFailures() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofMinutes(1));
+        for (int i = 0; i < 2; i++) {
+            breaker.acquire(REFUSED);
+            breaker.onFailure(REFUSED);
+        }
+        assertFalse(breaker.isOpen(REFUSED));
+
+        breaker.acquire(REFUSED);
+        breaker.onFailure(REFUSED);
+        assertTrue(breaker.isOpen(REFUSED));
+        assertThrows(HostUnavailableException.class, () -> breaker.acquire(REFUSED));
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    void successResetsFailureCount() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+        breaker.onFailure(REFUSED);
+        breaker.onSuccess(REFUSED);
+        breaker.onFailure(REFUSED);
+        assertFalse(breaker.isOpen(REFUSED));
+        assertDoesNotThrow(() -> breaker.acquire(REFUSED));
+    }
+
+    /**
+     * Regresi: circuit dikunci per origin, jadi port lain pada host yang sama tidak ikut ditolak.
+     */
+    @Test
+    void openCircuitDoesNotAffectOtherPortOnSameHost() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMinutes(1));
+        breaker.onFailure(REFUSED);
+
+        assertTrue(breaker.isOpen(REFUSED));
+        assertFalse(breaker.isOpen(SERVING));
+        assertDoesNotThrow(() -> breaker.acquire(SERVING));
+        assertDoesNotThrow(() -> breaker.acquire("https://127.0.0.1:1"));
+    }
+
+    @Test
+    void halfOpenAllowsOneTrialAfterOpenDuration() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMillis(20));
+        breaker.onFailure(REFUSED);
+        assertThrows(HostUnavailableException.class, () -> breaker.acquire(REFUSED));
+
+        Thread.sleep(40);
+        breaker.acquire(REFUSED); // percobaan half-open
+        assertThrows(HostUnavailableException.class, () -> breaker.acquire(REFUSED));
+        breaker.onSuccess(REFUSED);
+        assertFalse(breaker.isOpen(REFUSED));
+    }
+
+    @Test
+    void originIncludesSchemeAndEffectivePort() {
+        assertEquals("http://example.com:80", LinkChecker.originOf("http://Example.COM/a?b=1"));
+        assertEquals("https://example.com:443", LinkChecker.originOf("HTTPS://example.com"));
+        assertEquals("http://127.0.0.1:8914", LinkChecker.originOf("http://127.0.0.1:8914/x#y"));
+        assertNull(LinkChecker.originOf("mailto:humas@example.ac.id"));
+        assertNull(LinkChecker.originOf("http://contoh .com/"));
+    }
+}
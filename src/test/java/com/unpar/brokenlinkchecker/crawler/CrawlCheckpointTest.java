@@ -0,0 +1,144 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlCheckpointTest {
+
+    @TempDir
+    Path dir;
+
+    private static final List<CrawlCheckpoint.ResultRecord> FIRST_BATCH = List.of(
+            new CrawlCheckpoint.PageRecord(0, "https://example.com/", "200", null, 2,
+                    LocalDateTime.of(2025, 3, 14, 9, 30, 15, 123_000_000)),
+            new CrawlCheckpoint.LinkRecord(1, "https://example.com/a", "200", "https://example.com/", "A"),
+            new CrawlCheckpoint.LinkRecord(2, "https://example.com/hilang", "404 Not Found",
+                    "https://example.com/", "x".repeat(70_000)));
+
+    private static final List<CrawlCheckpoint.ResultRecord> SECOND_BATCH = List.of(
+            new CrawlCheckpoint.PageRecord(1, "https://example.com/rusak", "FAILED (ConnectException)",
+                    "(exception)", 0, LocalDateTime.of(2025, 3, 14, 9, 31)));
+
+    @Test
+    void snapshotAndResultLogRoundTrip() throws IOException {
+        Path file = dir.resolve("sesi/crawl.ckpt");
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(file);
+
+        BfsFrontier frontier = new BfsFrontier();
+        frontier.addAll(List.of("https://example.com/b", "https://example.com/c"), 1);
+        frontier.addAll(List.of("https://example.com/b/d"), 2);
+        HashVisitedSet visited = new HashVisitedSet();
+        for (String url : List.of("https://example.com/", "https://example.com/a", "https://example.com/b",
+                "https://example.com/c", "https://example.com/b/d")) {
+            visited.add(url);
+        }
+        List<CrawlCheckpoint.OpenPage> openPages = List.of(
+                new CrawlCheckpoint.OpenPage(3, new Frontier.Entry("https://example.com/a", 1)));
+
+        checkpoint.appendResults(FIRST_BATCH);
+        long logLength = checkpoint.appendResults(SECOND_BATCH);
+        Instant created = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        CrawlCheckpoint.Header header = new CrawlCheckpoint.Header("https://example.com/", "BFS",
+                HashVisitedSet.class.getName(), 4, logLength, created);
+        checkpoint.write(header, openPages, frontier, visited);
+        assertTrue(checkpoint.exists());
+
+        // Dibaca ulang oleh instance baru, seperti saat proses dijalankan lagi
+        CrawlCheckpoint resumed = new CrawlCheckpoint(file);
+        assertEquals(header, resumed.readHeader());
+
+        List<CrawlCheckpoint.OpenPage> restoredOpen = new ArrayList<>();
+        BfsFrontier restoredFrontier = new BfsFrontier();
+        HashVisitedSet restoredVisited = new HashVisitedSet();
+        CrawlCheckpoint.Header restored = resumed.restore(restoredOpen,
+                e -> restoredFrontier.addAll(List.of(e.url()), e.depth()), restoredVisited);
+
+        assertEquals(header, restored);
+        assertEquals(openPages, restoredOpen);
+        List<Frontier.Entry> expectedOrder = new ArrayList<>();
+        frontier.snapshot(expectedOrder::add);
+        List<Frontier.Entry> actualOrder = new ArrayList<>();
+        Frontier.Entry e;
+        while ((e = restoredFrontier.poll()) != null) actualOrder.add(e);
+        assertEquals(expectedOrder, actualOrder);
+        assertEquals(visited.size(), restoredVisited.size());
+        assertTrue(restoredVisited.contains("https://example.com/b/d"));
+        assertFalse(restoredVisited.contains("https://example.com/belum"));
+
+        List<CrawlCheckpoint.ResultRecord> replayed = new ArrayList<>();
+        resumed.replayResults(restored, replayed::add);
+        List<CrawlCheckpoint.ResultRecord> expected = new ArrayList<>(FIRST_BATCH);
+        expected.addAll(SECOND_BATCH);
+        assertEquals(expected, replayed);
+    }
+
+    /**
+     * Tulisan log yang tidak tercatat di header (mis. crash di tengah checkpoint) diabaikan
+     * dan dipotong, sehingga tambahan berikutnya bersambung dari batas yang sah.
+     */
+    @Test
+    void resultsPastRecordedLengthAreDiscarded() throws IOException {
+        Path file = dir.resolve("crawl.ckpt");
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(file);
+        long logLength = checkpoint.appendResults(FIRST_BATCH);
+        CrawlCheckpoint.Header header = new CrawlCheckpoint.Header("https://example.com/", "DFS",
+                HashVisitedSet.class.getName(), 1, logLength, Instant.ofEpochMilli(0));
+        checkpoint.write(header, List.of(), new DfsFrontier(), new HashVisitedSet());
+        Path log = file.resolveSibling("crawl.ckpt.results");
+        Files.write(log, new byte[]{'L', 0, 0, 0}, StandardOpenOption.APPEND);
+
+        CrawlCheckpoint resumed = new CrawlCheckpoint(file);
+        CrawlCheckpoint.Header restored = resumed.restore(new ArrayList<>(), x -> { }, new HashVisitedSet());
+        List<CrawlCheckpoint.ResultRecord> replayed = new ArrayList<>();
+        resumed.replayResults(restored, replayed::add);
+        assertEquals(FIRST_BATCH, replayed);
+        assertEquals(logLength, Files.size(log));
+
+        long extended = resumed.appendResults(SECOND_BATCH);
+        List<CrawlCheckpoint.ResultRecord> all = new ArrayList<>();
+        new CrawlCheckpoint(file).replayResults(
+                new CrawlCheckpoint.Header("https://example.com/", "DFS", HashVisitedSet.class.getName(), 2, extended,
+                        Instant.ofEpochMilli(0)), all::add);
+        List<CrawlCheckpoint.ResultRecord> expected = new ArrayList<>(FIRST_BATCH);
+        expected.addAll(SECOND_BATCH);
+        assertEquals(expected, all);
+    }
+
+    @Test
+    void rejectsDifferentVisitedSetImplementation() throws IOException {
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(dir.resolve("crawl.ckpt"));
+        checkpoint.write(new CrawlCheckpoint.Header("https://example.com/", "BFS", HashVisitedSet.class.getName(),
+                0, 0, Instant.ofEpochMilli(0)), List.of(), new BfsFrontier(), new HashVisitedSet());
+
+        assertThrows(IOException.class, () -> checkpoint.restore(new ArrayList<>(), x -> { },
+                new FingerprintVisitedSet(16, false, false)));
+    }
+
+    @Test
+    void deleteRemovesSnapshotAndLog() throws IOException {
+        Path file = dir.resolve("crawl.ckpt");
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(file);
+        long logLength = checkpoint.appendResults(FIRST_BATCH);
+        checkpoint.write(new CrawlCheckpoint.Header("https://example.com/", "BFS", HashVisitedSet.class.getName(),
+                1, logLength, Instant.ofEpochMilli(0)), List.of(), new BfsFrontier(), new HashVisitedSet());
+
+        checkpoint.delete();
+        assertFalse(checkpoint.exists());
+        assertFalse(Files.exists(file.resolveSibling("crawl.ckpt.results")));
+    }
+}
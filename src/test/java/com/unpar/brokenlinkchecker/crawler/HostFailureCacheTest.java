@@ -0,0 +1,104 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HostFailureCacheTest {
+
+    @Test
+    void connectionRefusedOnlyAffectsThatOrigin() {
+        HostFailureCache cache = new HostFailureCache(Duration.ofMinutes(2));
+        cache.recordFailure("127.0.0.1", "http://127.0.0.1:1", new ConnectException());
+
+        HostUnavailableException e = assertThrows(HostUnavailableException.class,
+                () -> cache.check("127.0.0.1", "http://127.0.0.1:1"));
+        assertEquals("ConnectException", e.getReason());
+        assertDoesNotThrow(() -> cache.check("127.0.0.1", "http://127.0.0.1:8914"));
+        assertDoesNotThrow(() -> cache.check("127.0.0.1", "https://127.0.0.1:1"));
+        assertEquals(1, cache.getSavedRequestCount());
+    }
+
+    @Test
+    void dnsFailureAffectsEveryPortOfTheHost() {
+        HostFailureCache cache = new HostFailureCache(Duration.ofMinutes(2));
+        ConnectException wrapped = new ConnectException();
+        wrapped.initCause(new UnknownHostException("tidak-ada.invalid"));
+        cache.recordFailure("tidak-ada.invalid", "http://tidak-ada.invalid:80", wrapped);
+
+        HostUnavailableException e = assertThrows(HostUnavailableException.class,
+                () -> cache.check("tidak-ada.invalid", "https://tidak-ada.invalid:8443"));
+        assertEquals("UnknownHostException", e.getReason());
+    }
+
+    @Test
+    void timeoutIsNotCached() {
+        HostFailureCache cache = new HostFailureCache(Duration.ofMinutes(2));
+        cache.recordFailure("127.0.0.1", "http://127.0.0.1:8080", new IOException("timeout"));
+        assertDoesNotThrow(() -> cache.check("127.0.0.1", "http://127.0.0.1:8080"));
+    }
+
+    @Test
+    void failureExpiresAfterTtl() throws Exception {
+        HostFailureCache cache = new HostFailureCache(Duration.ofMillis(20));
+        cache.recordFailure("127.0.0.1", "http://127.0.0.1:1", new ConnectException());
+        Thread.sleep(50);
+        assertDoesNotThrow(() -> cache.check("127.0.0.1", "http://127.0.0.1:1"));
+    }
+
+    /**
+     * Regresi: satu port yang menolak koneksi tidak boleh membuat tautan ke port lain pada
+     * host yang sama ikut dilaporkan FAILED.
+     */
+    @Test
+    void refusedPortDoesNotBreakOtherPortOnSameHost() throws Exception {
+        int closedPort;
+        try (ServerSocket s = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = s.getLocalPort();
+        }
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread.ofVirtual().start(() -> serveOk(server));
+            LinkChecker checker = new LinkChecker(new HttpFetcher(Duration.ofSeconds(2), Duration.ofSeconds(2)),
+                    4, 2, RetryPolicy.NONE, CircuitBreaker.DEFAULT_FAILURE_THRESHOLD, Duration.ofMinutes(2));
+
+            String refused = checker.check("http://127.0.0.1:" + closedPort + "/refused", "127.0.0.1");
+            String ok = checker.check("http://127.0.0.1:" + server.getLocalPort() + "/ok", "127.0.0.1");
+
+            assertEquals("FAILED (ConnectException)", refused);
+            assertEquals("200", ok);
+        }
+    }
+
+    private static void serveOk(ServerSocket server) {
+        while (!server.isClosed()) {
+            try (Socket s = server.accept()) {
+                InputStream in = s.getInputStream();
+                // Baca header request sampai baris kosong
+                int state = 0;
+                int c;
+                while (state < 4 && (c = in.read()) != -1) {
+                    state = (c == '\r' && state % 2 == 0) || (c == '\n' && state % 2 == 1) ? state + 1 : 0;
+                }
+                OutputStream out = s.getOutputStream();
+                out.write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.unpar.brokenlinkchecker.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RobotsTxtTest {
+
+    private static final String BASE = "https://example.com";
+
+    @Test
+    void longestMatchWinsAndAllowWinsTies() {
+        RobotsTxt robots = RobotsTxt.parse("""
+                User-agent: *
+                Disallow: /admin
+                Allow: /admin/publik
+                Disallow: /sama
+                Allow: /sama
+                """);
+        assertFalse(robots.isAllowed(BASE + "/admin/rahasia"));
+        assertTrue(robots.isAllowed(BASE + "/admin/publik/halaman"));
+        assertTrue(robots.isAllowed(BASE + "/sama/x"));
+        assertTrue(robots.isAllowed(BASE + "/lain"));
+    }
+
+    @Test
+    void wildcardsAndEndAnchor() {
+        RobotsTxt robots = RobotsTxt.parse("""
+                User-agent: *
+                Disallow: /*.pdf$
+                Disallow: /cari*q=
+                Disallow: /*/privat/
+                """);
+        assertFalse(robots.isAllowed(BASE + "/unduh/berkas.pdf"));
+        assertTrue(robots.isAllowed(BASE + "/unduh/berkas.pdf?v=2"));
+        assertTrue(robots.isAllowed(BASE + "/unduh/berkas.pdf.html"));
+        assertFalse(robots.isAllowed(BASE + "/cari?lang=id&q=kampus"));
+        assertTrue(robots.isAllowed(BASE + "/cari?lang=id"));
+        assertFalse(robots.isAllowed(BASE + "/a/b/privat/c"));
+        assertTrue(robots.isAllowed(BASE + "/privat/c"));
+    }
+
+    @Test
+    void specificGroupReplacesWildcardGroup() {
+        RobotsTxt robots = RobotsTxt.parse("""
+                User-agent: *
+                Disallow: /
+                Crawl-delay: 10
+
+                User-agent: googlebot
+                User-agent: BrokenLinkChecker/1.0
+                Disallow: /tmp/
+                Crawl-delay: 0.5
+                """);
+        assertTrue(robots.isAllowed(BASE + "/halaman"));
+        assertFalse(robots.isAllowed(BASE + "/tmp/x"));
+        assertEquals(Duration.ofMillis(500), robots.getCrawlDelay());
+    }
+
+    @Test
+    void wildcardGroupAppliesWhenNoSpecificGroup() {
+        RobotsTxt robots = RobotsTxt.parse("""
+                User-agent: googlebot
+                Disallow: /
+
+                User-agent: *
+                Disallow: /privat # komentar
+                """);
+        assertTrue(robots.isAllowed(BASE + "/"));
+        assertFalse(robots.isAllowed(BASE + "/privat/x"));
+        assertNull(robots.getCrawlDelay());
+    }
+
+    @Test
+    void emptyDisallowAndRobotsTxtItselfAreAllowed() {
+        assertTrue(RobotsTxt.parse("User-agent: *\nDisallow:\n").isAllowed(BASE + "/apa-saja"));
+        assertTrue(RobotsTxt.DISALLOW_ALL.isAllowed(BASE + "/robots.txt"));
+        assertFalse(RobotsTxt.DISALLOW_ALL.isAllowed(BASE + "/"));
+    }
+
+    @Test
+    void collectsSitemapsFromAnyGroup() {
+        RobotsTxt robots = RobotsTxt.parse("""
+                Sitemap: https://example.com/sitemap.xml
+                User-agent: googlebot
+                Disallow: /
+                Sitemap: https://example.com/berita.xml
+                """);
+        assertEquals(List.of("https://example.com/sitemap.xml", "https://example.com/berita.xml"), robots.getSitemaps());
+    }
+}
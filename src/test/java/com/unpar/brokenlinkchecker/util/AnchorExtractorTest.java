@@ -0,0 +1,178 @@
+package com.unpar.brokenlinkchecker.util;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnchorExtractorTest {
+
+    private static final String DOC = "https://example.com/dir/index.html";
+
+    private static List<String> extract(String html) throws Exception {
+        return extract(new AnchorExtractor(), html);
+    }
+
+    private static List<String> extract(AnchorExtractor extractor, String html) throws Exception {
+        List<String> anchors = new ArrayList<>();
+        int count = extractor.extract(new StringReader(html), DOC, (href, text) -> anchors.add(href + " | " + text));
+        assertEquals(anchors.size(), count);
+        return anchors;
+    }
+
+    private static List<String> extract(byte[] body, Charset headerCharset) throws Exception {
+        List<String> anchors = new ArrayList<>();
+        new AnchorExtractor().extract(new ByteArrayInputStream(body), headerCharset, DOC,
+                (href, text) -> anchors.add(href + " | " + text));
+        return anchors;
+    }
+
+    @Test
+    void resolvesRelativeUrlsAgainstDocument() throws Exception {
+        assertEquals(List.of(
+                "https://example.com/dir/a.html | A",
+                "https://example.com/b | B",
+                "https://example.com/dir/index.html?q=1 | Q",
+                "https://example.com/dir/index.html#bagian | F",
+                "https://example.com/dir/index.html | kosong",
+                "mailto:humas@example.com | surel"
+        ), extract("""
+                <a href="a.html">A</a> <a href="/b">B</a> <a href="?q=1">Q</a>
+                <a href="#bagian">F</a> <a href="">kosong</a> <a href="mailto:humas@example.com">surel</a>
+                <a name="tanpa-href">tidak ada</a>
+                """));
+    }
+
+    @Test
+    void firstBaseHrefAppliesToLaterAnchors() throws Exception {
+        assertEquals(List.of(
+                "https://example.com/dir/sebelum.html | 1",
+                "https://docs.example.com/v2/bab-1/a.html | 2",
+                "https://docs.example.com/v1/b.html | 3"
+        ), extract("""
+                <a href="sebelum.html">1</a>
+                <base href="https://docs.example.com/v2/">
+                <base href="https://lain.example.com/">
+                <a href="bab-1/a.html">2</a> <a href="../v1/b.html">3</a>
+                """));
+    }
+
+    @Test
+    void decodesEntitiesInHrefAndText() throws Exception {
+        assertEquals(List.of(
+                "https://example.com/cari?a=1&b=2 | Tom & Jerry — “kutip”",
+                "https://example.com/x%20y | spasi"
+        ), extract("""
+                <a href="/cari?a=1&amp;b=2">Tom &amp; Jerry &mdash; &ldquo;kutip&rdquo;</a>
+                <a href=' /x y '>spasi</a>
+                """));
+    }
+
+    @Test
+    void decodesEntitiesLikeJsoupOutsideTheFastPath() {
+        for (String s : List.of("tanpa entitas", "&#x41;&#66;&euro;", "&copy 2024", "a=1&b=2", "&notin;",
+                "&#150;", "&#0;", "&#xD800;", "&amp", "&;", "&#;", "&#x;")) {
+            assertEquals(Parser.unescapeEntities(s, false), AnchorExtractor.decodeEntities(s, false), s);
+            assertEquals(Parser.unescapeEntities(s, true), AnchorExtractor.decodeEntities(s, true), s);
+        }
+    }
+
+    @Test
+    void detectsMetaCharsetWhenHeaderHasNone() throws Exception {
+        String html = """
+                <html><head><title>Uji</title><meta charset="windows-1252"></head>
+                <body><a href="/café">Café Überblick</a> <a href="/harga">€ 5 – 10</a></body></html>
+                """;
+        assertEquals(List.of(
+                "https://example.com/caf%C3%A9 | Café Überblick",
+                "https://example.com/harga | € 5 – 10"
+        ), extract(html.getBytes(Charset.forName("windows-1252")), null));
+    }
+
+    @Test
+    void detectsHttpEquivCharsetAndBom() throws Exception {
+        String httpEquiv = """
+                <meta http-equiv="Content-Type" content="text/html; charset=ISO-8859-1"><a href="/a">à propos</a>
+                """;
+        assertEquals(List.of("https://example.com/a | à propos"),
+                extract(httpEquiv.getBytes(StandardCharsets.ISO_8859_1), null));
+
+        // BOM mengalahkan <meta> dan charset header, dan tidak ikut menjadi teks
+        byte[] html = "<meta charset=iso-8859-1><a href=/b>über</a>".getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[html.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(html, 0, withBom, 3, html.length);
+        assertEquals(List.of("https://example.com/b | über"), extract(withBom, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void headerCharsetTakesPrecedenceOverMeta() throws Exception {
+        String html = "<meta charset=\"windows-1252\"><a href=\"/a\">über</a>";
+        assertEquals(List.of("https://example.com/a | über"),
+                extract(html.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void skipsCommentsAndRawTextElements() throws Exception {
+        assertEquals(List.of("https://example.com/asli | asli"), extract("""
+                <!-- <a href="/komentar">x</a> -->
+                <script>var s = '<a href="/script">x</a>'; if (a < b) {}</script>
+                <STYLE>a::after { content: "<a href='/style'>" }</STYLE>
+                <title><a href="/title">x</a></title>
+                <textarea><a href="/textarea">x</a></textarea>
+                <a href="/asli">asli</a>
+                """));
+    }
+
+    @Test
+    void normalizesAnchorTextLikeElementText() throws Exception {
+        assertEquals(List.of(
+                "https://example.com/a | Baris satu Baris dua",
+                "https://example.com/b | Dalam tag dan gambar",
+                "https://example.com/c | tidak ditutup",
+                "https://example.com/d | terakhir"
+        ), extract("""
+                <a href="/a">  Baris
+                   satu<br>Baris   dua </a>
+                <a href="/b"><span>Dalam <b>tag</b></span><div>dan</div><img src=x.png>gambar</a>
+                <a href="/c">tidak ditutup
+                <a href=/d>terakhir
+                """));
+    }
+
+    @Test
+    void truncatesLongAnchorText() throws Exception {
+        assertEquals(List.of("https://example.com/a | abcde"), extract(new AnchorExtractor(5), "<a href=/a>abcdefghij</a>"));
+    }
+
+    /**
+     * Untuk markup yang wajar hasilnya harus sama dengan jalur DOM (jsoup), yang dipakai saat
+     * ekstraksi streaming dimatikan.
+     */
+    @Test
+    void matchesJsoupOnOrdinaryMarkup() throws Exception {
+        String html = """
+                <html><head><title>Judul</title><base href="https://example.com/v2/"></head>
+                <body><nav><ul><li><a href="profil/">Profil</a></li><li><a href="../berita/?p=2&amp;q=a">Berita &amp; Info</a></li></ul></nav>
+                <p>Teks <a href="https://lain.example.org/x#y"><em>luar</em> situs</a>,
+                <a href='tel:+62227654321'>telepon</a> dan <A HREF="Huruf/Besar.html">besar</A>.</p>
+                <table><tr><td><a href="/t">sel <br>tabel</a></td></tr></table></body></html>
+                """;
+        List<String> expected = new ArrayList<>();
+        for (Element a : Jsoup.parse(html, DOC).select("a[href]")) {
+            expected.add(a.absUrl("href") + " | " + a.text());
+        }
+        assertEquals(expected, extract(html));
+    }
+}
@@ -0,0 +1,68 @@
+package com.unpar.brokenlinkchecker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UrlCanonicalizerTest {
+
+    private final UrlCanonicalizer canonicalizer = new UrlCanonicalizer();
+
+    @Test
+    void dropsFragmentAndDefaultPortAndLowercasesSchemeAndHost() {
+        assertEquals("http://example.com/Page", canonicalizer.canonicalize("HTTP://Example.COM:80/Page#bagian"));
+        assertEquals("https://example.com/", canonicalizer.canonicalize("https://example.com:443"));
+        assertEquals("http://example.com:8080/", canonicalizer.canonicalize("http://example.com:8080/"));
+        assertEquals("http://example.com/", canonicalizer.canonicalize("http://example.com./"));
+    }
+
+    @Test
+    void resolvesDotSegments() {
+        assertEquals("http://example.com/a/page", canonicalizer.canonicalize("http://example.com/a/./page"));
+        assertEquals("http://example.com/page", canonicalizer.canonicalize("http://example.com/a/b/../../page"));
+        assertEquals("http://example.com/", canonicalizer.canonicalize("http://example.com/.."));
+    }
+
+    @Test
+    void normalizesPercentEncoding() {
+        // Unreserved di-decode, heksadesimal lain jadi huruf besar
+        assertEquals("http://example.com/~user/a%2Fb", canonicalizer.canonicalize("http://example.com/%7euser/a%2fb"));
+        assertEquals("http://example.com/x?q=a%20b", canonicalizer.canonicalize("http://example.com/x?q=a%20b"));
+    }
+
+    @Test
+    void removesIgnoredQueryAndSessionParameters() {
+        assertEquals("http://example.com/p?id=7",
+                canonicalizer.canonicalize("http://example.com/p?utm_source=x&id=7&UTM_Medium=y&gclid=z"));
+        assertEquals("http://example.com/p", canonicalizer.canonicalize("http://example.com/p?fbclid=abc"));
+        assertEquals("http://example.com/p", canonicalizer.canonicalize("http://example.com/p;jsessionid=ABC123"));
+        assertEquals("http://example.com/p;v=2", canonicalizer.canonicalize("http://example.com/p;v=2"));
+    }
+
+    @Test
+    void optionalNormalizations() {
+        UrlCanonicalizer c = new UrlCanonicalizer();
+        c.setSortQueryParameters(true);
+        c.setCollapseTrailingSlash(true);
+        c.setIgnoredParameters(List.of("Sesi"));
+        assertEquals("http://example.com/dir?a=1&b=2&utm_x=3",
+                c.canonicalize("http://example.com/dir/?b=2&utm_x=3&a=1&sesi=9"));
+        assertEquals("http://example.com/", c.canonicalize("http://example.com/"));
+    }
+
+    @Test
+    void leavesNonHierarchicalAndInvalidUrlsExceptFragment() {
+        assertEquals("mailto:humas@example.ac.id", canonicalizer.canonicalize("mailto:humas@example.ac.id"));
+        assertEquals("http://contoh .com/a", canonicalizer.canonicalize("http://contoh .com/a#b"));
+    }
+
+    @Test
+    void countsRewrittenUrls() {
+        UrlCanonicalizer c = new UrlCanonicalizer();
+        c.canonicalize("http://example.com/");
+        c.canonicalize("http://example.com/#x");
+        assertEquals(1, c.getRewrittenCount());
+    }
+}